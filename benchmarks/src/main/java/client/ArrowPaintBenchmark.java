@@ -0,0 +1,115 @@
+package client;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 게임 화면 한 프레임 그리기 비용 (내 화살표 패널 + 상대 미니뷰 miniViews개)
+ * 화살표 수(스테이지가 오를수록 늘어난다)와 미니뷰 수에 따라 어떻게 늘어나는지 본다
+ * 화면 없이 BufferedImage에 그린다 (headless), 할당량은 -prof gc로:
+ *   ./gradlew :benchmarks:jmh -Pjmh='ArrowPaint -prof gc'
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ArrowPaintBenchmark {
+
+    private static final int STAGE = 6; // 방향과 상관없는 색이 섞이는 스테이지
+
+    @Param({"3", "8", "14", "20"})
+    public int arrows;
+
+    @Param({"0", "3"})
+    public int miniViews;
+
+    private Component arrowPanel;
+    private final List<MiniGameView> views = new ArrayList<>();
+    private BufferedImage arrowCanvas;
+    private BufferedImage miniCanvas;
+    private Graphics2D arrowGraphics;
+    private Graphics2D miniGraphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Direction> sequence = new ArrayList<>(arrows);
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < arrows; i++) {
+            sequence.add(dirs[i % dirs.length]);
+        }
+        List<Color> colors = ArrowColors.forSequence(STAGE, sequence);
+
+        GamePanel gamePanel = new GamePanel();
+        gamePanel.setSequenceFromServer(sequence, STAGE);
+        arrowPanel = find(gamePanel, GamePanel.ArrowPanel.class);
+        arrowPanel.setSize(820, 180);
+        arrowCanvas = new BufferedImage(820, 180, BufferedImage.TYPE_INT_ARGB);
+        arrowGraphics = arrowCanvas.createGraphics();
+
+        for (int i = 0; i < miniViews; i++) {
+            MiniGameView view = new MiniGameView("bot" + i);
+            view.setSize(250, 150);
+            layOut(view);
+            view.updateGameState(STAGE, 10, 3, sequence, colors, Math.min(i + 1, arrows - 1));
+            views.add(view);
+        }
+        miniCanvas = new BufferedImage(250, 150, BufferedImage.TYPE_INT_ARGB);
+        miniGraphics = miniCanvas.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        arrowGraphics.dispose();
+        miniGraphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintFrame() {
+        arrowPanel.paint(arrowGraphics);
+        for (int i = 0; i < views.size(); i++) {
+            views.get(i).paint(miniGraphics);
+        }
+        return arrowCanvas;
+    }
+
+    // 화면에 붙이지 않은 컴포넌트라 validate()로는 배치되지 않아서 직접 배치
+    private static void layOut(Container container) {
+        container.doLayout();
+        for (Component c : container.getComponents()) {
+            if (c instanceof Container) layOut((Container) c);
+        }
+    }
+
+    private static <T extends Component> T find(Container root, Class<T> type) {
+        for (Component c : root.getComponents()) {
+            if (type.isInstance(c)) return type.cast(c);
+            if (c instanceof Container) {
+                T found = find((Container) c, type);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package network;
+
+/**
+ * 벤치마크용 연결: 보낸 메시지를 버리고 바이트 수만 센다 (소켓, 송신 대기열 없음)
+ */
+final class BenchConnection implements Connection {
+
+    private final int protocolVersion;
+    private Player player;
+    long bytes;
+
+    BenchConnection(int protocolVersion) {
+        this.protocolVersion = protocolVersion;
+    }
+
+    void setPlayer(Player player) {
+        this.player = player;
+    }
+
+    @Override
+    public void sendMessage(String msg) {
+        bytes += msg.length();
+    }
+
+    @Override
+    public void sendFrame(SharedFrame frame) {
+        // 대기열이 참조를 따로 잡지 않으므로 release할 것도 없다
+        bytes += frame.length();
+    }
+
+    @Override
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    @Override
+    public int getOutboundQueueDepth() {
+        return 0;
+    }
+
+    @Override
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    public void closeSocket() {
+    }
+}
@@ -0,0 +1,86 @@
+package network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 게임 중에 가장 많이 오는 명령(PLAYER_INPUT, GAME_STATE)의 메시지당 할당량
+ * GC 프로파일러와 함께 실행해서 gc.alloc.rate.norm(B/op)을 본다:
+ *   ./gradlew :benchmarks:jmh -Pjmh='CommandAllocation -prof gc'
+ * 게임 중인 4인 방(디렉터리에 등록된 실제 방)의 플레이어 한 명이 보내는 프레임 한 개를 처리하는 전체 경로
+ * (명령 분기 + 인자 파싱 + 방 메일박스 + 방 액터 처리 + 다른 플레이어 3명에게 전송)
+ * 방 작업은 호출한 스레드에서 바로 실행해서 (Runnable::run) 한 스레드에서 끝까지 잰다
+ * GAME_STATE는 --state-hz=0으로 합치지 않고 매번 중계, PLAYER_INPUT은 게임이 끝나지 않도록 FAIL
+ * 타이머 작업(TIME_SYNC, 제한 시간)은 측정 중에 돌지 않도록 멀리 미뤄 둔다
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandAllocationBenchmark {
+
+    private static final int PLAYERS = 4;
+
+    @Param({"PLAYER_INPUT FAIL", "GAME_STATE 3 2 5 320 2 UP DOWN LEFT RIGHT UP"})
+    public String command;
+
+    // true면 모든 플레이어가 협상 후 바이너리 프레임을 주고받는다
+    @Param({"false", "true"})
+    public boolean binary;
+
+    private ClientSession session;
+    private byte[] frame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ServerConfig config = ServerConfig.fromArgs(new String[] {
+                "--state-hz=0", "--game-seconds=3600", "--time-sync-ms=3600000", "--lobby-interval=0"});
+        GameServer server = new GameServer(config, Runnable::run);
+        int version = binary ? BinaryProtocol.VERSION : 0;
+
+        ClientSession[] sessions = new ClientSession[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            BenchConnection connection = new BenchConnection(version);
+            sessions[i] = new ClientSession(connection, server);
+            sessions[i].handleMessage("JOIN bench" + i);
+            connection.setPlayer(sessions[i].getPlayer());
+        }
+        sessions[0].handleMessage("CREATE_ROOM bench||" + PLAYERS);
+        String roomId = sessions[0].getPlayer().getRoomId();
+        for (int i = 1; i < PLAYERS; i++) {
+            sessions[i].handleMessage("JOIN_ROOM " + roomId);
+            sessions[i].handleMessage("READY");
+        }
+        sessions[0].handleMessage("START_GAME_REQUEST");
+        if (server.getInGameRoomCount() != 1) {
+            throw new IllegalStateException("bench room did not start: " + roomId);
+        }
+
+        session = sessions[0];
+        ByteBuffer encoded = binary ? BinaryProtocol.encodeClientMessage(command) : FrameCodec.encode(command);
+        frame = new byte[encoded.remaining() - FrameCodec.HEADER_SIZE];
+        encoded.position(FrameCodec.HEADER_SIZE);
+        encoded.get(frame);
+    }
+
+    @Benchmark
+    public boolean handleFrame() throws IOException {
+        return session.handleFrame(frame, 0, frame.length);
+    }
+}
@@ -0,0 +1,56 @@
+package network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 수신 프레임 하나의 명령 처리 (ClientHandler.run / NioConnection.onReadable이 부르는 ClientSession.handleFrame)
+ * 프레임 디코딩 + 명령 분기 + GameServer 호출까지 (방에 없는 플레이어라 방 메일박스로는 넘어가지 않는다)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandParsingBenchmark {
+
+    @Param({"CHAT hello everyone", "PLAYER_INPUT SUCCESS", "GAME_STATE 3 2 5 320 2 UP DOWN LEFT RIGHT UP", "READY"})
+    public String command;
+
+    private ClientSession session;
+    private byte[] frame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        GameServer server = new GameServer(ServerConfig.defaults());
+        BenchConnection connection = new BenchConnection(0);
+        session = new ClientSession(connection, server);
+        session.handleMessage("JOIN bench");
+        connection.setPlayer(session.getPlayer());
+
+        ByteBuffer encoded = FrameCodec.encode(command);
+        frame = new byte[encoded.remaining() - FrameCodec.HEADER_SIZE];
+        encoded.position(FrameCodec.HEADER_SIZE);
+        encoded.get(frame);
+    }
+
+    @Benchmark
+    public boolean handleFrame() throws IOException {
+        return session.handleFrame(frame, 0, frame.length);
+    }
+}
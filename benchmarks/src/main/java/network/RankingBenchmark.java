@@ -0,0 +1,66 @@
+package network;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 정답 하나가 들어왔을 때의 순위 갱신과 RANK_INFO 만들기 (doHandlePlayerInput → broadcastCurrentRanking)
+ * 매번 무작위 플레이어 한 명의 점수를 올린다
+ * (8명을 넘는 큰 방은 RANK_INFO 대신 LEADERBOARD를 쓰므로 순위 갱신만 잰다)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RankingBenchmark {
+
+    @Param({"4", "100", "500"})
+    public int players;
+
+    // 0: 텍스트 RANK_INFO, 2: 바이너리
+    @Param({"0", "2"})
+    public int protocolVersion;
+
+    private GameServer server;
+    private GameRoom room;
+    private Player[] roster;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new GameServer(ServerConfig.defaults());
+        room = new GameRoom("ranking", players, Runnable::run);
+        roster = new Player[players];
+        for (int i = 0; i < players; i++) {
+            roster[i] = new Player("player" + i, new BenchConnection(protocolVersion));
+            room.addPlayer(roster[i]);
+        }
+        room.setInGame(true);
+        room.getLeaderboard().reset(room.getPlayers());
+    }
+
+    @Benchmark
+    public int successAndBroadcast() {
+        Player p = roster[random.nextInt(roster.length)];
+        p.setSuccessCount(p.getSuccessCount() + 1);
+        p.setScore(p.getScore() + 100 + random.nextInt(50));
+        room.getLeaderboard().update(p);
+        server.broadcastCurrentRanking(room);
+        return p.getScore();
+    }
+}
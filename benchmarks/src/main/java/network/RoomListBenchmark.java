@@ -0,0 +1,70 @@
+package network;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 방 목록 문자열 만들기 (방 rooms개) 와 방/플레이어 하나의 프로토콜 문자열
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomListBenchmark {
+
+    @Param({"100", "10000"})
+    public int rooms;
+
+    private GameServer server;
+    private GameRoom room;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 방 작업을 이 스레드에서 바로 실행해서 만든 방마다 방장이 들어가 있는 상태로 시작
+        server = new GameServer(ServerConfig.defaults(), Runnable::run);
+        for (int i = 0; i < rooms; i++) {
+            Player host = new Player("host" + i, new BenchConnection(0));
+            server.createAndJoinRoom(i % 3 == 0 ? "비밀방 " + i : "room " + i, host, 4, i % 3 == 0 ? "pw" : null);
+        }
+        if (server.getRoomCount() != rooms) {
+            throw new IllegalStateException("rooms not created: " + server.getRoomCount());
+        }
+        room = new GameRoom("벤치마크 방", 4, Runnable::run);
+        player = new Player("bench-player", new BenchConnection(0));
+        player.setScore(1230);
+        player.setCombo(4);
+        room.addPlayer(player);
+    }
+
+    @Benchmark
+    public String roomListString() {
+        return server.getRoomListString();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String roomToProtocolString() {
+        return room.toProtocolString();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String playerToProtocolString() {
+        return player.toProtocolString();
+    }
+}
@@ -0,0 +1,64 @@
+package network;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 스테이지 시퀀스 전송 (sendSequenceToPlayer: 게임 시작 때 만든 프레임 조회 + 송신 대기열에 넣기)
+ * 와 게임 한 번 분량(20스테이지) 시퀀스 생성
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SequenceBenchmark {
+
+    // 1: 화살표 3개, 12 이상: 14개
+    @Param({"1", "12"})
+    public int stage;
+
+    // 0: 텍스트 GAME_SEQUENCE, 2: 바이너리
+    @Param({"0", "2"})
+    public int protocolVersion;
+
+    private GameServer server;
+    private GameRoom room;
+    private Player player;
+    private BenchConnection connection;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new GameServer(ServerConfig.defaults());
+        connection = new BenchConnection(protocolVersion);
+        player = new Player("bench", connection);
+        player.setCurrentStage(stage);
+        room = new GameRoom("bench", 4, Runnable::run);
+        room.setStageSequences(new StageSequences(42));
+    }
+
+    @Benchmark
+    public long sendSequence() {
+        server.sendSequenceToPlayer(room, player);
+        return connection.bytes;
+    }
+
+    @Benchmark
+    public StageSequences generateGame() {
+        return new StageSequences(++seed);
+    }
+}
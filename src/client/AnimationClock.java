@@ -0,0 +1,142 @@
+package client;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 화면 효과용 공용 시계 (EDT에서만 사용)
+ * 효과마다 Swing Timer를 따로 돌리지 않고 Timer 하나가 가장 먼저 할 일에 맞춰 깨어나서 그때 할 일을 한꺼번에 처리한다
+ * - 애니메이션은 tick()에서 다음에 불릴 시각을 돌려준다 (맥동 효과는 한 프레임 뒤 = 약 60Hz, 카운트다운은 1초 뒤)
+ * - 같은 깨어남에 처리한 것들은 같은 now로 다음 시각을 정하므로 이후에도 함께 깨어난다
+ * - 주인 컴포넌트가 화면에 안 보이면 tick을 건너뛰고 가끔만 다시 확인한다
+ * - 할 일이 없으면 Timer도 멈춘다
+ */
+final class AnimationClock {
+
+    static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+    private static final long HIDDEN_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(2); // 이만큼 안에 있는 일은 이번에 같이 처리
+
+    /** tick()이 돌려주면 목록에서 빠진다 */
+    static final long DONE = Long.MIN_VALUE;
+
+    interface Animation {
+        /**
+         * 한 번 진행
+         * @param now System.nanoTime()
+         * @return 다음에 불릴 시각 (System.nanoTime() 기준) 또는 DONE
+         */
+        long tick(long now);
+    }
+
+    private static final class Entry {
+        final JComponent owner; // 보일 때만 진행 (null이면 항상)
+        final Animation animation;
+        long due;
+        boolean removed;
+
+        Entry(JComponent owner, Animation animation) {
+            this.owner = owner;
+            this.animation = animation;
+        }
+    }
+
+    private static AnimationClock instance;
+
+    static AnimationClock get() {
+        if (instance == null) instance = new AnimationClock();
+        return instance;
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Timer timer = new Timer(0, e -> onTimer());
+    private boolean ticking;
+
+    private AnimationClock() {
+        timer.setRepeats(false);
+        timer.setCoalesce(true);
+    }
+
+    /** 애니메이션 시작 (이미 돌고 있으면 바로 다음 깨어남에 tick) */
+    void start(JComponent owner, Animation animation) {
+        start(owner, animation, System.nanoTime());
+    }
+
+    /** 첫 tick을 due(System.nanoTime() 기준)에 */
+    void start(JComponent owner, Animation animation, long due) {
+        long now = System.nanoTime();
+        Entry entry = find(animation);
+        if (entry == null) {
+            entry = new Entry(owner, animation);
+            entries.add(entry);
+        }
+        entry.due = due;
+        schedule(now);
+    }
+
+    void stop(Animation animation) {
+        Entry entry = find(animation);
+        if (entry == null) return;
+        entry.removed = true;
+        if (!ticking) {
+            entries.remove(entry);
+            if (entries.isEmpty()) timer.stop();
+        }
+    }
+
+    boolean isRunning(Animation animation) {
+        return find(animation) != null;
+    }
+
+    private Entry find(Animation animation) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            if (e.animation == animation && !e.removed) return e;
+        }
+        return null;
+    }
+
+    private void onTimer() {
+        long now = System.nanoTime();
+        ticking = true;
+        try {
+            // tick 안에서 start()로 추가된 것은 다음 깨어남에 처리
+            for (int i = 0, n = entries.size(); i < n; i++) {
+                Entry e = entries.get(i);
+                if (e.removed || e.due - now > SLACK_NANOS) continue;
+                if (e.owner != null && !e.owner.isShowing()) {
+                    e.due = now + HIDDEN_RECHECK_NANOS;
+                    continue;
+                }
+                long next = e.animation.tick(now);
+                if (next == DONE) {
+                    e.removed = true;
+                } else {
+                    e.due = next;
+                }
+            }
+        } finally {
+            ticking = false;
+            entries.removeIf(e -> e.removed);
+        }
+        schedule(System.nanoTime());
+    }
+
+    // 가장 먼저 할 일에 맞춰 Timer를 다시 건다
+    private void schedule(long now) {
+        if (entries.isEmpty()) {
+            timer.stop();
+            return;
+        }
+        long first = Long.MAX_VALUE;
+        for (int i = 0; i < entries.size(); i++) {
+            first = Math.min(first, entries.get(i).due - now);
+        }
+        int delayMillis = (int) Math.max(0, TimeUnit.NANOSECONDS.toMillis(first));
+        timer.setInitialDelay(delayMillis);
+        timer.restart();
+    }
+}
@@ -0,0 +1,56 @@
+package client;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 화살표 색 규칙 (내 화면과 상대 미니뷰가 함께 사용)
+ * 4스테이지까지는 방향별 색, 5스테이지부터는 방향과 상관없는 색
+ * 5스테이지 이후 색도 난수 대신 (스테이지, 위치)로 정해서 같은 시퀀스는 어느 화면에서나 같은 색으로 보인다
+ */
+final class ArrowColors {
+
+    static final Color RED = new Color(255, 120, 120);
+    static final Color GREEN = new Color(120, 200, 120);
+    static final Color BLUE = new Color(120, 180, 255);
+    static final Color ORANGE = new Color(255, 190, 120);
+    static final Color PURPLE = new Color(200, 120, 255);
+
+    private static final Color[] PALETTE = {RED, GREEN, BLUE, ORANGE, PURPLE};
+
+    // 방향이 아닌 색으로 헷갈리게 하는 스테이지
+    private static final int MIXED_FROM_STAGE = 5;
+
+    private ArrowColors() {
+    }
+
+    // 방향별 기본 색
+    static Color of(Direction d) {
+        switch (d) {
+            case UP:    return RED;
+            case DOWN:  return BLUE;
+            case LEFT:  return BLUE;
+            case RIGHT: return GREEN;
+            default:    return Color.BLACK;
+        }
+    }
+
+    static Color of(int stage, int index, Direction d) {
+        if (stage < MIXED_FROM_STAGE) return of(d);
+        // 스테이지와 위치를 섞어서 팔레트 선택
+        int h = stage * 0x9E3779B9 + index * 0x85EBCA6B;
+        h ^= h >>> 15;
+        h *= 0x2C1B3C6D;
+        h ^= h >>> 12;
+        return PALETTE[(h & 0x7FFFFFFF) % PALETTE.length];
+    }
+
+    static List<Color> forSequence(int stage, List<Direction> sequence) {
+        List<Color> colors = new ArrayList<>(sequence.size());
+        for (int i = 0; i < sequence.size(); i++) {
+            colors.add(of(stage, i, sequence.get(i)));
+        }
+        return colors;
+    }
+}
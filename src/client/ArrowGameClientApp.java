@@ -2,6 +2,7 @@ package client;
 
 import network.GameClient;
 import network.GameServer;
+import network.Log;
 
 import javax.swing.*;
 import java.awt.*;
@@ -19,7 +20,7 @@ public class ArrowGameClientApp extends JFrame {
     private GameClient gameClient; // 실제 소켓 클라이언트
     private String myNickname; // 내 닉네임
     private String currentRoomId; // 현재 방 ID
-    private java.util.List<PlayerInfo> playerList; // 현재 방의 플레이어 목록
+    private java.util.List<ServerEvent.PlayerInfo> playerList; // 현재 방의 플레이어 목록
 
     public ArrowGameClientApp() {
         setTitle("리듬 화살표 게임 (클라이언트)");
@@ -44,13 +45,17 @@ public class ArrowGameClientApp extends JFrame {
         // ---- 방 목록 콜백 ----
         roomListPanel.setOnRoomActionListener(new RoomListPanel.OnRoomActionListener() {
             @Override
-            public void onCreateRoom(String roomName, String password) {
+            public void onCreateRoom(String roomName, String password, int maxPlayers) {
                 if (gameClient != null) {
                     try {
+                        // CREATE_ROOM 방이름|비밀번호|최대인원 (기본 4명이면 최대인원 생략)
                         String message = "CREATE_ROOM " + roomName;
                         if (password != null && !password.isEmpty()) {
                             message += "|" + password;
                         }
+                        if (maxPlayers != 4) {
+                            message += (password != null && !password.isEmpty() ? "" : "|") + "|" + maxPlayers;
+                        }
                         gameClient.send(message);
                     } catch (IOException e) {
                         e.printStackTrace();
@@ -115,7 +120,7 @@ public class ArrowGameClientApp extends JFrame {
         gamePanel.setInputSender(result -> {
             if (gameClient != null) {
                 try {
-                    gameClient.send("PLAYER_INPUT " + result);
+                    gameClient.sendPlayerInput(result);
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -123,10 +128,10 @@ public class ArrowGameClientApp extends JFrame {
         });
 
         // GamePanel의 게임 상태를 서버로 전송
-        gamePanel.setGameStateSender(stateData -> {
+        gamePanel.setGameStateSender((stage, currentIndex, score, combo, arrows, count) -> {
             if (gameClient != null) {
                 try {
-                    gameClient.send("GAME_STATE " + stateData);
+                    gameClient.sendGameState(stage, currentIndex, score, combo, arrows, count);
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -156,7 +161,7 @@ public class ArrowGameClientApp extends JFrame {
     private void initNetwork() {
         try {
             gameClient = new GameClient("127.0.0.1", GameServer.PORT);
-            System.out.println("Connected to GameServer.");
+            Log.info("Connected to GameServer.");
 
             // LobbyPanel에서 문자열을 보내고 싶을 때 사용할 sender 지정
             lobbyPanel.setNetworkSender(msg -> {
@@ -203,31 +208,13 @@ public class ArrowGameClientApp extends JFrame {
             myNickname = myName; // 내 닉네임 저장
 
             // 서버에서 오는 메시지 처리 (JOIN 응답 포함)
-            final boolean[] joinAccepted = {false};
-            gameClient.setListener(msg -> {
-                SwingUtilities.invokeLater(() -> {
-                    if (msg.startsWith("JOIN_FAILED ")) {
-                        String reason = msg.substring(12);
-                        JOptionPane.showMessageDialog(this,
-                                reason,
-                                "접속 실패",
-                                JOptionPane.ERROR_MESSAGE);
-                        gameClient.close();
-                        System.exit(0);
-                    } else if (msg.equals("JOIN_OK")) {
-                        joinAccepted[0] = true;
-                        // 닉네임 설정 성공, 방 목록 화면으로 이동
-                        cardLayout.show(mainPanel, "ROOM_LIST");
-                        // 방 목록 자동 새로고침 시작
-                        roomListPanel.startAutoRefresh();
-                    } else {
-                        handleServerMessage(msg);
-                    }
-                });
-            });
+            // 해석은 수신 스레드에서 하고, EDT에는 해석된 이벤트를 몰아서 넘긴다
+            UiEventQueue uiEvents = new UiEventQueue(this::apply);
+            // 바이너리 메시지(GAME_STATE, GAME_SEQUENCE 등)는 텍스트로 바꾸지 않고 바로 이벤트로 만든다
+            gameClient.setListener(new ServerEvent.Decoder(finalName, uiEvents::post));
 
             // 서버로 JOIN 메시지 전송
-            gameClient.send("JOIN " + myName);
+            gameClient.join(myName);
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -239,188 +226,86 @@ public class ArrowGameClientApp extends JFrame {
         }
     }
 
-    // 서버에서 온 문자열을 해석해서 UI에 반영
-    private void handleServerMessage(String msg) {
-        System.out.println("From server: " + msg);
-
-        if (msg.startsWith("ROOM_LIST")) {
-            // ROOM_LIST;roomId|roomName|current|max|inGame;roomId2|...
-            java.util.List<RoomListPanel.RoomInfo> rooms = new java.util.ArrayList<>();
-            System.out.println("[DEBUG CLIENT] ===== ROOM_LIST PARSING START =====");
-            System.out.println("[DEBUG CLIENT] Full message: " + msg);
-            String data = msg.substring("ROOM_LIST".length());
-            System.out.println("[DEBUG CLIENT] Data after substring: [" + data + "]");
-            System.out.println("[DEBUG CLIENT] Data length: " + data.length());
-
-            if (data.length() > 0) {
-                String[] roomEntries = data.split(";");
-                System.out.println("[DEBUG CLIENT] Split result - array length: " + roomEntries.length);
-                for (int i = 0; i < roomEntries.length; i++) {
-                    System.out.println("[DEBUG CLIENT] Entry[" + i + "]: [" + roomEntries[i] + "]");
-                }
+    // 알림창은 apply() 밖에서 따로 띄운다
+    // apply() 안에서 띄우면 창이 닫힐 때까지 UiEventQueue가 멈춰서 뒤에 온 이벤트(방 목록, 채팅 등)가 쌓이기만 한다
+    // 따로 띄우면 창이 떠 있는 동안에도 창의 이벤트 루프가 다음 drain을 처리한다
+    private void showMessageLater(String message, String title, int type) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, message, title, type));
+    }
 
-                for (String roomEntry : roomEntries) {
-                    if (roomEntry.trim().isEmpty()) {
-                        System.out.println("[DEBUG CLIENT] Skipping empty entry");
-                        continue;
-                    }
+    // 수신 스레드에서 해석한 이벤트를 화면에 반영 (EDT, UiEventQueue가 묶어서 호출)
+    // 여기서는 막히는 일(모달 창)을 하지 않는다
+    private void apply(ServerEvent event) {
+        if (event instanceof ServerEvent.JoinFailed) {
+            String reason = ((ServerEvent.JoinFailed) event).reason;
+            SwingUtilities.invokeLater(() -> {
+                JOptionPane.showMessageDialog(this, reason, "접속 실패", JOptionPane.ERROR_MESSAGE);
+                gameClient.close();
+                System.exit(0);
+            });
 
-                    String[] roomData = roomEntry.split("\\|");
-                    System.out.println("[DEBUG CLIENT] Room data parts: " + roomData.length);
-
-                    if (roomData.length >= 6) {
-                        String roomId = roomData[0];
-                        String roomName = roomData[1];
-                        int currentPlayers = Integer.parseInt(roomData[2]);
-                        int maxPlayers = Integer.parseInt(roomData[3]);
-                        boolean inGame = Boolean.parseBoolean(roomData[4]);
-                        boolean hasPassword = Boolean.parseBoolean(roomData[5]);
-                        System.out.println("[DEBUG CLIENT] Adding room - ID: " + roomId + ", Name: " + roomName + " (" + currentPlayers + "/" + maxPlayers + "), InGame: " + inGame + ", HasPassword: " + hasPassword);
-                        rooms.add(new RoomListPanel.RoomInfo(roomId, roomName, currentPlayers, maxPlayers, inGame, hasPassword));
-                    } else {
-                        System.out.println("[DEBUG CLIENT] Invalid room data - expected 6 parts, got " + roomData.length);
-                    }
-                }
+        } else if (event == ServerEvent.JOIN_OK) {
+            // 닉네임 설정 성공, 방 목록 화면으로 이동
+            cardLayout.show(mainPanel, "ROOM_LIST");
+            // 방 목록 구독 시작
+            roomListPanel.subscribe();
+
+        } else if (event instanceof ServerEvent.RoomList) {
+            ServerEvent.RoomList e = (ServerEvent.RoomList) event;
+            // ROOM_LIST는 순번이 없는 전체 목록, ROOM_SNAPSHOT은 구독 순번 포함
+            if (e.seq < 0) {
+                roomListPanel.updateRoomList(new java.util.ArrayList<>(e.rooms));
             } else {
-                System.out.println("[DEBUG CLIENT] No room data (data length is 0)");
+                roomListPanel.applySnapshot(e.seq, new java.util.ArrayList<>(e.rooms));
             }
-            System.out.println("[DEBUG CLIENT] Total rooms to display: " + rooms.size());
-            System.out.println("[DEBUG CLIENT] ===== ROOM_LIST PARSING END =====");
-            roomListPanel.updateRoomList(rooms);
-
-        } else if (msg.startsWith("ROOM_JOINED ")) {
-            // ROOM_JOINED roomId|roomName
-            String data = msg.substring("ROOM_JOINED ".length());
-            String[] roomData = data.split("\\|", 2); // 2개로만 분리 (roomId와 나머지)
-            if (roomData.length >= 2) {
-                currentRoomId = roomData[0];
-                String roomName = roomData[1];
-                lobbyPanel.setRoomTitle(roomName);
-            } else {
-                currentRoomId = roomData[0];
+
+        } else if (event instanceof ServerEvent.RoomChange) {
+            ServerEvent.RoomChange e = (ServerEvent.RoomChange) event;
+            roomListPanel.applyChange(e.seq, e.roomId, e.room);
+
+        } else if (event instanceof ServerEvent.RoomJoined) {
+            ServerEvent.RoomJoined e = (ServerEvent.RoomJoined) event;
+            currentRoomId = e.roomId;
+            if (e.roomName != null) {
+                lobbyPanel.setRoomTitle(e.roomName);
             }
-            // 방 목록 자동 새로고침 정지
-            roomListPanel.stopAutoRefresh();
+            // 방 목록 구독 해제 (서버도 입장 시 구독을 해제함)
+            roomListPanel.unsubscribe();
             cardLayout.show(mainPanel, "LOBBY");
 
-        } else if (msg.equals("LEFT_ROOM")) {
+        } else if (event == ServerEvent.LEFT_ROOM) {
             // 방 나가기 성공
             currentRoomId = null;
             cardLayout.show(mainPanel, "ROOM_LIST");
-            // 방 목록 자동 새로고침 시작
-            roomListPanel.startAutoRefresh();
+            // 방 목록 다시 구독
+            roomListPanel.subscribe();
 
-        } else if (msg.startsWith("JOIN_ROOM_FAILED")) {
-            // JOIN_ROOM_FAILED 메시지
-            String reason = msg.length() > 17 ? msg.substring(17) : "방에 입장할 수 없습니다.";
-            JOptionPane.showMessageDialog(this,
-                    reason,
-                    "입장 실패",
-                    JOptionPane.WARNING_MESSAGE);
+        } else if (event instanceof ServerEvent.JoinRoomFailed) {
+            showMessageLater(((ServerEvent.JoinRoomFailed) event).reason, "입장 실패", JOptionPane.WARNING_MESSAGE);
 
-        } else if (msg.startsWith("SYS ")) {
-            // SYS 시스템메시지
-            String text = msg.substring(4);
-            lobbyPanel.addChatMessage("[시스템] " + text);
-
-        } else if (msg.startsWith("CHAT ")) {
-            // CHAT 닉네임 방장여부 내용
-            String[] parts = msg.split(" ", 4);
-            if (parts.length >= 4) {
-                String nick = parts[1];
-                boolean isHost = Boolean.parseBoolean(parts[2]);
-                String text = parts[3];
-                // 방장이면 (방장) 표시 추가
-                String displayName = isHost ? "(방장) " + nick : nick;
-                lobbyPanel.addChatMessage(displayName + ": " + text);
-            }
+        } else if (event instanceof ServerEvent.ChatLine) {
+            // SYS, CHAT
+            lobbyPanel.addChatMessage(((ServerEvent.ChatLine) event).text);
 
-        }
-        if (msg.equals("KICKED")) {
-            JOptionPane.showMessageDialog(this,
-                    "방장에 의해 강퇴되었습니다.",
-                    "강퇴됨",
-                    JOptionPane.ERROR_MESSAGE);
+        } else if (event == ServerEvent.KICKED) {
+            showMessageLater("방장에 의해 강퇴되었습니다.", "강퇴됨", JOptionPane.ERROR_MESSAGE);
 
             currentRoomId = null;
             cardLayout.show(mainPanel, "ROOM_LIST");
 
-            // 즉시 방 목록 요청
-            try {
-                gameClient.send("REQUEST_ROOM_LIST");
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            // 방 목록 다시 구독 (전체 목록을 바로 받음)
+            roomListPanel.subscribe();
 
-            // 자동 갱신 시작
-            roomListPanel.startAutoRefresh();
-            return;
-        } else if (msg.startsWith("PLAYER_LIST ")) {
-            // PLAYER_LIST player1|ready|isHost|score|combo|maxCombo player2|...
-            lobbyPanel.clearPlayers();
-            gamePanel.clearPlayers();
-
-            // 서버에서 받은 플레이어 목록을 파싱
-            String[] parts = msg.split(" ");
-            playerList = new java.util.ArrayList<>();
-            for (int i = 1; i < parts.length; i++) {
-                String[] playerData = parts[i].split("\\|");
-                if (playerData.length >= 6) {
-                    String name = playerData[0];
-                    boolean ready = Boolean.parseBoolean(playerData[1]);
-                    boolean isHost = Boolean.parseBoolean(playerData[2]);
-                    int score = Integer.parseInt(playerData[3]);
-                    int combo = Integer.parseInt(playerData[4]);
-
-                    playerList.add(new PlayerInfo(name, ready, isHost, score, combo));
-                }
-            }
+        } else if (event instanceof ServerEvent.PlayerList) {
+            applyPlayerList(((ServerEvent.PlayerList) event).players);
 
-            // 자기 자신을 0번에 배치
-            boolean imHost = false;
-            for (PlayerInfo info : playerList) {
-                if (info.name.equals(myNickname)) {
-                    lobbyPanel.setPlayerInfo(0, info.name, info.ready, info.isHost);
-                    gamePanel.setPlayerInfo(0, info.name, info.score, info.combo);
-                    imHost = info.isHost;
-                    break;
-                }
-            }
-
-            // 나머지 플레이어들을 1, 2, 3번에 배치
-            int slot = 1;
-            java.util.List<String> otherPlayers = new java.util.ArrayList<>();
-            java.util.Set<String> currentPlayers = new java.util.HashSet<>();
-            for (PlayerInfo info : playerList) {
-                if (!info.name.equals(myNickname)) {
-                    currentPlayers.add(info.name);
-                    if (slot < 4) {
-                        lobbyPanel.setPlayerInfo(slot, info.name, info.ready, info.isHost);
-                        gamePanel.setPlayerInfo(slot, info.name, info.score, info.combo);
-                        otherPlayers.add(info.name);
-                        slot++;
-                    }
-                }
-            }
-
-            // 사용하지 않은 슬롯은 기본값으로 초기화 (빈 슬롯 제거)
-            for (int i = slot; i < 4; i++) {
-                lobbyPanel.setPlayerInfo(i, "플레이어" + (i + 1), false, false);
-                gamePanel.setPlayerInfo(i, "플레이어" + (i + 1), 0, 0);
-            }
-
-            // 방장 여부와 다른 플레이어 목록 업데이트
-            lobbyPanel.updateHostStatus(imHost, otherPlayers);
-
-        } else if (msg.equals("START_GAME")) {
+        } else if (event == ServerEvent.START_GAME) {
             // 게임 시작 명령
             cardLayout.show(mainPanel, "GAME");
             gamePanel.prepareGame();
 
-            // 미니뷰 초기화: 다른 플레이어들의 미니뷰 추가
+            // 미니뷰 초기화: 다른 플레이어들의 미니뷰는 GAME_STATE를 받을 때 추가
             gamePanel.clearMiniViews();
-            // 현재 방에 있는 다른 플레이어들을 파악하여 미니뷰 추가
-            // (PLAYER_LIST 메시지를 통해 이미 파악되어 있어야 함)
 
             // 실제 플레이어 수에 맞게 상단 패널 업데이트
             // playerList 변수에 현재 방의 모든 플레이어 정보가 저장되어 있음
@@ -430,154 +315,89 @@ public class ArrowGameClientApp extends JFrame {
 
             lobbyPanel.addChatMessage("[시스템] 게임이 시작됩니다!");
 
-        } else if (msg.startsWith("GAME_STATE ")) {
-            // GAME_STATE nickname stage currentIndex totalCount score combo sequence...
-            // 예: GAME_STATE player1 5 3 10 1500 5 UP DOWN LEFT RIGHT UP DOWN LEFT RIGHT UP DOWN
-            String[] parts = msg.split(" ");
-            if (parts.length >= 7) {
-                String playerName = parts[1];
-
-                // 자기 자신의 상태는 무시
-                if (playerName.equals(myNickname)) {
-                    return;
-                }
-
-                // 미니뷰가 없으면 추가
-                gamePanel.addMiniView(playerName);
-
-                int stage = Integer.parseInt(parts[2]);
-                int currentIndex = Integer.parseInt(parts[3]);
-                int totalCount = Integer.parseInt(parts[4]);
-                int score = Integer.parseInt(parts[5]);
-                int combo = Integer.parseInt(parts[6]);
-
-                // 시퀀스 파싱
-                java.util.List<Direction> sequence = new java.util.ArrayList<>();
-                java.util.List<Color> arrowColors = new java.util.ArrayList<>();
-                java.util.Random rnd = new java.util.Random();
-
-                for (int i = 7; i < parts.length && i < 7 + totalCount; i++) {
-                    try {
-                        Direction d = Direction.valueOf(parts[i]);
-                        sequence.add(d);
-
-                        // 색상은 간단하게 방향별 기본 색상 사용
-                        if (stage >= 5) {
-                            Color[] palette = {
-                                    new Color(255, 120, 120),
-                                    new Color(120, 200, 120),
-                                    new Color(120, 180, 255),
-                                    new Color(255, 190, 120),
-                                    new Color(200, 120, 255)
-                            };
-                            arrowColors.add(palette[rnd.nextInt(palette.length)]);
-                        } else {
-                            switch (d) {
-                                case UP:
-                                    arrowColors.add(new Color(255, 120, 120));
-                                    break;
-                                case DOWN:
-                                    arrowColors.add(new Color(120, 180, 255));
-                                    break;
-                                case LEFT:
-                                    arrowColors.add(new Color(120, 180, 255));
-                                    break;
-                                case RIGHT:
-                                    arrowColors.add(new Color(120, 200, 120));
-                                    break;
-                            }
-                        }
-                    } catch (IllegalArgumentException e) {
-                        // 잘못된 방향은 무시
-                    }
-                }
-
-                // 미니뷰 업데이트
-                gamePanel.updateOpponentGameState(playerName, score, combo, sequence, arrowColors, currentIndex);
+        } else if (event instanceof ServerEvent.GameState) {
+            ServerEvent.GameState e = (ServerEvent.GameState) event;
+            // 미니뷰가 없으면 추가
+            gamePanel.addMiniView(e.playerName);
+            gamePanel.updateOpponentGameState(e.playerName, e.stage, e.score, e.combo,
+                    e.sequence, e.arrowColors, e.currentIndex);
+
+        } else if (event instanceof ServerEvent.GameStateDelta) {
+            ServerEvent.GameStateDelta e = (ServerEvent.GameStateDelta) event;
+            gamePanel.updateOpponentProgress(e.playerName, e.stage, e.score, e.combo, e.currentIndex);
+
+        } else if (event instanceof ServerEvent.RankInfo) {
+            ServerEvent.RankInfo e = (ServerEvent.RankInfo) event;
+            gamePanel.updateRankInfo(e.rank, e.total, e.firstPlayer, e.gap);
+
+        } else if (event instanceof ServerEvent.GameSequence) {
+            ServerEvent.GameSequence e = (ServerEvent.GameSequence) event;
+            gamePanel.setSequenceFromServer(e.sequence, e.stage);
+
+        } else if (event instanceof ServerEvent.GameRanking) {
+            resultPanel.setRankingResult(new java.util.ArrayList<>(((ServerEvent.GameRanking) event).rankings));
+
+        } else if (event instanceof ServerEvent.Leaderboard) {
+            ServerEvent.Leaderboard e = (ServerEvent.Leaderboard) event;
+            gamePanel.updateScoreboard(e.total, e.top, e.around, myNickname);
+            gamePanel.retainMiniViews(e.watched);
+            if (e.rank != null) {
+                gamePanel.updateRankInfo(e.rank.rank, e.rank.total, e.rank.firstPlayer, e.rank.gap);
             }
 
-        } else if (msg.startsWith("RANK_INFO ")) {
-                // RANK_INFO myRank totalPlayers firstPlayerName firstPlayerScore gap
-                String[] parts = msg.split(" ");
-                if (parts.length >= 6) {
-                    int rank = Integer.parseInt(parts[1]);
-                    int total = Integer.parseInt(parts[2]);
-                    String firstPlayer = parts[3];
-                    int gap = Integer.parseInt(parts[5]);
+        } else if (event instanceof ServerEvent.TimeSync) {
+            // 서버 시계 기준으로 남은 시간 표시
+            gamePanel.syncRemainingTime(((ServerEvent.TimeSync) event).remainingMillis);
 
-                    gamePanel.updateRankInfo(rank, total, firstPlayer, gap);
-                }
+        } else if (event == ServerEvent.GAME_END) {
+            // 게임 종료 - 결과 화면으로 이동 (서버 제한 시간으로 끝났으면 타이머가 아직 돌고 있을 수 있음)
+            gamePanel.stopGame();
+            cardLayout.show(mainPanel, "RESULT");
+        }
+    }
 
-        } else if (msg.startsWith("GAME_SEQUENCE ")) {
-            // GAME_SEQUENCE stage UP DOWN LEFT RIGHT ...
-            String[] parts = msg.split(" ");
-            if (parts.length >= 2) {
-                int stage = Integer.parseInt(parts[1]);
-                String[] directions = new String[parts.length - 2];
-                System.arraycopy(parts, 2, directions, 0, directions.length);
-                gamePanel.setSequenceFromServer(directions, stage);
+    // PLAYER_LIST: 카드 슬롯에는 자기 자신을 0번, 앞에서부터 다른 플레이어 3명을 1~3번에 배치
+    // 로비의 전체 목록(스크롤)에는 모두 넣어서 방장이 누구에게나 위임/강퇴할 수 있게 한다
+    private void applyPlayerList(java.util.List<ServerEvent.PlayerInfo> players) {
+        lobbyPanel.clearPlayers();
+        gamePanel.clearPlayers();
+        playerList = players;
+
+        // 자기 자신을 0번에 배치
+        boolean imHost = false;
+        for (ServerEvent.PlayerInfo info : playerList) {
+            if (info.name.equals(myNickname)) {
+                lobbyPanel.setPlayerInfo(0, info.name, info.ready, info.isHost);
+                gamePanel.setPlayerInfo(0, info.name, info.score, info.combo);
+                imHost = info.isHost;
+                break;
             }
+        }
 
-        } else if (msg.startsWith("GAME_RANKING ")) {
-            // 게임 랭킹 정보
-            // GAME_RANKING name1|score1|success1|combo1 name2|score2|success2|combo2 ...
-            System.out.println("[DEBUG CLIENT] ===== GAME_RANKING RECEIVED =====");
-            System.out.println("[DEBUG CLIENT] Full message: " + msg);
-
-            String[] parts = msg.split(" ");
-            System.out.println("[DEBUG CLIENT] Split parts: " + parts.length);
-
-            java.util.List<ResultPanel.PlayerRankInfo> rankings = new java.util.ArrayList<>();
-
-            for (int i = 1; i < parts.length; i++) {
-                System.out.println("[DEBUG CLIENT] Processing part[" + i + "]: " + parts[i]);
-                String[] playerData = parts[i].split("\\|");
-                System.out.println("[DEBUG CLIENT]   Split into " + playerData.length + " parts");
-
-                if (playerData.length >= 4) {
-                    String name = playerData[0];
-                    int score = Integer.parseInt(playerData[1]);
-                    int successCount = Integer.parseInt(playerData[2]);
-                    int maxCombo = Integer.parseInt(playerData[3]);
-                    System.out.println("[DEBUG CLIENT]   Player: " + name + ", Score: " + score
-                            + ", Success: " + successCount + ", Combo: " + maxCombo);
-                    rankings.add(new ResultPanel.PlayerRankInfo(name, score, successCount, maxCombo));
-                }
+        // 나머지 플레이어 중 앞의 3명을 1, 2, 3번 카드에 배치
+        int slot = 1;
+        for (ServerEvent.PlayerInfo info : playerList) {
+            if (slot >= 4) break;
+            if (!info.name.equals(myNickname)) {
+                lobbyPanel.setPlayerInfo(slot, info.name, info.ready, info.isHost);
+                gamePanel.setPlayerInfo(slot, info.name, info.score, info.combo);
+                slot++;
             }
+        }
 
-            System.out.println("[DEBUG CLIENT] Total rankings: " + rankings.size());
-            System.out.println("[DEBUG CLIENT] ================================");
-
-            resultPanel.setRankingResult(rankings);
-
-        } else if (msg.equals("GAME_END")) {
-            // 게임 종료 - 결과 화면으로 이동
-            cardLayout.show(mainPanel, "RESULT");
-
-        } else {
-            // 처리되지 않은 메시지는 디버그 출력만 (채팅창 출력 제거)
-            // CHAT, SYS 메시지는 이미 위에서 처리되었으므로 중복 출력 방지
-            System.out.println("[Unhandled message] " + msg);
+        // 사용하지 않은 슬롯은 기본값으로 초기화 (빈 슬롯 제거)
+        for (int i = slot; i < 4; i++) {
+            lobbyPanel.setPlayerInfo(i, "플레이어" + (i + 1), false, false);
+            gamePanel.setPlayerInfo(i, "플레이어" + (i + 1), 0, 0);
         }
+
+        // 방장 여부와 전체 플레이어 목록 업데이트
+        lobbyPanel.updateHostStatus(imHost, playerList, myNickname);
     }
+
     public static void main(String[] args) {
+        // 소리 읽기/오디오 라인 열기는 화면을 띄우는 동안 메인 스레드에서
         SwingUtilities.invokeLater(ArrowGameClientApp::new);
-    }
-
-    // 플레이어 정보를 담는 간단한 클래스
-    private static class PlayerInfo {
-        String name;
-        boolean ready;
-        boolean isHost;
-        int score;
-        int combo;
-
-        PlayerInfo(String name, boolean ready, boolean isHost, int score, int combo) {
-            this.name = name;
-            this.ready = ready;
-            this.isHost = isHost;
-            this.score = score;
-            this.combo = combo;
-        }
+        AudioEngine.preload();
     }
 }
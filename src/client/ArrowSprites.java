@@ -0,0 +1,151 @@
+package client;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * 화살표 원 스프라이트 캐시 (내 화살표 패널과 미니뷰가 각자 하나씩 가진다)
+ * 배경 원 + 테두리 + 방향 기호를 (진행 상태, 방향, 글자색)별로 한 번만 그려 두고 매 프레임에는 복사만 한다
+ * 화면 장치에 맞는 이미지(createCompatibleImage)라 Java2D가 가속 이미지로 관리한다
+ * 반지름이나 화면 배율이 바뀌면 (창 크기 변경, 모니터 이동) 전부 다시 만든다
+ * EDT에서만 사용
+ */
+final class ArrowSprites {
+
+    /** 화살표 진행 상태 (배경 원 색) */
+    enum Phase {
+        DONE(new Color(210, 240, 210)),     // 완료: 녹색
+        CURRENT(new Color(200, 230, 255)),  // 현재: 파란색
+        PENDING(new Color(235, 245, 255));  // 미완료: 밝은 파란색
+
+        final Color fill;
+
+        Phase(Color fill) {
+            this.fill = fill;
+        }
+
+        static Phase of(int index, int currentIndex) {
+            if (index < currentIndex) return DONE;
+            return index == currentIndex ? CURRENT : PENDING;
+        }
+    }
+
+    private static final Color RIM = new Color(180, 210, 230);
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int SLOTS = Phase.values().length * DIRECTIONS.length;
+
+    private final Font font;
+    private final BasicStroke rim;
+    private final int pad; // 테두리가 원 밖으로 나가는 만큼 여유
+
+    // 칸(상태, 방향)마다 글자색별 스프라이트 (색은 팔레트 몇 개뿐이라 선형 탐색)
+    private final int[][] rgbs = new int[SLOTS][];
+    private final BufferedImage[][] images = new BufferedImage[SLOTS][];
+    private final int[] counts = new int[SLOTS];
+
+    private int radius = -1;
+    private double scale;
+    private GraphicsConfiguration config;
+
+    ArrowSprites(int fontSize, float rimWidth) {
+        this.font = new Font("Dialog", Font.BOLD, fontSize);
+        this.rim = new BasicStroke(rimWidth);
+        this.pad = (int) Math.ceil(rimWidth);
+    }
+
+    /** (cx, cy)를 중심으로 반지름 radius인 화살표 원 하나 */
+    void draw(Graphics2D g, int cx, int cy, int radius, Phase phase, Direction d, Color color) {
+        double s = g.getTransform().getScaleX();
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        if (radius != this.radius || s != scale || gc != config) {
+            reset(radius, s, gc);
+        }
+        if (radius <= 0) return;
+        BufferedImage sprite = sprite(phase.ordinal() * DIRECTIONS.length + d.ordinal(), phase, d, color);
+        int size = 2 * (radius + pad);
+        int x = cx - radius - pad;
+        int y = cy - radius - pad;
+        if (sprite.getWidth() == size) {
+            g.drawImage(sprite, x, y, null);
+        } else {
+            // 고배율 화면: 장치 해상도로 만든 이미지를 논리 크기로 그린다
+            g.drawImage(sprite, x, y, size, size, null);
+        }
+    }
+
+    private void reset(int radius, double scale, GraphicsConfiguration gc) {
+        this.radius = radius;
+        this.scale = scale;
+        this.config = gc;
+        for (int i = 0; i < SLOTS; i++) {
+            if (images[i] != null) {
+                for (int j = 0; j < counts[i]; j++) images[i][j].flush();
+            }
+            rgbs[i] = null;
+            images[i] = null;
+            counts[i] = 0;
+        }
+    }
+
+    private BufferedImage sprite(int slot, Phase phase, Direction d, Color color) {
+        int rgb = color.getRGB();
+        int n = counts[slot];
+        int[] keys = rgbs[slot];
+        for (int i = 0; i < n; i++) {
+            if (keys[i] == rgb) return images[slot][i];
+        }
+        if (keys == null) {
+            rgbs[slot] = keys = new int[4];
+            images[slot] = new BufferedImage[4];
+        } else if (n == keys.length) {
+            rgbs[slot] = keys = Arrays.copyOf(keys, n * 2);
+            images[slot] = Arrays.copyOf(images[slot], n * 2);
+        }
+        BufferedImage image = render(phase, d, color);
+        keys[n] = rgb;
+        images[slot][n] = image;
+        counts[slot] = n + 1;
+        return image;
+    }
+
+    // 예전 paintComponent가 원 하나마다 하던 그리기를 이미지에 한 번만
+    private BufferedImage render(Phase phase, Direction d, Color color) {
+        int size = 2 * (radius + pad);
+        int pixels = Math.max(1, (int) Math.ceil(size * scale));
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(pixels, pixels, Transparency.TRANSLUCENT)
+                : new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.scale(scale, scale);
+            int c = radius + pad;
+
+            g.setColor(phase.fill);
+            g.fillOval(c - radius, c - radius, radius * 2, radius * 2);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setColor(RIM);
+            g.setStroke(rim);
+            g.drawOval(c - radius, c - radius, radius * 2, radius * 2);
+
+            g.setColor(color);
+            g.setFont(font);
+            FontMetrics fm = g.getFontMetrics();
+            String symbol = d.getSymbol();
+            g.drawString(symbol, c - fm.stringWidth(symbol) / 2, c + fm.getAscent() / 4);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,295 @@
+package client;
+
+import network.Log;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 효과음/배경음 재생 엔진 (클라이언트 전체에서 하나)
+ * - 처음 쓸 때 모든 소리를 한 번만 읽어서 출력 형식(44.1kHz 16bit 스테레오) PCM으로 풀어 둔다
+ * - 출력 라인은 하나만 열어 두고 mixer 스레드가 재생 중인 소리들을 섞어서 쓴다 (소리마다 스레드/Clip을 만들지 않는다)
+ * - 라인 버퍼를 작게 잡아서 play() 호출부터 소리가 나기까지 10ms 안쪽
+ * - 동시에 나는 소리 수 제한: 전체 MAX_VOICES, 소리별 Sound.maxVoices (넘으면 가장 오래된 것을 끊는다)
+ * 오디오 장치가 없으면 경고 한 번 남기고 아무 소리도 내지 않는다
+ */
+final class AudioEngine {
+
+    /** 게임에서 쓰는 소리 (리소스 경로, 소리별 최대 동시 재생 수) */
+    enum Sound {
+        KEY("/sounds/key.wav", 4),
+        WRONG("/sounds/wrong.wav", 2),
+        CHAT("/sounds/chat.wav", 2),
+        BGM("/sounds/background.wav", 1);
+
+        final String path;
+        final int maxVoices;
+
+        Sound(String path, int maxVoices) {
+            this.path = path;
+            this.maxVoices = maxVoices;
+        }
+    }
+
+    static final float SAMPLE_RATE = 44100f;
+    private static final int CHANNELS = 2;
+    private static final int FRAME_BYTES = 2 * CHANNELS;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    private static final int MAX_VOICES = 8;
+    private static final int CHUNK_FRAMES = 128;       // mixer가 한 번에 섞는 양 (약 2.9ms)
+    private static final int LINE_BUFFER_FRAMES = 384; // 라인 버퍼 (약 8.7ms), 소리가 나기까지의 지연 상한
+    private static final int FADE_FRAMES = 256;        // 중간에 끊는 소리의 끝을 줄여서 딸깍 소리 방지
+
+    /** 재생 슬롯 (미리 만들어 두고 재사용) */
+    private static final class Voice {
+        short[] pcm;      // null이면 빈 슬롯
+        Sound sound;
+        int pos;          // 다음에 섞을 샘플 위치 (채널 포함)
+        int end;          // 여기까지 재생 (play(sound, millis)면 중간)
+        boolean loop;
+        long startedAt;   // 슬롯 뺏기 순서
+    }
+
+    private static final class Holder {
+        static final AudioEngine INSTANCE = new AudioEngine();
+    }
+
+    static AudioEngine get() {
+        return Holder.INSTANCE;
+    }
+
+    private final short[][] bank = new short[Sound.values().length][];
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition playing = lock.newCondition();
+    private final boolean enabled; // 출력 라인을 열었는지
+    private int active;
+    private long startCounter;
+
+    private AudioEngine() {
+        for (int i = 0; i < voices.length; i++) voices[i] = new Voice();
+        for (Sound s : Sound.values()) {
+            bank[s.ordinal()] = load(s);
+        }
+        SourceDataLine line = openLine();
+        enabled = line != null;
+        if (enabled) {
+            Thread mixer = new Thread(() -> mixLoop(line), "audio-mixer");
+            mixer.setDaemon(true);
+            mixer.setPriority(Thread.MAX_PRIORITY);
+            mixer.start();
+        }
+    }
+
+    /** 미리 읽어 두기 (첫 키 입력 때 디코딩하지 않도록 화면을 만들 때 호출) */
+    static void preload() {
+        get();
+    }
+
+    void play(Sound sound) {
+        start(sound, Integer.MAX_VALUE, false);
+    }
+
+    /** 앞부분 millis만 재생 */
+    void play(Sound sound, int millis) {
+        start(sound, millis, false);
+    }
+
+    void loop(Sound sound) {
+        start(sound, Integer.MAX_VALUE, true);
+    }
+
+    void stop(Sound sound) {
+        lock.lock();
+        try {
+            for (Voice v : voices) {
+                if (v.pcm != null && v.sound == sound) release(v);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void start(Sound sound, int millis, boolean loop) {
+        short[] pcm = bank[sound.ordinal()];
+        if (pcm == null || !enabled) return;
+        long samples = (long) millis * (long) SAMPLE_RATE / 1000 * CHANNELS;
+        int end = (int) Math.min(pcm.length, samples);
+        lock.lock();
+        try {
+            if (loop) {
+                // 배경음은 이미 돌고 있으면 그대로 둔다
+                for (Voice v : voices) {
+                    if (v.pcm != null && v.sound == sound && v.loop) return;
+                }
+            }
+            Voice voice = pickVoice(sound);
+            if (voice.pcm == null) active++;
+            voice.pcm = pcm;
+            voice.sound = sound;
+            voice.pos = 0;
+            voice.end = loop ? pcm.length : end;
+            voice.loop = loop;
+            voice.startedAt = startCounter++;
+            playing.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 새 소리에 쓸 슬롯: 같은 소리가 한도만큼 나고 있으면 그중 가장 오래된 것, 아니면 빈 슬롯, 없으면 가장 오래된 효과음
+    private Voice pickVoice(Sound sound) {
+        int same = 0;
+        Voice oldestSame = null;
+        Voice free = null;
+        Voice oldest = null;
+        for (Voice v : voices) {
+            if (v.pcm == null) {
+                if (free == null) free = v;
+                continue;
+            }
+            if (v.sound == sound) {
+                same++;
+                if (oldestSame == null || v.startedAt < oldestSame.startedAt) oldestSame = v;
+            }
+            if (!v.loop && (oldest == null || v.startedAt < oldest.startedAt)) oldest = v;
+        }
+        if (same >= sound.maxVoices) return oldestSame;
+        if (free != null) return free;
+        return oldest != null ? oldest : voices[0];
+    }
+
+    private void release(Voice v) {
+        v.pcm = null;
+        v.sound = null;
+        active--;
+    }
+
+    private void mixLoop(SourceDataLine line) {
+        int[] acc = new int[CHUNK_FRAMES * CHANNELS];
+        byte[] out = new byte[CHUNK_FRAMES * FRAME_BYTES];
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    while (active == 0) {
+                        playing.await();
+                    }
+                    mix(acc);
+                } finally {
+                    lock.unlock();
+                }
+                for (int i = 0; i < acc.length; i++) {
+                    int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, acc[i]));
+                    out[2 * i] = (byte) s;
+                    out[2 * i + 1] = (byte) (s >> 8);
+                }
+                line.write(out, 0, out.length); // 라인 버퍼가 차 있으면 여기서 기다린다
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            line.close();
+        }
+    }
+
+    // 재생 중인 슬롯을 CHUNK_FRAMES만큼 섞는다 (lock 안에서)
+    private void mix(int[] acc) {
+        Arrays.fill(acc, 0);
+        for (Voice v : voices) {
+            if (v.pcm == null) continue;
+            short[] pcm = v.pcm;
+            int fadeFrom = v.end < pcm.length ? v.end - FADE_FRAMES * CHANNELS : Integer.MAX_VALUE;
+            int i = 0;
+            while (i < acc.length) {
+                if (v.pos >= v.end) {
+                    if (!v.loop) {
+                        release(v);
+                        break;
+                    }
+                    v.pos = 0;
+                }
+                int s = pcm[v.pos];
+                if (v.pos >= fadeFrom) {
+                    s = s * (v.end - v.pos) / (FADE_FRAMES * CHANNELS);
+                }
+                acc[i++] += s;
+                v.pos++;
+            }
+        }
+    }
+
+    private static SourceDataLine openLine() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BUFFER_FRAMES * FRAME_BYTES);
+            line.start();
+            int frames = line.getBufferSize() / FRAME_BYTES;
+            Log.info("Audio line open: {} frames buffered ({} ms)", frames, frames * 1000 / (int) SAMPLE_RATE);
+            return line;
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            Log.warn("No audio output, sounds disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 리소스 하나를 출력 형식 PCM으로 (없거나 못 읽으면 null)
+    private static short[] load(Sound sound) {
+        URL url = AudioEngine.class.getResource(sound.path);
+        if (url == null) {
+            Log.warn("Sound not found: {}", sound.path);
+            return null;
+        }
+        try (AudioInputStream src = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat in = src.getFormat();
+            int channels = in.getChannels();
+            AudioFormat pcmFormat = new AudioFormat(in.getSampleRate(), 16, channels, true, false);
+            try (AudioInputStream pcmIn = AudioSystem.getAudioInputStream(pcmFormat, src)) {
+                short[] samples = toShorts(pcmIn);
+                return toOutputFormat(samples, channels, in.getSampleRate());
+            }
+        } catch (Exception e) {
+            Log.warn("Failed to decode {}: {}", sound.path, e.toString());
+            return null;
+        }
+    }
+
+    private static short[] toShorts(InputStream in) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        short[] samples = new short[bytes.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+        }
+        return samples;
+    }
+
+    // 채널 수(모노 -> 스테레오)와 샘플레이트(선형 보간)를 출력 형식에 맞춘다
+    private static short[] toOutputFormat(short[] samples, int channels, float rate) {
+        int frames = samples.length / channels;
+        int outFrames = rate == SAMPLE_RATE ? frames : (int) ((long) frames * (long) SAMPLE_RATE / (long) rate);
+        short[] out = new short[outFrames * CHANNELS];
+        double step = rate / SAMPLE_RATE;
+        for (int f = 0; f < outFrames; f++) {
+            double srcPos = f * step;
+            int i0 = (int) srcPos;
+            int i1 = Math.min(i0 + 1, frames - 1);
+            double t = srcPos - i0;
+            for (int c = 0; c < CHANNELS; c++) {
+                int sc = Math.min(c, channels - 1);
+                double s = samples[i0 * channels + sc] * (1 - t) + samples[i1 * channels + sc] * t;
+                out[f * CHANNELS + c] = (short) Math.round(s);
+            }
+        }
+        return out;
+    }
+}
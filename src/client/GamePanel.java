@@ -4,10 +4,12 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import javax.swing.border.AbstractBorder;
+import javax.swing.border.Border;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import javax.sound.sampled.*;   // ✅ 추가
+import java.util.concurrent.TimeUnit;
 
 
 public class GamePanel extends JPanel implements KeyListener {
@@ -15,6 +17,9 @@ public class GamePanel extends JPanel implements KeyListener {
     // 게임 진행 상태
     private List<Direction> sequence = new ArrayList<>();
     private List<Color> arrowColors = new ArrayList<>(); // 각 화살표 색
+    private byte[] sequenceCodes = new byte[32]; // GAME_STATE 전송용 방향 코드 (재사용)
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private final Random localRandom = new Random(); // 로컬 시퀀스용 (매번 만들지 않는다)
     private int currentIndex = 0;
     private int stage = 1;
     private int score = 0;
@@ -23,12 +28,12 @@ public class GamePanel extends JPanel implements KeyListener {
 
     // 타이머
     private int remainingSeconds = 60;
-    private Timer gameTimer;
+    private final AnimationClock clock = AnimationClock.get();
+    private final AnimationClock.Animation countdown = this::tickCountdown;
+    private long nextSecondAt;  // 다음에 1초를 줄일 시각
 
     //사운드
-    private Clip bgmClip;    // 배경음
-    private Clip keyClip;    // 키 입력 효과음
-    private Clip wrongClip;  // 틀렸을 때 효과음
+    private final AudioEngine audio = AudioEngine.get();
     // 상단 플레이어 정보
     private JLabel[] playerNameLabels = new JLabel[4];
     private JLabel[] playerScoreLabels = new JLabel[4];
@@ -53,6 +58,11 @@ public class GamePanel extends JPanel implements KeyListener {
     private java.util.Map<String, MiniGameView> miniViews = new java.util.HashMap<>();
     private JPanel miniViewContainer;
 
+    // 큰 방(토너먼트)에서만 보이는 점수판: 상위 순위 + 내 주변 순위
+    private JPanel scoreboardPanel;
+    private JLabel scoreboardTitle;
+    private DefaultListModel<String> scoreboardModel = new DefaultListModel<>();
+
     public interface GameEndListener {
         void onGameEnd(int score, int maxCombo);
     }
@@ -62,7 +72,8 @@ public class GamePanel extends JPanel implements KeyListener {
     }
 
     public interface GameStateSender {
-        void sendGameState(String stateData);
+        /** arrows: 화살표 방향 코드(Direction.ordinal()) count개, 호출 안에서만 읽는다 */
+        void sendGameState(int stage, int currentIndex, int score, int combo, byte[] arrows, int count);
     }
 
     private GameEndListener onGameEndListener;
@@ -73,8 +84,36 @@ public class GamePanel extends JPanel implements KeyListener {
     private JPanel[] playerPanels = new JPanel[4];  // 각 플레이어 패널 참조
     private JPanel timePanel;  // 타이머 패널
     private JPanel mainCard;  // 메인 게임 카드 (테두리 효과용)
-    private Timer rankEffectTimer;  // 순위 효과 애니메이션 타이머
-    private int effectFrame = 0;  // 애니메이션 프레임
+    private final AnimationClock.Animation rankEffect = this::tickRankEffect;  // 순위 효과 애니메이션
+    private long effectStartedAt;  // 효과 시작 시각 (맥동 위상 기준)
+    private final RankBorder fireBorder = new RankBorder(38);     // 1등: 이중 테두리 최대 두께(7+3) + 여백 28
+    private final RankBorder warningBorder = new RankBorder(34);  // 꼴등: 4 + 여백 30
+    private final AnimationClock.Animation wrongFlash = this::endWrongFlash;
+    private Color flashOriginalBg;  // 깜빡이기 전 화살표 영역 상태 (깜빡이는 중이면 null 아님)
+    private boolean flashOriginalOpaque;
+
+    private static final long EFFECT_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);  // 맥동 위상 1단위
+    private static final long WRONG_FLASH_NANOS = TimeUnit.MILLISECONDS.toNanos(150);
+    private static final Border DEFAULT_CARD_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(180, 210, 230), 2),
+            BorderFactory.createEmptyBorder(30, 30, 30, 30));
+    private static final Color WARNING_BG = new Color(255, 245, 245);
+    private static final Color WRONG_FLASH_BG = new Color(255, 200, 200);
+
+    // 순위 효과 색 (틱마다 새로 만들지 않도록 미리)
+    private static final Color[] FIRE_OUTER = new Color[151];   // (255, 50~200, 0)
+    private static final Color[] FIRE_INNER = new Color[101];   // (255, 140~240, 0)
+    private static final Color[][] FIRE_BG = new Color[11][11]; // (255, 245~255, 230~240)
+    private static final Color[] WARNING = new Color[76];       // alpha 180~255 -> (255, alpha/2, alpha/2)
+
+    static {
+        for (int i = 0; i < FIRE_OUTER.length; i++) FIRE_OUTER[i] = new Color(255, 50 + i, 0);
+        for (int i = 0; i < FIRE_INNER.length; i++) FIRE_INNER[i] = new Color(255, 140 + i, 0);
+        for (int i = 0; i < 11; i++) {
+            for (int j = 0; j < 11; j++) FIRE_BG[i][j] = new Color(255, 245 + i, 230 + j);
+        }
+        for (int i = 0; i < WARNING.length; i++) WARNING[i] = new Color(255, (180 + i) / 2, (180 + i) / 2);
+    }
 
     public GamePanel() {
         setLayout(new BorderLayout());
@@ -134,15 +173,7 @@ public class GamePanel extends JPanel implements KeyListener {
 
         mainCard = new JPanel(new BorderLayout());
         mainCard.setBackground(Color.WHITE);
-        mainCard.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(180, 210, 230), 2),
-                BorderFactory.createEmptyBorder(30, 30, 30, 30)));
-
-        // 순위 효과 애니메이션 타이머 (100ms마다 실행)
-        rankEffectTimer = new Timer(100, e -> {
-            effectFrame++;
-            updateRankBorderEffect();
-        });
+        mainCard.setBorder(DEFAULT_CARD_BORDER);
 
         bigMessageLabel.setFont(new Font("Dialog", Font.BOLD, 60));
         bigMessageLabel.setForeground(new Color(0, 200, 120));
@@ -192,8 +223,30 @@ public class GamePanel extends JPanel implements KeyListener {
         miniViewContainer.setBorder(BorderFactory.createEmptyBorder(30, 10, 30, 20));
         miniViewContainer.setPreferredSize(new Dimension(270, 0));
 
+        // 점수판 (큰 방에서 LEADERBOARD를 받으면 표시)
+        scoreboardPanel = new JPanel(new BorderLayout());
+        scoreboardPanel.setBackground(Color.WHITE);
+        scoreboardPanel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createEmptyBorder(30, 10, 0, 20),
+                BorderFactory.createLineBorder(new Color(180, 210, 230), 2)));
+        scoreboardTitle = new JLabel("점수판", SwingConstants.CENTER);
+        scoreboardTitle.setFont(new Font("Dialog", Font.BOLD, 13));
+        scoreboardTitle.setForeground(new Color(80, 120, 180));
+        JList<String> scoreboardList = new JList<>(scoreboardModel);
+        scoreboardList.setFont(new Font("Dialog", Font.PLAIN, 12));
+        scoreboardList.setFocusable(false);
+        scoreboardList.setVisibleRowCount(16);
+        scoreboardPanel.add(scoreboardTitle, BorderLayout.NORTH);
+        scoreboardPanel.add(new JScrollPane(scoreboardList), BorderLayout.CENTER);
+        scoreboardPanel.setVisible(false);
+
+        JPanel eastPanel = new JPanel(new BorderLayout());
+        eastPanel.setOpaque(false);
+        eastPanel.add(scoreboardPanel, BorderLayout.NORTH);
+        eastPanel.add(miniViewContainer, BorderLayout.CENTER);
+
         mainContainer.add(center, BorderLayout.CENTER);
-        mainContainer.add(miniViewContainer, BorderLayout.EAST);
+        mainContainer.add(eastPanel, BorderLayout.EAST);
 
         add(mainContainer, BorderLayout.CENTER);
 
@@ -222,10 +275,7 @@ public class GamePanel extends JPanel implements KeyListener {
         maxCombo = 0;
         remainingSeconds = 60;
 
-        if (gameTimer != null) {
-            gameTimer.stop();
-            gameTimer = null;
-        }
+        clock.stop(countdown);
         updatePlayerStats();
         updateTimeLabel();
     }
@@ -275,38 +325,85 @@ public class GamePanel extends JPanel implements KeyListener {
 
     /** 모든 미니뷰 제거 */
     public void clearMiniViews() {
+        scoreboardModel.clear();
+        scoreboardPanel.setVisible(false);
         miniViews.clear();
         miniViewContainer.removeAll();
         miniViewContainer.revalidate();
         miniViewContainer.repaint();
     }
 
+    /** 목록에 없는 플레이어의 미니뷰 제거 (큰 방에서는 상위/주변 순위만 보여준다) */
+    public void retainMiniViews(java.util.Set<String> playerNames) {
+        for (String name : new ArrayList<>(miniViews.keySet())) {
+            if (!playerNames.contains(name)) {
+                removeMiniView(name);
+            }
+        }
+    }
+
+    /**
+     * 큰 방 점수판 업데이트
+     * @param top 상위 순위 항목 {순위, 닉네임, 점수}
+     * @param around 내 앞뒤 순위 항목 (상위와 겹치는 것은 표시하지 않음)
+     */
+    public void updateScoreboard(int total, List<String[]> top, List<String[]> around, String myName) {
+        scoreboardModel.clear();
+        int lastRank = 0;
+        for (String[] e : top) {
+            scoreboardModel.addElement(scoreboardRow(e, myName));
+            lastRank = Integer.parseInt(e[0]);
+        }
+        for (String[] e : around) {
+            int rank = Integer.parseInt(e[0]);
+            if (rank <= lastRank) continue;
+            if (rank > lastRank + 1) {
+                scoreboardModel.addElement("   ···");
+            }
+            scoreboardModel.addElement(scoreboardRow(e, myName));
+            lastRank = rank;
+        }
+        scoreboardTitle.setText("점수판 (총 " + total + "명)");
+        if (!scoreboardPanel.isVisible()) {
+            scoreboardPanel.setVisible(true);
+            revalidate();
+        }
+    }
+
+    private String scoreboardRow(String[] e, String myName) {
+        String prefix = e[1].equals(myName) ? "▶ " : "   ";
+        return prefix + e[0] + ". " + e[1] + "  " + e[2] + "점";
+    }
+
     /** 다른 플레이어의 게임 상태 업데이트 */
-    public void updateOpponentGameState(String playerName, int score, int combo,
+    public void updateOpponentGameState(String playerName, int stage, int score, int combo,
                                          List<Direction> sequence, List<Color> arrowColors, int currentIndex) {
         MiniGameView miniView = miniViews.get(playerName);
         if (miniView != null) {
-            miniView.updateGameState(score, combo, sequence, arrowColors, currentIndex);
+            miniView.updateGameState(stage, score, combo, sequence, arrowColors, currentIndex);
         }
     }
 
-    /** 내 게임 상태를 서버로 전송 */
+    /** 다른 플레이어의 진행 정보만 업데이트 (시퀀스는 직전 상태와 같음) */
+    public void updateOpponentProgress(String playerName, int stage, int score, int combo, int currentIndex) {
+        MiniGameView miniView = miniViews.get(playerName);
+        if (miniView != null) {
+            miniView.updateProgress(stage, score, combo, currentIndex);
+        }
+    }
+
+    /** 내 게임 상태를 서버로 전송 (문자열을 만들지 않고 방향 코드 배열을 재사용) */
     private void sendMyGameState() {
         if (gameStateSender == null) return;
 
-        // GAME_STATE stage currentIndex totalCount score combo sequence...
-        StringBuilder sb = new StringBuilder();
-        sb.append(stage).append(" ");
-        sb.append(currentIndex).append(" ");
-        sb.append(sequence.size()).append(" ");
-        sb.append(score).append(" ");
-        sb.append(combo);
-
-        for (Direction d : sequence) {
-            sb.append(" ").append(d.name());
+        int count = sequence.size();
+        if (sequenceCodes.length < count) {
+            sequenceCodes = new byte[Math.max(count, sequenceCodes.length * 2)];
         }
-
-        gameStateSender.sendGameState(sb.toString());
+        for (int i = 0; i < count; i++) {
+            sequenceCodes[i] = (byte) sequence.get(i).ordinal();
+        }
+        gameStateSender.sendGameState(stage, currentIndex, score, combo, sequenceCodes, count);
     }
 
     /** 순위 정보 업데이트 (서버로부터 받음) */
@@ -331,18 +428,17 @@ public class GamePanel extends JPanel implements KeyListener {
             rankInfoLabel.setForeground(new Color(100, 150, 255));
         }
 
-        // 본인 화면 테두리 효과 업데이트
-        updateRankBorderEffect();
-
-        // 순위에 따라 애니메이션 타이머 시작/중지
+        // 순위에 따라 테두리 효과 시작/중지 (이미 돌고 있으면 위상은 그대로)
         if (rank == 1 || (rank == total && total > 1)) {
-            rankEffectTimer.start();
+            if (!clock.isRunning(rankEffect)) {
+                effectStartedAt = System.nanoTime();
+                clock.start(mainCard, rankEffect);
+            }
+            updateRankBorderEffect(System.nanoTime());
         } else {
-            rankEffectTimer.stop();
+            clock.stop(rankEffect);
             // 중간 순위는 기본 테두리로 복원
-            mainCard.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(180, 210, 230), 2),
-                BorderFactory.createEmptyBorder(30, 30, 30, 30)));
+            mainCard.setBorder(DEFAULT_CARD_BORDER);
         }
 
         // 미니뷰에 1등 표시
@@ -353,53 +449,118 @@ public class GamePanel extends JPanel implements KeyListener {
         }
     }
 
-    /** 순위에 따른 테두리 효과 업데이트 */
-    private void updateRankBorderEffect() {
+    private long tickRankEffect(long now) {
+        updateRankBorderEffect(now);
+        return now + AnimationClock.FRAME_NANOS;
+    }
+
+    /**
+     * 순위에 따른 테두리 효과 업데이트
+     * 테두리 객체는 그대로 두고 색/두께만 바꿔서, 바뀐 게 있을 때 테두리 영역만 다시 그린다 (배경색이 바뀌면 카드 전체)
+     */
+    private void updateRankBorderEffect(long now) {
+        double effectFrame = (double) (now - effectStartedAt) / EFFECT_STEP_NANOS;
         if (myRank == 1) {
             // 🔥 1등: 화려한 불타는 효과 (주황-빨강-노랑 그라데이션 + 이중 테두리)
             float pulse1 = (float) Math.abs(Math.sin(effectFrame * 0.25));  // 빠른 맥동
             float pulse2 = (float) Math.abs(Math.sin(effectFrame * 0.15));  // 느린 맥동
 
-            // 외부 테두리: 빨강 -> 주황 변화
-            int outerR = 255;
-            int outerG = 50 + (int) (150 * pulse1);  // 50~200
-            int outerB = 0;
-            Color outerFireColor = new Color(outerR, outerG, outerB);
-
-            // 내부 테두리: 주황 -> 노랑 변화
-            int innerR = 255;
-            int innerG = 140 + (int) (100 * pulse2);  // 140~240
-            int innerB = 0;
-            Color innerFireColor = new Color(innerR, innerG, innerB);
-
-            // 배경색도 맥동
-            int bgR = 255;
-            int bgG = 245 + (int) (10 * pulse1);
-            int bgB = 230 + (int) (10 * pulse2);
-            mainCard.setBackground(new Color(bgR, bgG, bgB));
+            // 외부 테두리: 빨강 -> 주황 변화, 내부 테두리: 주황 -> 노랑 변화
+            Color outerFireColor = FIRE_OUTER[(int) (150 * pulse1)];
+            Color innerFireColor = FIRE_INNER[(int) (100 * pulse2)];
 
             // 이중 테두리로 불타는 느낌 강화 (두께도 변화)
             int outerThickness = 5 + (int) (2 * pulse1);  // 5~7px
             int innerThickness = 2 + (int) (1 * pulse2);  // 2~3px
 
-            mainCard.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(outerFireColor, outerThickness),
-                    BorderFactory.createLineBorder(innerFireColor, innerThickness)),
-                BorderFactory.createEmptyBorder(28, 28, 28, 28)));
+            // 배경색도 맥동
+            Color bg = FIRE_BG[(int) (10 * pulse1)][(int) (10 * pulse2)];
+            boolean borderChanged = fireBorder.set(outerFireColor, outerThickness, innerFireColor, innerThickness);
+            showRankEffect(fireBorder, bg, borderChanged);
 
         } else if (myRank == totalPlayers && totalPlayers > 1) {
             // ⚠️ 꼴등: 강렬한 빨간색 경고 효과
             float pulse = (float) Math.abs(Math.sin(effectFrame * 0.25));  // 더 빠른 깜빡임
-            int alpha = 180 + (int) (75 * pulse);  // 180~255
-            Color warningColor = new Color(255, alpha / 2, alpha / 2);
+            Color warningColor = WARNING[(int) (75 * pulse)];  // alpha 180~255
+            boolean borderChanged = warningBorder.set(warningColor, 4, null, 0);
+            showRankEffect(warningBorder, WARNING_BG, borderChanged);
+        }
+    }
+
+    private void showRankEffect(RankBorder border, Color bg, boolean borderChanged) {
+        if (mainCard.getBorder() != border) {
+            mainCard.setBorder(border);  // 효과 시작 (한 번만 배치가 바뀐다)
+        }
+        if (!bg.equals(mainCard.getBackground())) {
+            mainCard.setBackground(bg);  // 카드 전체 다시 그리기
+        } else if (borderChanged) {
+            border.repaintEdges(mainCard);
+        }
+    }
+
+    /**
+     * 순위 효과 테두리 (바깥 선 + 안쪽 선 + 나머지는 여백)
+     * 두께가 바뀌어도 여백은 고정이라 카드 안 배치가 흔들리지 않는다
+     */
+    private static final class RankBorder extends AbstractBorder {
+        private final int inset;
+        private Color outer;
+        private Color inner;
+        private int outerThickness;
+        private int innerThickness;
+
+        RankBorder(int inset) {
+            this.inset = inset;
+        }
+
+        /** @return 바뀐 게 있으면 true */
+        boolean set(Color outer, int outerThickness, Color inner, int innerThickness) {
+            if (outer == this.outer && inner == this.inner
+                    && outerThickness == this.outerThickness && innerThickness == this.innerThickness) {
+                return false;
+            }
+            this.outer = outer;
+            this.inner = inner;
+            this.outerThickness = outerThickness;
+            this.innerThickness = innerThickness;
+            return true;
+        }
+
+        // 테두리 네 변만 다시 그리기
+        void repaintEdges(JComponent c) {
+            int w = c.getWidth();
+            int h = c.getHeight();
+            c.repaint(0, 0, w, inset);
+            c.repaint(0, h - inset, w, inset);
+            c.repaint(0, inset, inset, h - 2 * inset);
+            c.repaint(w - inset, inset, inset, h - 2 * inset);
+        }
 
-            mainCard.setBackground(new Color(255, 245, 245));
-            mainCard.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(warningColor, 4),
-                BorderFactory.createEmptyBorder(30, 30, 30, 30)));
+        @Override
+        public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
+            paintRing(g, outer, 0, outerThickness, x, y, width, height);
+            paintRing(g, inner, outerThickness, innerThickness, x, y, width, height);
+        }
+
+        private static void paintRing(Graphics g, Color color, int offset, int thickness,
+                                      int x, int y, int width, int height) {
+            if (color == null || thickness <= 0) return;
+            g.setColor(color);
+            int x0 = x + offset;
+            int y0 = y + offset;
+            int w = width - 2 * offset;
+            int h = height - 2 * offset;
+            g.fillRect(x0, y0, w, thickness);
+            g.fillRect(x0, y0 + h - thickness, w, thickness);
+            g.fillRect(x0, y0 + thickness, thickness, h - 2 * thickness);
+            g.fillRect(x0 + w - thickness, y0 + thickness, thickness, h - 2 * thickness);
+        }
+
+        @Override
+        public Insets getBorderInsets(Component c, Insets insets) {
+            insets.set(inset, inset, inset, inset);
+            return insets;
         }
-        mainCard.repaint();
     }
 
     // ---- 플레이어 정보 동기화 메서드 ----
@@ -463,10 +624,6 @@ public class GamePanel extends JPanel implements KeyListener {
         maxCombo = 0;
         remainingSeconds = 60;
 
-        if (gameTimer != null) {
-            gameTimer.stop();
-        }
-
         startTimer();
         clearPlayers();
         updateTimeLabel();
@@ -489,90 +646,75 @@ public class GamePanel extends JPanel implements KeyListener {
         arrowPanel.repaint();
     }
 
+    /** 서버가 보낸 남은 시간으로 표시 맞추기 (제한 시간은 서버가 잰다) */
+    public void syncRemainingTime(long remainingMillis) {
+        if (!clock.isRunning(countdown)) return;
+        remainingSeconds = (int) ((remainingMillis + 999) / 1000);
+        updateTimeLabel();
+    }
+
+    /** 서버가 게임을 끝냈을 때 타이머와 배경음 정지 */
+    public void stopGame() {
+        clock.stop(countdown);
+        stopBGM();
+    }
+
+    // 1초마다 남은 시간 줄이기 (화면이 가려져도 진행해야 하므로 주인 컴포넌트 없이)
     private void startTimer() {
-        gameTimer = new Timer(1000, e -> {
-            remainingSeconds--;
-            updateTimeLabel();
-            if (remainingSeconds <= 0) {
-                gameTimer.stop();
-                stopBGM();
-                // 서버에 타이머 종료 알림
-                if (inputSender != null) {
-                    inputSender.sendInput("TIME_UP");
-                }
-                statusLabel.setText("게임 종료. 결과를 집계하는 중...");
-            }
-        });
-        gameTimer.start();
+        nextSecondAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        clock.start(null, countdown, nextSecondAt);
     }
-    // ✅ 키 입력 효과음
-    private void playKeySound() {
-        try {
-            if (keyClip == null) {
-                AudioInputStream ais = AudioSystem.getAudioInputStream(
-                        getClass().getResource( "/sounds/key.wav"));
-                keyClip = AudioSystem.getClip();
-                keyClip.open(ais);
+
+    private long tickCountdown(long now) {
+        remainingSeconds--;
+        updateTimeLabel();
+        if (remainingSeconds <= 0) {
+            stopBGM();
+            // 서버에 타이머 종료 알림
+            if (inputSender != null) {
+                inputSender.sendInput("TIME_UP");
             }
-            keyClip.stop();
-            keyClip.setFramePosition(0);
-            keyClip.start();
-        } catch (Exception e) {
-            e.printStackTrace();
+            statusLabel.setText("게임 종료. 결과를 집계하는 중...");
+            return AnimationClock.DONE;
         }
+        nextSecondAt += TimeUnit.SECONDS.toNanos(1);
+        return nextSecondAt;
+    }
+    // ✅ 키 입력 효과음 (앞부분만 짧게)
+    private void playKeySound() {
+        audio.play(AudioEngine.Sound.KEY, 400);
     }
     // ✅ 틀렸을 때 효과 (소리 + 화살표 영역 깜빡임)
     private void playWrongEffect() {
-        try {
-            if (wrongClip == null) {
-                AudioInputStream ais = AudioSystem.getAudioInputStream(
-                        getClass().getResource("/sounds/wrong.wav"));
-                wrongClip = AudioSystem.getClip();
-                wrongClip.open(ais);
-            }
-            wrongClip.stop();
-            wrongClip.setFramePosition(0);
-            wrongClip.start();
-        } catch (Exception e) {
-            e.printStackTrace();
+        audio.play(AudioEngine.Sound.WRONG);
+
+        // 🔴 화살표 영역 깜빡이게 만들기 (깜빡이는 중에 또 틀리면 시간만 연장)
+        if (flashOriginalBg == null) {
+            flashOriginalBg = arrowPanel.getBackground();
+            flashOriginalOpaque = arrowPanel.isOpaque();
+            arrowPanel.setOpaque(true);
+            arrowPanel.setBackground(WRONG_FLASH_BG);  // 연한 빨강
+            arrowPanel.repaint();
         }
+        clock.start(null, wrongFlash, System.nanoTime() + WRONG_FLASH_NANOS);
+    }
 
-        // 🔴 화살표 영역 깜빡이게 만들기
-        Color originalBg = arrowPanel.getBackground();
-        boolean originalOpaque = arrowPanel.isOpaque();
-
-        arrowPanel.setOpaque(true);
-        arrowPanel.setBackground(new Color(255, 200, 200));  // 연한 빨강
+    private long endWrongFlash(long now) {
+        arrowPanel.setBackground(flashOriginalBg);
+        arrowPanel.setOpaque(flashOriginalOpaque);
         arrowPanel.repaint();
-
-        new javax.swing.Timer(150, ev -> {
-            arrowPanel.setBackground(originalBg);
-            arrowPanel.setOpaque(originalOpaque);
-            arrowPanel.repaint();
-            ((javax.swing.Timer) ev.getSource()).stop();
-        }).start();
+        flashOriginalBg = null;
+        return AnimationClock.DONE;
     }
 
     // ✅ 배경음 시작
     private void startBGM() {
-        try {
-            if (bgmClip == null) {
-                AudioInputStream ais = AudioSystem.getAudioInputStream(
-                        getClass().getResource("/sounds/background.wav"));
-                bgmClip = AudioSystem.getClip();
-                bgmClip.open(ais);
-            }
-            bgmClip.loop(Clip.LOOP_CONTINUOUSLY);  // 계속 반복 재생
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        audio.loop(AudioEngine.Sound.BGM);  // 계속 반복 재생
     }
 
     // ✅ 배경음 정지
     private void stopBGM() {
-        if (bgmClip != null && bgmClip.isRunning()) {
-            bgmClip.stop();
-        }
+        audio.stop(AudioEngine.Sound.BGM);
     }
     private void updatePlayerStats() {
         // 지금은 플레이어1(인덱스 0)만 사용
@@ -586,25 +728,14 @@ public class GamePanel extends JPanel implements KeyListener {
         }
     }
 
+    // 혼자 하기용 로컬 시퀀스 (서버 게임에서는 GAME_SEQUENCE로 받는다)
     private void generateSequence() {
         int length = 3 + stage - 1; // 1스테이지=3개, 이후 1씩 증가
         sequence.clear();
-        arrowColors.clear();
-
-        Random rnd = new Random();
-        Direction[] values = Direction.values();
-
         for (int i = 0; i < length; i++) {
-            Direction d = values[rnd.nextInt(values.length)];
-            sequence.add(d);
-
-            // 5스테이지 이상이면 방향과 상관없이 랜덤 색
-            if (stage >= 5) {
-                arrowColors.add(randomColor(rnd));
-            } else {
-                arrowColors.add(defaultColor(d));
-            }
+            sequence.add(DIRECTIONS[localRandom.nextInt(DIRECTIONS.length)]);
         }
+        arrowColors = ArrowColors.forSequence(stage, sequence);
 
         difficultyLabel.setText("난이도: " + length + "개 화살표");
         arrowPanel.setSequence(sequence);
@@ -612,76 +743,31 @@ public class GamePanel extends JPanel implements KeyListener {
 
     // 서버에서 시퀀스를 내려줄 때 사용하도록 준비 (String 배열)
     public void setSequenceFromServer(String[] directions, int stageNumber) {
-        this.stage = stageNumber;
-        sequence.clear();
-        arrowColors.clear();
-
-        Random rnd = new Random();
+        List<Direction> seq = new ArrayList<>(directions.length);
         for (String dir : directions) {
-            Direction d = Direction.valueOf(dir);
-            sequence.add(d);
-
-            if (stage >= 5) {
-                arrowColors.add(randomColor(rnd));
-            } else {
-                arrowColors.add(defaultColor(d));
-            }
+            seq.add(Direction.valueOf(dir));
         }
-
-        currentIndex = 0;
-        arrowPanel.setSequence(sequence);
-        arrowPanel.setCurrentIndex(0);
-        bigMessageLabel.setText("");
-        statusLabel.setText("화살표 키를 순서대로 눌러주세요!");
-        difficultyLabel.setText("난이도: " + sequence.size() + "개 화살표");
-        arrowPanel.repaint();
-        requestFocusInWindow();
-
-        // 새 시퀀스 시작 시 게임 상태 전송
-        sendMyGameState();
+        setSequenceFromServer(seq, stageNumber);
     }
 
-    // 서버에서 시퀀스를 내려줄 때 사용하도록 준비 (Direction 리스트) - 호환성 유지
+    // 서버에서 받은 새 스테이지 시퀀스 (수신 스레드에서 미리 해석한 Direction 리스트)
     public void setSequenceFromServer(List<Direction> seq, int stageNumber) {
         this.stage = stageNumber;
         sequence.clear();
         sequence.addAll(seq);
-        arrowColors.clear();
-
-        Random rnd = new Random();
-        for (Direction d : sequence) {
-            if (stage >= 5) {
-                arrowColors.add(randomColor(rnd));
-            } else {
-                arrowColors.add(defaultColor(d));
-            }
-        }
+        arrowColors = ArrowColors.forSequence(stage, sequence);
 
         currentIndex = 0;
         arrowPanel.setSequence(sequence);
         arrowPanel.setCurrentIndex(0);
+        bigMessageLabel.setText("");
+        statusLabel.setText("화살표 키를 순서대로 눌러주세요!");
+        difficultyLabel.setText("난이도: " + sequence.size() + "개 화살표");
         arrowPanel.repaint();
-    }
-
-    private Color defaultColor(Direction d) {
-        switch (d) {
-            case UP:    return new Color(255, 120, 120);
-            case DOWN:  return new Color(120, 180, 255);
-            case LEFT:  return new Color(120, 180, 255);
-            case RIGHT: return new Color(120, 200, 120);
-            default:    return Color.BLACK;
-        }
-    }
+        requestFocusInWindow();
 
-    private Color randomColor(Random rnd) {
-        Color[] palette = {
-                new Color(255, 120, 120),
-                new Color(120, 200, 120),
-                new Color(120, 180, 255),
-                new Color(255, 190, 120),
-                new Color(200, 120, 255)
-        };
-        return palette[rnd.nextInt(palette.length)];
+        // 새 시퀀스 시작 시 게임 상태 전송
+        sendMyGameState();
     }
 
     @Override
@@ -702,7 +788,6 @@ public class GamePanel extends JPanel implements KeyListener {
         playKeySound();
 
         Direction correct = sequence.get(currentIndex);
-        SoundPlayer.playForMillis("/sounds/key.wav", this, 400);
 
         if (inputDir == correct) {
             currentIndex++;
@@ -734,7 +819,6 @@ public class GamePanel extends JPanel implements KeyListener {
             }
         } else {
             // 실패
-            SoundPlayer.playForMillis("/sounds/key.wav", this, 500);
             bigMessageLabel.setForeground(new Color(230, 80, 80));
             bigMessageLabel.setText("다시!");
             playWrongEffect();
@@ -761,6 +845,7 @@ public class GamePanel extends JPanel implements KeyListener {
     class ArrowPanel extends JPanel {
         private List<Direction> seq = new ArrayList<>();
         private int curIndex = 0;
+        private final ArrowSprites sprites = new ArrowSprites(28, 1f);
 
         ArrowPanel() {
             setOpaque(false);
@@ -782,8 +867,6 @@ public class GamePanel extends JPanel implements KeyListener {
             if (seq == null || seq.isEmpty()) return;
 
             Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
             int n = seq.size();
             int width = getWidth();
             int height = getHeight();
@@ -798,37 +881,10 @@ public class GamePanel extends JPanel implements KeyListener {
             int centerY = height / 2;
 
             for (int i = 0; i < n; i++) {
-                int cx = startX + i * spacing;
-                int cy = centerY;
-
-                // 배경 원 (진행 상황에 따라 색 구분)
-                if (i < curIndex) {
-                    g2.setColor(new Color(210, 240, 210));
-                } else if (i == curIndex) {
-                    g2.setColor(new Color(200, 230, 255));
-                } else {
-                    g2.setColor(new Color(235, 245, 255));
-                }
-                g2.fillOval(cx - radius, cy - radius, radius * 2, radius * 2);
-
-                g2.setColor(new Color(180, 210, 230));
-                g2.drawOval(cx - radius, cy - radius, radius * 2, radius * 2);
-
-                // 화살표 심볼
                 Direction d = seq.get(i);
-                Color arrowColor;
-                if (i < arrowColors.size()) {
-                    arrowColor = arrowColors.get(i);
-                } else {
-                    arrowColor = defaultColor(d);
-                }
-                g2.setColor(arrowColor);
-                g2.setFont(new Font("Dialog", Font.BOLD, 28));
-                FontMetrics fm = g2.getFontMetrics();
-                String symbol = d.getSymbol();
-                int tw = fm.stringWidth(symbol);
-                int th = fm.getAscent();
-                g2.drawString(symbol, cx - tw / 2, cy + th / 4);
+                Color arrowColor = i < arrowColors.size() ? arrowColors.get(i) : ArrowColors.of(d);
+                sprites.draw(g2, startX + i * spacing, centerY, radius,
+                        ArrowSprites.Phase.of(i, curIndex), d, arrowColor);
             }
         }
     }
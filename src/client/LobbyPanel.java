@@ -1,8 +1,9 @@
 package client;
 
+import network.Log;
+
 import javax.swing.*;
 import java.awt.*;
-import javax.sound.sampled.*;
 
 public class LobbyPanel extends JPanel {
 
@@ -18,12 +19,16 @@ public class LobbyPanel extends JPanel {
     JButton sendButton = new JButton("전송");
     JLabel titleLabel; // 방 제목 라벨
     JButton kickButton = new JButton("강퇴"); // ⬅⬅ 새로 추가
-    JList<String> playerListUI = new JList<>(); // ⬅⬅ 강퇴 대상 선택 리스트
+    // 방 전체 플레이어 목록 (카드는 4장뿐이라 큰 방은 여기서 보고, 방장은 여기서 위임/강퇴 대상을 고른다)
+    private final DefaultListModel<ServerEvent.PlayerInfo> playerListModel = new DefaultListModel<>();
+    JList<ServerEvent.PlayerInfo> playerListUI = new JList<>(playerListModel);
+    private final javax.swing.border.TitledBorder playerListBorder = BorderFactory.createTitledBorder("플레이어 목록");
+    private final JScrollPane playerListScroll;
 
 
     private boolean isHost = false;
-    private java.util.List<String> otherPlayerNames = new java.util.ArrayList<>();
-    private Clip chatClip;
+    private boolean anyReady = false; // 목록에 준비한 플레이어가 있는지 (카드에 없는 플레이어 포함)
+    private String myNickname;
     // ---- 네트워크 쪽으로 문자열을 보내기 위한 인터페이스 ----
     public interface NetworkSender {
         void send(String msg);
@@ -151,25 +156,25 @@ public class LobbyPanel extends JPanel {
                 p.addMouseListener(new java.awt.event.MouseAdapter() {
                     @Override
                     public void mouseClicked(java.awt.event.MouseEvent e) {
-                        System.out.println("[DEBUG] Card clicked - Index: " + index + ", isHost: " + isHost);
+                        Log.debug("Card clicked - Index: {}, isHost: {}", index, isHost);
 
                         // 방장만 클릭 가능
                         if (!isHost) {
-                            System.out.println("[DEBUG] Not host, ignoring click");
+                            Log.debug("Not host, ignoring click");
                             return;
                         }
 
                         // 빈 슬롯은 클릭 불가
                         String playerName = nameFields[index].getText().trim();
-                        System.out.println("[DEBUG] Player name: '" + playerName + "'");
+                        Log.debug("Player name: '{}'", playerName);
                         if (playerName.startsWith("플레이어")) {
-                            System.out.println("[DEBUG] Empty slot, ignoring click");
+                            Log.debug("Empty slot, ignoring click");
                             return;
                         }
 
                         // 팝업 메뉴 표시
-                        System.out.println("[DEBUG] Showing popup menu for: " + playerName);
-                        showPlayerActionMenu(index, playerName, e.getX(), e.getY());
+                        Log.debug("Showing popup menu for: {}", playerName);
+                        showPlayerActionMenu(playerPanels[index], playerName, e.getX(), e.getY());
                     }
 
                     @Override
@@ -192,13 +197,39 @@ public class LobbyPanel extends JPanel {
 
             playersPanel.add(p);
         }
-        // ===== 방장용 플레이어 선택 리스트 UI (더 이상 사용 안 함) =====
-        playerListUI.setPreferredSize(new Dimension(200, 100));
+        // ===== 전체 플레이어 목록 (스크롤, 방장은 선택해서 위임/강퇴) =====
         playerListUI.setForeground(Color.BLACK);
         playerListUI.setBackground(Color.WHITE);
-        playerListUI.setBorder(BorderFactory.createTitledBorder("플레이어 목록 (강퇴 선택)"));
-        add(playerListUI, BorderLayout.WEST);
-        playerListUI.setVisible(false);
+        playerListUI.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        playerListUI.setFixedCellHeight(24); // 수백 명이어도 셀 크기를 매번 재지 않도록
+        playerListUI.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean selected, boolean focused) {
+                ServerEvent.PlayerInfo info = (ServerEvent.PlayerInfo) value;
+                String text = (info.isHost ? "👑 " : "") + info.name
+                        + (info.name.equals(myNickname) ? " (나)" : "")
+                        + (info.ready ? " · 준비" : "");
+                return super.getListCellRendererComponent(list, text, index, selected, focused);
+            }
+        });
+        playerListUI.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                // 방장이 다른 플레이어를 더블클릭하면 카드와 같은 메뉴
+                if (!isHost || e.getClickCount() < 2) return;
+                int index = playerListUI.locationToIndex(e.getPoint());
+                if (index < 0 || !playerListUI.getCellBounds(index, index).contains(e.getPoint())) return;
+                String playerName = playerListModel.get(index).name;
+                if (playerName.equals(myNickname)) return;
+                showPlayerActionMenu(playerListUI, playerName, e.getX(), e.getY());
+            }
+        });
+        playerListScroll = new JScrollPane(playerListUI);
+        playerListScroll.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createEmptyBorder(10, 20, 10, 0), playerListBorder));
+        playerListScroll.setPreferredSize(new Dimension(220, 0));
+        playerListScroll.setOpaque(false);
 
 
         // -------- 오른쪽: 채팅 --------
@@ -231,6 +262,7 @@ public class LobbyPanel extends JPanel {
         // 가운데 합치기
         JPanel center = new JPanel(new BorderLayout());
         center.setOpaque(false);
+        center.add(playerListScroll, BorderLayout.WEST);
         center.add(playersPanel, BorderLayout.CENTER);
         center.add(chatPanel, BorderLayout.EAST);
         add(center, BorderLayout.CENTER);
@@ -258,7 +290,10 @@ public class LobbyPanel extends JPanel {
         transferHostButton.setForeground(Color.WHITE);
         transferHostButton.setFont(new Font("Dialog", Font.BOLD, 16));
         transferHostButton.setVisible(false); // 기본적으로 숨김 (방장만 보임)
-        transferHostButton.addActionListener(e -> showTransferHostDialog());
+        transferHostButton.addActionListener(e -> {
+            String target = selectedOtherPlayer();
+            if (target != null) confirmTransferHost(target);
+        });
 // ===== 강퇴 버튼 생성 =====
         kickButton.setPreferredSize(new Dimension(100, 50));
         kickButton.setBackground(new Color(255, 100, 100));
@@ -267,10 +302,8 @@ public class LobbyPanel extends JPanel {
         kickButton.setVisible(false); // 기본적으로 숨김 (방장만 보임)
 
         kickButton.addActionListener(e -> {
-            String target = playerListUI.getSelectedValue();
-            if (target != null && networkSender != null) {
-                networkSender.send("KICK " + target);
-            }
+            String target = selectedOtherPlayer();
+            if (target != null) confirmKick(target);
         });
 
         startButton.setEnabled(false);
@@ -299,8 +332,8 @@ public class LobbyPanel extends JPanel {
         });
     }
 
-    // 플레이어 카드 클릭 시 표시되는 액션 메뉴
-    private void showPlayerActionMenu(int index, String playerName, int x, int y) {
+    // 플레이어 카드/목록 클릭 시 표시되는 액션 메뉴
+    private void showPlayerActionMenu(Component invoker, String playerName, int x, int y) {
         JPopupMenu popupMenu = new JPopupMenu();
         popupMenu.setBackground(Color.WHITE);
         popupMenu.setBorder(BorderFactory.createLineBorder(new Color(180, 210, 230), 2));
@@ -309,72 +342,63 @@ public class LobbyPanel extends JPanel {
         JMenuItem transferItem = new JMenuItem("👑 방장 위임");
         transferItem.setFont(new Font("Dialog", Font.BOLD, 14));
         transferItem.setForeground(new Color(255, 180, 0));
-        transferItem.addActionListener(e -> {
-            int confirm = JOptionPane.showConfirmDialog(
-                    this,
-                    playerName + " 님에게 방장을 위임하시겠습니까?",
-                    "방장 위임",
-                    JOptionPane.YES_NO_OPTION,
-                    JOptionPane.QUESTION_MESSAGE
-            );
-            System.out.println("[DEBUG] Transfer host - Confirm: " + confirm + ", networkSender: " + networkSender);
-            if (confirm == JOptionPane.YES_OPTION && networkSender != null) {
-                System.out.println("[DEBUG] Sending TRANSFER_HOST " + playerName);
-                networkSender.send("TRANSFER_HOST " + playerName);
-            }
-        });
+        transferItem.addActionListener(e -> confirmTransferHost(playerName));
 
         // 강퇴 메뉴
         JMenuItem kickItem = new JMenuItem("⚠️ 강퇴");
         kickItem.setFont(new Font("Dialog", Font.BOLD, 14));
         kickItem.setForeground(new Color(255, 100, 100));
-        kickItem.addActionListener(e -> {
-            int confirm = JOptionPane.showConfirmDialog(
-                    this,
-                    playerName + " 님을 강퇴하시겠습니까?",
-                    "강퇴",
-                    JOptionPane.YES_NO_OPTION,
-                    JOptionPane.WARNING_MESSAGE
-            );
-            System.out.println("[DEBUG] Kick - Confirm: " + confirm + ", networkSender: " + networkSender);
-            if (confirm == JOptionPane.YES_OPTION && networkSender != null) {
-                System.out.println("[DEBUG] Sending KICK " + playerName);
-                networkSender.send("KICK " + playerName);
-            }
-        });
+        kickItem.addActionListener(e -> confirmKick(playerName));
 
         popupMenu.add(transferItem);
         popupMenu.addSeparator();
         popupMenu.add(kickItem);
 
         // 클릭한 패널에서 팝업 표시
-        popupMenu.show(playerPanels[index], x, y);
+        popupMenu.show(invoker, x, y);
     }
 
-    // 방장 위임 다이얼로그 (더 이상 사용 안 함)
-    private void showTransferHostDialog() {
-        if (otherPlayerNames.isEmpty()) {
-            JOptionPane.showMessageDialog(this,
-                    "방장을 위임할 다른 플레이어가 없습니다.",
-                    "방장 위임",
-                    JOptionPane.INFORMATION_MESSAGE);
-            return;
+    private void confirmTransferHost(String playerName) {
+        int confirm = JOptionPane.showConfirmDialog(
+                this,
+                playerName + " 님에게 방장을 위임하시겠습니까?",
+                "방장 위임",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.QUESTION_MESSAGE
+        );
+        Log.debug("Transfer host - Confirm: {}, networkSender: {}", confirm, networkSender);
+        if (confirm == JOptionPane.YES_OPTION && networkSender != null) {
+            Log.debug("Sending TRANSFER_HOST {}", playerName);
+            networkSender.send("TRANSFER_HOST " + playerName);
         }
+    }
 
-        String[] options = otherPlayerNames.toArray(new String[0]);
-        String selected = (String) JOptionPane.showInputDialog(
+    private void confirmKick(String playerName) {
+        int confirm = JOptionPane.showConfirmDialog(
                 this,
-                "방장을 위임할 플레이어를 선택하세요:",
-                "방장 위임",
-                JOptionPane.PLAIN_MESSAGE,
-                null,
-                options,
-                options[0]
+                playerName + " 님을 강퇴하시겠습니까?",
+                "강퇴",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE
         );
+        Log.debug("Kick - Confirm: {}, networkSender: {}", confirm, networkSender);
+        if (confirm == JOptionPane.YES_OPTION && networkSender != null) {
+            Log.debug("Sending KICK {}", playerName);
+            networkSender.send("KICK " + playerName);
+        }
+    }
 
-        if (selected != null && networkSender != null) {
-            networkSender.send("TRANSFER_HOST " + selected);
+    // 목록에서 고른 다른 플레이어 (없거나 자기 자신이면 안내 후 null)
+    private String selectedOtherPlayer() {
+        ServerEvent.PlayerInfo selected = playerListUI.getSelectedValue();
+        if (selected == null || selected.name.equals(myNickname)) {
+            JOptionPane.showMessageDialog(this,
+                    "왼쪽 플레이어 목록에서 다른 플레이어를 선택하세요.",
+                    "플레이어 선택",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return null;
         }
+        return selected.name;
     }
 
     private void updateStartButton() {
@@ -384,15 +408,8 @@ public class LobbyPanel extends JPanel {
             return;
         }
 
-        // 모든 플레이어가 준비했는지 확인
-        boolean allReady = false;
-        for (JToggleButton b : readyButtons) {
-            if (b.isSelected()) {
-                allReady = true;
-                break;
-            }
-        }
-        startButton.setEnabled(allReady);
+        // 준비한 플레이어가 있는지 확인 (카드에 없는 플레이어는 목록 기준, 내 준비 버튼은 서버 응답 전에도 반영)
+        startButton.setEnabled(anyReady || readyButtons[0].isSelected());
     }
 
     private void sendChatMessage() {
@@ -411,7 +428,7 @@ public class LobbyPanel extends JPanel {
     // ---- 서버에서 온 내용을 채팅창에 추가할 때 사용 ----
     public void addChatMessage(String msg) {
         chatArea.append(msg + "\n");
-        SoundPlayer.playForMillis("/sounds/chat.wav", this, 500);
+        AudioEngine.get().play(AudioEngine.Sound.CHAT, 500);
 
     }
 
@@ -470,17 +487,34 @@ public class LobbyPanel extends JPanel {
         }
     }
 
-    // 방장 상태 업데이트
-    public void updateHostStatus(boolean imHost, java.util.List<String> otherPlayers) {
+    // 방장 상태 + 전체 플레이어 목록 업데이트 (방장이면 목록에서 고른 플레이어에게 위임/강퇴)
+    void updateHostStatus(boolean imHost, java.util.List<ServerEvent.PlayerInfo> players, String myNickname) {
         this.isHost = imHost;
-        this.otherPlayerNames = new java.util.ArrayList<>(otherPlayers);
-
-        // 🚫 기존 버튼들은 더 이상 표시하지 않음 (카드 클릭 방식으로 변경)
-        transferHostButton.setVisible(false);
-        kickButton.setVisible(false);
-        playerListUI.setVisible(false);
-
-        // 게임 시작 버튼 활성화 여부 (방장만 + 모두 준비)
+        this.myNickname = myNickname;
+
+        // 목록을 바꿔도 고른 플레이어는 그대로 선택
+        ServerEvent.PlayerInfo selected = playerListUI.getSelectedValue();
+        String selectedName = selected != null ? selected.name : null;
+        boolean ready = false;
+        int selectedIndex = -1;
+        for (int i = 0; i < players.size(); i++) {
+            ServerEvent.PlayerInfo info = players.get(i);
+            if (info.name.equals(selectedName)) selectedIndex = i;
+            ready |= info.ready;
+        }
+        playerListModel.clear();
+        playerListModel.addAll(players); // 한 번에 (항목마다 목록 갱신 이벤트를 내지 않는다)
+        if (selectedIndex >= 0) playerListUI.setSelectedIndex(selectedIndex);
+        this.anyReady = ready;
+        playerListBorder.setTitle("플레이어 목록 (" + players.size() + "명)");
+        playerListScroll.repaint(); // 테두리 제목
+
+        // 카드에 없는 플레이어도 목록에서 고를 수 있도록 방장에게는 위임/강퇴 버튼 표시
+        boolean hasOthers = players.size() > 1;
+        transferHostButton.setVisible(imHost && hasOthers);
+        kickButton.setVisible(imHost && hasOthers);
+
+        // 게임 시작 버튼 활성화 여부 (방장만 + 준비한 플레이어)
         updateStartButton();
     }
 
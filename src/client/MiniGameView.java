@@ -9,18 +9,20 @@ import java.util.List;
  * 상대방의 게임 화면을 작게 보여주는 미니뷰 컴포넌트
  */
 public class MiniGameView extends JPanel {
+    private static final Font WAITING_FONT = new Font("Dialog", Font.PLAIN, 10);
+
     private String playerName;
     private int score;
     private int combo;
     private List<Direction> sequence = new ArrayList<>();
     private List<Color> arrowColors = new ArrayList<>();
     private int currentIndex = 0;
+    private int stage = -1; // 마지막 전체 상태의 스테이지 (진행 정보만 올 때 같은 시퀀스인지 확인)
     private boolean isFirstPlace = false;
 
     private JLabel nameLabel;
     private JLabel scoreLabel;
     private MiniArrowPanel arrowPanel;
-    private Timer fireEffectTimer;
 
     public MiniGameView(String playerName) {
         this.playerName = playerName;
@@ -29,13 +31,6 @@ public class MiniGameView extends JPanel {
         setBorder(BorderFactory.createLineBorder(new Color(180, 210, 230), 2));
         setPreferredSize(new Dimension(250, 150));
 
-        // 불타는 이펙트 타이머 (1등일 때만 작동)
-        fireEffectTimer = new Timer(100, e -> {
-            if (isFirstPlace) {
-                repaint();
-            }
-        });
-
         // 상단: 플레이어 정보
         JPanel infoPanel = new JPanel(new GridLayout(2, 1, 0, 2));
         infoPanel.setBackground(new Color(245, 250, 255));
@@ -64,8 +59,9 @@ public class MiniGameView extends JPanel {
     /**
      * 게임 상태 업데이트
      */
-    public void updateGameState(int score, int combo, List<Direction> sequence,
+    public void updateGameState(int stage, int score, int combo, List<Direction> sequence,
                                  List<Color> arrowColors, int currentIndex) {
+        this.stage = stage;
         this.score = score;
         this.combo = combo;
         this.sequence = new ArrayList<>(sequence);
@@ -77,6 +73,20 @@ public class MiniGameView extends JPanel {
         repaint();
     }
 
+    /**
+     * 진행 정보만 업데이트 (시퀀스는 그대로)
+     * 마지막으로 받은 전체 상태와 스테이지가 다르면 무시하고 다음 전체 상태를 기다린다
+     */
+    public void updateProgress(int stage, int score, int combo, int currentIndex) {
+        if (stage != this.stage) return;
+        this.score = score;
+        this.combo = combo;
+        this.currentIndex = currentIndex;
+
+        scoreLabel.setText("점수: " + score + " | 콤보: " + combo);
+        arrowPanel.setCurrentIndex(currentIndex);
+    }
+
     /**
      * 1등 상태 설정
      */
@@ -87,13 +97,11 @@ public class MiniGameView extends JPanel {
             setBackground(new Color(255, 245, 230));
             nameLabel.setText("🔥 " + playerName + " 🔥");
             nameLabel.setForeground(new Color(255, 100, 0));
-            fireEffectTimer.start();
         } else {
             setBorder(BorderFactory.createLineBorder(new Color(180, 210, 230), 2));
             setBackground(new Color(245, 250, 255));
             nameLabel.setText(playerName);
             nameLabel.setForeground(new Color(80, 120, 180));
-            fireEffectTimer.stop();
         }
         repaint();
     }
@@ -105,6 +113,7 @@ public class MiniGameView extends JPanel {
         private List<Direction> seq = new ArrayList<>();
         private List<Color> colors = new ArrayList<>();
         private int curIndex = 0;
+        private final ArrowSprites sprites = new ArrowSprites(16, 1.5f);
 
         public void updateSequence(List<Direction> sequence, List<Color> arrowColors, int currentIndex) {
             this.seq = new ArrayList<>(sequence);
@@ -113,16 +122,21 @@ public class MiniGameView extends JPanel {
             repaint();
         }
 
+        public void setCurrentIndex(int currentIndex) {
+            this.curIndex = currentIndex;
+            repaint();
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
             if (seq.isEmpty()) {
                 // 대기 상태 표시
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
                 g2.setColor(Color.GRAY);
-                g2.setFont(new Font("Dialog", Font.PLAIN, 10));
+                g2.setFont(WAITING_FONT);
                 String msg = "대기 중...";
                 FontMetrics fm = g2.getFontMetrics();
                 int x = (getWidth() - fm.stringWidth(msg)) / 2;
@@ -152,34 +166,8 @@ public class MiniGameView extends JPanel {
 
             for (int i = 0; i < displayNum; i++) {
                 int idx = startIdx + i;
-                int cx = spacing * (i + 1);
-                int cy = centerY;
-
-                // 배경 원 색상
-                if (idx < curIndex) {
-                    g2.setColor(new Color(210, 240, 210)); // 완료: 녹색
-                } else if (idx == curIndex) {
-                    g2.setColor(new Color(200, 230, 255)); // 현재: 파란색
-                } else {
-                    g2.setColor(new Color(235, 245, 255)); // 미완료: 밝은 파란색
-                }
-                g2.fillOval(cx - radius, cy - radius, radius * 2, radius * 2);
-
-                // 원 테두리
-                g2.setColor(new Color(180, 210, 230));
-                g2.setStroke(new BasicStroke(1.5f));
-                g2.drawOval(cx - radius, cy - radius, radius * 2, radius * 2);
-
-                // 화살표 심볼
-                Direction d = seq.get(idx);
-                Color arrowColor = colors.get(idx);
-                g2.setColor(arrowColor);
-                g2.setFont(new Font("Dialog", Font.BOLD, 16));
-                String symbol = d.getSymbol();
-                FontMetrics fm = g2.getFontMetrics();
-                int tw = fm.stringWidth(symbol);
-                int th = fm.getAscent();
-                g2.drawString(symbol, cx - tw / 2, cy + th / 4);
+                sprites.draw(g2, spacing * (i + 1), centerY, radius,
+                        ArrowSprites.Phase.of(idx, curIndex), seq.get(idx), colors.get(idx));
             }
         }
     }
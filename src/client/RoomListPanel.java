@@ -4,7 +4,9 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RoomListPanel extends JPanel {
 
@@ -15,14 +17,18 @@ public class RoomListPanel extends JPanel {
     private JButton refreshButton = new JButton("새로고침");
 
     private List<RoomInfo> rooms = new ArrayList<>();
-    private Timer refreshTimer; // 자동 새로고침 타이머
+
+    // 서버가 보내는 방 목록 변경분 적용 상태 (roomId -> 방, 마지막으로 적용한 순번)
+    private final Map<String, RoomInfo> roomsById = new LinkedHashMap<>();
+    private long lastSeq = -1;
+    private boolean subscribed;
 
     public interface NetworkSender {
         void send(String msg);
     }
 
     public interface OnRoomActionListener {
-        void onCreateRoom(String roomName, String password);
+        void onCreateRoom(String roomName, String password, int maxPlayers);
         void onJoinRoom(String roomId, String password);
     }
 
@@ -93,7 +99,7 @@ public class RoomListPanel extends JPanel {
         // 버튼 리스너
         createRoomButton.addActionListener(e -> showCreateRoomDialog());
         joinRoomButton.addActionListener(e -> joinSelectedRoom());
-        refreshButton.addActionListener(e -> requestRoomList());
+        refreshButton.addActionListener(e -> subscribe());
 
         // 더블클릭으로 방 입장
         roomTable.addMouseListener(new java.awt.event.MouseAdapter() {
@@ -103,24 +109,48 @@ public class RoomListPanel extends JPanel {
                 }
             }
         });
+    }
 
-        // 자동 새로고침 타이머 (2초마다)
-        refreshTimer = new Timer(2000, e -> requestRoomList());
+    // 패널이 보일 때 방 목록 구독 (전체 목록을 한 번 받고 이후에는 바뀐 방만 받음)
+    public void subscribe() {
+        subscribed = true;
+        lastSeq = -1;
+        if (networkSender != null) {
+            networkSender.send("SUBSCRIBE_ROOMS");
+        }
     }
 
-    // 패널이 보일 때 타이머 시작
-    public void startAutoRefresh() {
-        if (refreshTimer != null && !refreshTimer.isRunning()) {
-            refreshTimer.start();
-            requestRoomList(); // 즉시 한 번 새로고침
+    // 방에 들어가면 서버가 구독을 해제하므로 이후 변경분은 무시
+    public void unsubscribe() {
+        subscribed = false;
+    }
+
+    // ROOM_SNAPSHOT: 전체 목록과 그 시점의 순번
+    public void applySnapshot(long seq, List<RoomInfo> snapshot) {
+        if (!subscribed) return;
+        lastSeq = seq;
+        roomsById.clear();
+        for (RoomInfo room : snapshot) {
+            roomsById.put(room.roomId, room);
         }
+        updateRoomList(new ArrayList<>(roomsById.values()));
     }
 
-    // 패널이 숨겨질 때 타이머 정지
-    public void stopAutoRefresh() {
-        if (refreshTimer != null && refreshTimer.isRunning()) {
-            refreshTimer.stop();
+    // ROOM_ADDED / ROOM_UPDATED (room != null) 또는 ROOM_REMOVED (room == null)
+    public void applyChange(long seq, String roomId, RoomInfo room) {
+        if (!subscribed || lastSeq < 0 || seq <= lastSeq) return; // 스냅샷 대기 중이거나 이미 반영된 변경
+        if (seq != lastSeq + 1) {
+            // 중간 변경분이 빠짐: 전체 목록 다시 받기
+            subscribe();
+            return;
+        }
+        lastSeq = seq;
+        if (room != null) {
+            roomsById.put(roomId, room);
+        } else {
+            roomsById.remove(roomId);
         }
+        updateRoomList(new ArrayList<>(roomsById.values()));
     }
 
     public void setNetworkSender(NetworkSender sender) {
@@ -133,8 +163,10 @@ public class RoomListPanel extends JPanel {
 
     // 방 만들기 다이얼로그
     private void showCreateRoomDialog() {
-        JPanel panel = new JPanel(new java.awt.GridLayout(3, 2, 5, 5));
+        JPanel panel = new JPanel(new java.awt.GridLayout(4, 2, 5, 5));
         JTextField roomNameField = new JTextField(15);
+        // 4명 초과는 토너먼트 방 (최대 500명)
+        JSpinner maxPlayersSpinner = new JSpinner(new SpinnerNumberModel(4, 2, 500, 1));
         JCheckBox hasPasswordCheck = new JCheckBox("비밀번호 설정");
         JPasswordField passwordField = new JPasswordField(15);
         passwordField.setEnabled(false);
@@ -149,6 +181,8 @@ public class RoomListPanel extends JPanel {
         panel.add(new JLabel());
         panel.add(new JLabel("비밀번호:"));
         panel.add(passwordField);
+        panel.add(new JLabel("최대 인원:"));
+        panel.add(maxPlayersSpinner);
 
         int result = JOptionPane.showConfirmDialog(
                 this,
@@ -167,7 +201,7 @@ public class RoomListPanel extends JPanel {
                     if (password.isEmpty()) password = null;
                 }
                 if (roomActionListener != null) {
-                    roomActionListener.onCreateRoom(roomName, password);
+                    roomActionListener.onCreateRoom(roomName, password, (Integer) maxPlayersSpinner.getValue());
                 }
             }
         }
@@ -0,0 +1,496 @@
+package client;
+
+import network.GameClient;
+import network.Log;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 서버 메시지 하나를 해석한 결과 (생성 후 바뀌지 않는다)
+ * 해석(split, parseInt, Direction.valueOf, 색 계산)은 네트워크 수신 스레드에서 decode()나 Decoder로 하고,
+ * EDT에서는 ArrowGameClientApp.apply()가 필드를 화면에 반영하기만 한다
+ */
+abstract class ServerEvent {
+
+    private ServerEvent() {
+    }
+
+    /**
+     * 서버 메시지 해석 (수신 스레드에서 호출)
+     * @param myNickname 내 닉네임 (내 GAME_STATE는 여기서 걸러낸다)
+     * @return 화면에 반영할 것이 없거나 형식이 틀리면 null
+     */
+    static ServerEvent decode(String msg, String myNickname) {
+        try {
+            return parse(msg, myNickname);
+        } catch (RuntimeException e) {
+            // 수신 스레드가 끝나지 않도록 메시지 하나만 버린다
+            Log.warn("Malformed server message: {} ({})", msg, e.toString());
+            return null;
+        }
+    }
+
+    private static ServerEvent parse(String msg, String myNickname) {
+        if (msg.startsWith("JOIN_FAILED ")) {
+            return new JoinFailed(msg.substring(12));
+
+        } else if (msg.equals("JOIN_OK")) {
+            return JOIN_OK;
+
+        } else if (msg.startsWith("ROOM_LIST")) {
+            // ROOM_LIST;roomId|roomName|current|max|inGame;roomId2|...
+            List<RoomListPanel.RoomInfo> rooms = parseRooms(msg.substring("ROOM_LIST".length()));
+            Log.debug("ROOM_LIST: {} rooms", rooms.size());
+            return new RoomList(-1, rooms);
+
+        } else if (msg.startsWith("ROOM_SNAPSHOT ")) {
+            // ROOM_SNAPSHOT seq roomId|roomName|current|max|inGame|hasPassword;...
+            String[] parts = msg.split(" ", 3);
+            return new RoomList(Long.parseLong(parts[1]), parts.length >= 3 ? parseRooms(parts[2]) : List.of());
+
+        } else if (msg.startsWith("ROOM_ADDED ") || msg.startsWith("ROOM_UPDATED ")) {
+            // ROOM_ADDED seq roomId|roomName|current|max|inGame|hasPassword (ROOM_UPDATED도 같은 형식)
+            String[] parts = msg.split(" ", 3);
+            if (parts.length < 3) return null;
+            RoomListPanel.RoomInfo room = parseRoomInfo(parts[2]);
+            return room != null ? new RoomChange(Long.parseLong(parts[1]), room.roomId, room) : null;
+
+        } else if (msg.startsWith("ROOM_REMOVED ")) {
+            // ROOM_REMOVED seq roomId
+            String[] parts = msg.split(" ", 3);
+            return parts.length >= 3 ? new RoomChange(Long.parseLong(parts[1]), parts[2], null) : null;
+
+        } else if (msg.startsWith("ROOM_JOINED ")) {
+            // ROOM_JOINED roomId|roomName
+            String[] roomData = msg.substring("ROOM_JOINED ".length()).split("\\|", 2); // 2개로만 분리 (roomId와 나머지)
+            return new RoomJoined(roomData[0], roomData.length >= 2 ? roomData[1] : null);
+
+        } else if (msg.equals("LEFT_ROOM")) {
+            return LEFT_ROOM;
+
+        } else if (msg.startsWith("JOIN_ROOM_FAILED")) {
+            return new JoinRoomFailed(msg.length() > 17 ? msg.substring(17) : "방에 입장할 수 없습니다.");
+
+        } else if (msg.startsWith("SYS ")) {
+            // SYS 시스템메시지
+            return new ChatLine("[시스템] " + msg.substring(4));
+
+        } else if (msg.startsWith("CHAT ")) {
+            // CHAT 닉네임 방장여부 내용 (방장이면 (방장) 표시 추가)
+            String[] parts = msg.split(" ", 4);
+            if (parts.length < 4) return null;
+            String displayName = Boolean.parseBoolean(parts[2]) ? "(방장) " + parts[1] : parts[1];
+            return new ChatLine(displayName + ": " + parts[3]);
+
+        } else if (msg.equals("KICKED")) {
+            return KICKED;
+
+        } else if (msg.startsWith("PLAYER_LIST ")) {
+            // PLAYER_LIST player1|ready|isHost|score|combo|maxCombo player2|...
+            String[] parts = msg.split(" ");
+            List<PlayerInfo> players = new ArrayList<>();
+            for (int i = 1; i < parts.length; i++) {
+                String[] playerData = parts[i].split("\\|");
+                if (playerData.length >= 6) {
+                    players.add(new PlayerInfo(playerData[0], Boolean.parseBoolean(playerData[1]),
+                            Boolean.parseBoolean(playerData[2]),
+                            Integer.parseInt(playerData[3]), Integer.parseInt(playerData[4])));
+                }
+            }
+            return new PlayerList(players);
+
+        } else if (msg.equals("START_GAME")) {
+            return START_GAME;
+
+        } else if (msg.startsWith("GAME_STATE ")) {
+            // GAME_STATE nickname stage currentIndex totalCount score combo sequence...
+            // 예: GAME_STATE player1 5 3 10 1500 5 UP DOWN LEFT RIGHT UP DOWN LEFT RIGHT UP DOWN
+            String[] parts = msg.split(" ");
+            // 자기 자신의 상태는 무시
+            if (parts.length < 7 || parts[1].equals(myNickname)) return null;
+
+            int stage = Integer.parseInt(parts[2]);
+            int totalCount = Integer.parseInt(parts[4]);
+            List<Direction> sequence = new ArrayList<>();
+            for (int i = 7; i < parts.length && i < 7 + totalCount; i++) {
+                try {
+                    sequence.add(Direction.valueOf(parts[i]));
+                } catch (IllegalArgumentException e) {
+                    // 잘못된 방향은 무시
+                }
+            }
+            // 색상은 내 화면과 같은 규칙 (같은 시퀀스면 같은 색)
+            return new GameState(parts[1], stage, Integer.parseInt(parts[3]),
+                    Integer.parseInt(parts[5]), Integer.parseInt(parts[6]),
+                    sequence, ArrowColors.forSequence(stage, sequence));
+
+        } else if (msg.startsWith("GAME_STATE_DELTA ")) {
+            // GAME_STATE_DELTA nickname stage currentIndex score combo (시퀀스는 직전 GAME_STATE와 같음)
+            String[] parts = msg.split(" ");
+            if (parts.length < 6 || parts[1].equals(myNickname)) return null;
+            return new GameStateDelta(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                    Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+
+        } else if (msg.startsWith("RANK_INFO ")) {
+            // RANK_INFO myRank totalPlayers firstPlayerName firstPlayerScore gap
+            String[] parts = msg.split(" ");
+            if (parts.length < 6) return null;
+            return new RankInfo(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), parts[3],
+                    Integer.parseInt(parts[5]));
+
+        } else if (msg.startsWith("GAME_SEQUENCE ")) {
+            // GAME_SEQUENCE stage UP DOWN LEFT RIGHT ...
+            String[] parts = msg.split(" ");
+            List<Direction> sequence = new ArrayList<>(parts.length - 2);
+            for (int i = 2; i < parts.length; i++) {
+                sequence.add(Direction.valueOf(parts[i]));
+            }
+            return new GameSequence(Integer.parseInt(parts[1]), sequence);
+
+        } else if (msg.startsWith("GAME_RANKING ")) {
+            // GAME_RANKING name1|score1|success1|combo1 name2|score2|success2|combo2 ...
+            String[] parts = msg.split(" ");
+            List<ResultPanel.PlayerRankInfo> rankings = new ArrayList<>();
+            for (int i = 1; i < parts.length; i++) {
+                String[] playerData = parts[i].split("\\|");
+                if (playerData.length >= 4) {
+                    rankings.add(new ResultPanel.PlayerRankInfo(playerData[0], Integer.parseInt(playerData[1]),
+                            Integer.parseInt(playerData[2]), Integer.parseInt(playerData[3])));
+                }
+            }
+            Log.debug("GAME_RANKING: {} players", rankings.size());
+            return new GameRanking(rankings);
+
+        } else if (msg.startsWith("LEADERBOARD ")) {
+            // LEADERBOARD 전체인원 중계상위인원 순위|닉네임|점수;...(상위) 순위|닉네임|점수;...(내 주변) - 큰 방에서만
+            String[] parts = msg.split(" ");
+            if (parts.length < 4) return null;
+            int watchedTop = Integer.parseInt(parts[2]);
+            List<String[]> top = parseBoardEntries(parts[3]);
+            List<String[]> around = parts.length >= 5 ? parseBoardEntries(parts[4]) : List.of();
+
+            // 서버는 상위 중계상위인원명과 내 앞뒤 순위의 GAME_STATE만 보내므로 나머지 미니뷰는 정리
+            Set<String> watched = new HashSet<>();
+            for (int i = 0; i < Math.min(watchedTop, top.size()); i++) watched.add(top.get(i)[1]);
+            for (String[] e : around) watched.add(e[1]);
+
+            // 큰 방은 RANK_INFO가 오지 않으므로 내 항목과 1등으로 순위 정보를 만든다
+            int total = Integer.parseInt(parts[1]);
+            RankInfo rank = null;
+            for (String[] e : around) {
+                if (e[1].equals(myNickname) && !top.isEmpty()) {
+                    String[] first = top.get(0);
+                    rank = new RankInfo(Integer.parseInt(e[0]), total, first[1],
+                            Integer.parseInt(first[2]) - Integer.parseInt(e[2]));
+                }
+            }
+            return new Leaderboard(total, top, around, watched, rank);
+
+        } else if (msg.startsWith("TIME_SYNC ")) {
+            // TIME_SYNC 남은시간(ms) - 서버 시계 기준으로 남은 시간 표시
+            return new TimeSync(Long.parseLong(msg.substring(10).trim()));
+
+        } else if (msg.equals("GAME_END")) {
+            return GAME_END;
+        }
+
+        // 처리되지 않은 메시지는 디버그 출력만
+        Log.debug("[Unhandled message] {}", msg);
+        return null;
+    }
+
+    /**
+     * GameClient 리스너: 텍스트 메시지는 decode()로, 바이너리 메시지는 텍스트를 거치지 않고 필드에서 바로 이벤트로 만든다
+     * (수신 스레드에서 호출, 만든 이벤트는 sink로 넘긴다)
+     */
+    static final class Decoder implements GameClient.BinaryListener {
+        private static final Direction[] DIRECTIONS = Direction.values(); // 방향 코드 순서와 같음
+
+        private final String myNickname;
+        private final Consumer<ServerEvent> sink;
+
+        Decoder(String myNickname, Consumer<ServerEvent> sink) {
+            this.myNickname = myNickname;
+            this.sink = sink;
+        }
+
+        @Override
+        public void onMessage(String msg) {
+            ServerEvent event = decode(msg, myNickname);
+            if (event != null) sink.accept(event);
+        }
+
+        @Override
+        public void onGameState(String nickname, int stage, int currentIndex, int score, int combo,
+                                byte[] arrows, int count) {
+            // 자기 자신의 상태는 무시
+            if (nickname.equals(myNickname)) return;
+            List<Direction> sequence = directions(arrows, count);
+            sink.accept(new GameState(nickname, stage, currentIndex, score, combo,
+                    sequence, ArrowColors.forSequence(stage, sequence)));
+        }
+
+        @Override
+        public void onGameStateDelta(String nickname, int stage, int currentIndex, int score, int combo) {
+            if (nickname.equals(myNickname)) return;
+            sink.accept(new GameStateDelta(nickname, stage, currentIndex, score, combo));
+        }
+
+        @Override
+        public void onGameSequence(int stage, byte[] arrows, int count) {
+            sink.accept(new GameSequence(stage, directions(arrows, count)));
+        }
+
+        @Override
+        public void onRankInfo(int rank, int total, String firstNickname, int firstScore, int gap) {
+            sink.accept(new RankInfo(rank, total, firstNickname, gap));
+        }
+
+        private static List<Direction> directions(byte[] arrows, int count) {
+            List<Direction> sequence = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                sequence.add(DIRECTIONS[arrows[i]]);
+            }
+            return sequence;
+        }
+    }
+
+    // "roomId|roomName|current|max|inGame|hasPassword;..." (빈 항목, 형식이 틀린 항목은 건너뜀)
+    private static List<RoomListPanel.RoomInfo> parseRooms(String data) {
+        List<RoomListPanel.RoomInfo> rooms = new ArrayList<>();
+        for (String roomEntry : data.split(";")) {
+            if (roomEntry.trim().isEmpty()) continue;
+            RoomListPanel.RoomInfo room = parseRoomInfo(roomEntry);
+            if (room != null) rooms.add(room);
+        }
+        return rooms;
+    }
+
+    // roomId|roomName|current|max|inGame|hasPassword 한 개 해석 (형식이 틀리면 null)
+    private static RoomListPanel.RoomInfo parseRoomInfo(String roomEntry) {
+        String[] roomData = roomEntry.split("\\|");
+        if (roomData.length < 6) return null;
+        return new RoomListPanel.RoomInfo(roomData[0], roomData[1],
+                Integer.parseInt(roomData[2]), Integer.parseInt(roomData[3]),
+                Boolean.parseBoolean(roomData[4]), Boolean.parseBoolean(roomData[5]));
+    }
+
+    // "순위|닉네임|점수;순위|닉네임|점수;..." -> {순위, 닉네임, 점수} 목록
+    private static List<String[]> parseBoardEntries(String data) {
+        List<String[]> entries = new ArrayList<>();
+        for (String entry : data.split(";")) {
+            String[] fields = entry.split("\\|");
+            if (fields.length >= 3) {
+                entries.add(fields);
+            }
+        }
+        return entries;
+    }
+
+    // ======================= 이벤트 종류 ========================
+
+    // 필드가 없는 이벤트는 하나씩만 만든다
+    static final ServerEvent JOIN_OK = new Signal("JOIN_OK");
+    static final ServerEvent LEFT_ROOM = new Signal("LEFT_ROOM");
+    static final ServerEvent KICKED = new Signal("KICKED");
+    static final ServerEvent START_GAME = new Signal("START_GAME");
+    static final ServerEvent GAME_END = new Signal("GAME_END");
+
+    static final class Signal extends ServerEvent {
+        final String name;
+
+        private Signal(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static final class JoinFailed extends ServerEvent {
+        final String reason;
+
+        JoinFailed(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    // ROOM_LIST(seq -1), ROOM_SNAPSHOT
+    static final class RoomList extends ServerEvent {
+        final long seq;
+        final List<RoomListPanel.RoomInfo> rooms;
+
+        RoomList(long seq, List<RoomListPanel.RoomInfo> rooms) {
+            this.seq = seq;
+            this.rooms = Collections.unmodifiableList(rooms);
+        }
+    }
+
+    // ROOM_ADDED, ROOM_UPDATED, ROOM_REMOVED(room == null)
+    static final class RoomChange extends ServerEvent {
+        final long seq;
+        final String roomId;
+        final RoomListPanel.RoomInfo room;
+
+        RoomChange(long seq, String roomId, RoomListPanel.RoomInfo room) {
+            this.seq = seq;
+            this.roomId = roomId;
+            this.room = room;
+        }
+    }
+
+    static final class RoomJoined extends ServerEvent {
+        final String roomId;
+        final String roomName; // 없으면 null
+
+        RoomJoined(String roomId, String roomName) {
+            this.roomId = roomId;
+            this.roomName = roomName;
+        }
+    }
+
+    static final class JoinRoomFailed extends ServerEvent {
+        final String reason;
+
+        JoinRoomFailed(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    // 채팅창에 추가할 한 줄 (SYS, CHAT)
+    static final class ChatLine extends ServerEvent {
+        final String text;
+
+        ChatLine(String text) {
+            this.text = text;
+        }
+    }
+
+    static final class PlayerList extends ServerEvent {
+        final List<PlayerInfo> players;
+
+        PlayerList(List<PlayerInfo> players) {
+            this.players = Collections.unmodifiableList(players);
+        }
+    }
+
+    // 플레이어 정보를 담는 간단한 클래스
+    static final class PlayerInfo {
+        final String name;
+        final boolean ready;
+        final boolean isHost;
+        final int score;
+        final int combo;
+
+        PlayerInfo(String name, boolean ready, boolean isHost, int score, int combo) {
+            this.name = name;
+            this.ready = ready;
+            this.isHost = isHost;
+            this.score = score;
+            this.combo = combo;
+        }
+    }
+
+    // 다른 플레이어의 전체 상태 (미니뷰)
+    static final class GameState extends ServerEvent {
+        final String playerName;
+        final int stage;
+        final int currentIndex;
+        final int score;
+        final int combo;
+        final List<Direction> sequence;
+        final List<Color> arrowColors;
+
+        GameState(String playerName, int stage, int currentIndex, int score, int combo,
+                  List<Direction> sequence, List<Color> arrowColors) {
+            this.playerName = playerName;
+            this.stage = stage;
+            this.currentIndex = currentIndex;
+            this.score = score;
+            this.combo = combo;
+            this.sequence = Collections.unmodifiableList(sequence);
+            this.arrowColors = Collections.unmodifiableList(arrowColors);
+        }
+    }
+
+    // 다른 플레이어의 진행 상황만 (시퀀스는 직전 GameState와 같음)
+    static final class GameStateDelta extends ServerEvent {
+        final String playerName;
+        final int stage;
+        final int currentIndex;
+        final int score;
+        final int combo;
+
+        GameStateDelta(String playerName, int stage, int currentIndex, int score, int combo) {
+            this.playerName = playerName;
+            this.stage = stage;
+            this.currentIndex = currentIndex;
+            this.score = score;
+            this.combo = combo;
+        }
+    }
+
+    static final class RankInfo extends ServerEvent {
+        final int rank;
+        final int total;
+        final String firstPlayer;
+        final int gap;
+
+        RankInfo(int rank, int total, String firstPlayer, int gap) {
+            this.rank = rank;
+            this.total = total;
+            this.firstPlayer = firstPlayer;
+            this.gap = gap;
+        }
+    }
+
+    static final class GameSequence extends ServerEvent {
+        final int stage;
+        final List<Direction> sequence;
+
+        GameSequence(int stage, List<Direction> sequence) {
+            this.stage = stage;
+            this.sequence = Collections.unmodifiableList(sequence);
+        }
+    }
+
+    static final class GameRanking extends ServerEvent {
+        final List<ResultPanel.PlayerRankInfo> rankings;
+
+        GameRanking(List<ResultPanel.PlayerRankInfo> rankings) {
+            this.rankings = Collections.unmodifiableList(rankings);
+        }
+    }
+
+    static final class Leaderboard extends ServerEvent {
+        final int total;
+        final List<String[]> top;
+        final List<String[]> around;
+        final Set<String> watched; // 미니뷰를 유지할 플레이어
+        final RankInfo rank;       // 내 순위 (점수판에 내가 없으면 null)
+
+        Leaderboard(int total, List<String[]> top, List<String[]> around, Set<String> watched, RankInfo rank) {
+            this.total = total;
+            this.top = Collections.unmodifiableList(top);
+            this.around = Collections.unmodifiableList(around);
+            this.watched = Collections.unmodifiableSet(watched);
+            this.rank = rank;
+        }
+    }
+
+    static final class TimeSync extends ServerEvent {
+        final long remainingMillis;
+
+        TimeSync(long remainingMillis) {
+            this.remainingMillis = remainingMillis;
+        }
+    }
+}
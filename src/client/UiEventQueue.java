@@ -0,0 +1,55 @@
+package client;
+
+import network.Log;
+
+import javax.swing.SwingUtilities;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 수신 스레드 -> EDT 이벤트 전달
+ * 메시지마다 invokeLater를 올리지 않고, 비어 있던 대기열에 처음 들어올 때만 한 번 올려서 몰려온 이벤트를 한 번에 반영한다
+ * 한 번에 FRAME_BUDGET_NANOS(한 화면 프레임)까지만 처리하고 나머지는 다시 올려서, 그 사이 키 입력/그리기가 먼저 처리되게 한다
+ */
+final class UiEventQueue {
+
+    private static final long FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+
+    private final Queue<ServerEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Consumer<ServerEvent> applier; // EDT에서 호출, 모달 창처럼 막히는 일은 invokeLater로 따로 (drain 중에는 다음 drain이 올라가지 않는다)
+    private final Runnable drainTask = this::drain;
+
+    UiEventQueue(Consumer<ServerEvent> applier) {
+        this.applier = applier;
+    }
+
+    // 수신 스레드에서 호출
+    void post(ServerEvent event) {
+        events.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(drainTask);
+        }
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+        ServerEvent event;
+        while ((event = events.poll()) != null) {
+            try {
+                applier.accept(event);
+            } catch (RuntimeException e) {
+                Log.error("Failed to apply {}", e, event.getClass().getSimpleName());
+            }
+            if (System.nanoTime() - deadline > 0) break;
+        }
+        scheduled.set(false);
+        // 남은 이벤트가 있으면 다음 차례에 이어서 처리 (post와 겹쳐도 한 번만 올라간다)
+        if (!events.isEmpty() && scheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(drainTask);
+        }
+    }
+}
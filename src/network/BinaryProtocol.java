@@ -0,0 +1,451 @@
+package network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 바이너리 프로토콜 (버전 2, 버전 2에서 GAME_STATE 델타 추가)
+ * JOIN 닉네임|bin=2 로 요청하고 서버가 JOIN_OK bin=N 으로 응답하면, 그 뒤로 자주 오가는 메시지만 바이너리 프레임으로 보낸다
+ * 나머지 메시지(CHAT, ROOM_LIST 등)는 기존 텍스트 프레임 그대로 사용한다
+ *
+ * 프레임: [2바이트 길이][opcode 1바이트][필드...]
+ * - 길이 헤더는 writeUTF와 같아서 텍스트/바이너리 프레임을 같은 방법으로 읽는다
+ * - 텍스트 명령은 대문자 ASCII로 시작하므로 첫 바이트가 opcode 범위(0x01~OP_MAX)면 바이너리로 구분한다
+ * - 정수는 varint(7비트씩, 하위 바이트 먼저), 닉네임은 varint 길이 + UTF-8
+ * - 화살표는 2비트씩 한 바이트에 4개 (UP=0, DOWN=1, LEFT=2, RIGHT=3, client.Direction 순서와 같음)
+ */
+final class BinaryProtocol {
+
+    static final int VERSION = 2;
+    static final int VERSION_DELTA = 2; // OP_GAME_STATE_DELTA를 받을 수 있는 버전
+
+    // JOIN 뒤에 붙이는 협상 옵션 (JOIN 닉네임|bin=1)
+    static final String JOIN_OPTION = "|bin=";
+    static final String JOIN_OK_PREFIX = "JOIN_OK bin=";
+
+    static final byte OP_GAME_STATE = 0x01;       // C->S: stage index total score combo arrows
+    static final byte OP_GAME_STATE_RELAY = 0x02; // S->C: nickname + OP_GAME_STATE 본문
+    static final byte OP_PLAYER_INPUT = 0x03;     // C->S: 입력 결과 코드 1바이트
+    static final byte OP_GAME_SEQUENCE = 0x04;    // S->C: stage count arrows
+    static final byte OP_RANK_INFO = 0x05;        // S->C: rank total firstName firstScore gap
+    static final byte OP_GAME_STATE_DELTA = 0x06; // S->C: nickname stage index score combo (시퀀스는 직전 상태와 같음)
+    private static final byte OP_MAX = OP_GAME_STATE_DELTA;
+
+    static final String[] DIRECTIONS = {"UP", "DOWN", "LEFT", "RIGHT"};
+    static final String[] INPUTS = {"SUCCESS", "FAIL", "TIME_UP"};
+    private static final byte[][] DIRECTION_BYTES = new byte[DIRECTIONS.length][];
+
+    static {
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            DIRECTION_BYTES[i] = DIRECTIONS[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static final int MAX_VARINT = 5;
+
+    private BinaryProtocol() {
+    }
+
+    // 프레임 첫 바이트로 바이너리 여부 판단
+    static boolean isBinary(byte[] buf, int off, int len) {
+        return len > 0 && buf[off] >= 1 && buf[off] <= OP_MAX;
+    }
+
+    static byte[] nicknameBytes(String nickname) {
+        return nickname.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int directionCode(String name) {
+        switch (name) {
+            case "UP": return 0;
+            case "DOWN": return 1;
+            case "LEFT": return 2;
+            case "RIGHT": return 3;
+            default: return -1;
+        }
+    }
+
+    static int inputCode(String name) {
+        for (int i = 0; i < INPUTS.length; i++) {
+            if (INPUTS[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    // ======================= 인코딩 ========================
+
+    private static ByteBuffer newFrame(int maxPayload) {
+        ByteBuffer buf = ByteBuffer.allocate(FrameCodec.HEADER_SIZE + maxPayload);
+        buf.position(FrameCodec.HEADER_SIZE);
+        return buf;
+    }
+
+    // 길이 헤더를 채우고 읽기 상태로 전환
+    private static ByteBuffer finish(ByteBuffer buf) {
+        buf.putShort(0, (short) (buf.position() - FrameCodec.HEADER_SIZE));
+        buf.flip();
+        return buf;
+    }
+
+    static void putVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    // byte[]에 varint 기록 후 다음 위치 반환
+    static int putVarInt(byte[] dst, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            dst[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        dst[pos++] = (byte) value;
+        return pos;
+    }
+
+    static int varIntSize(int value) {
+        int n = 1;
+        while ((value & ~0x7F) != 0) {
+            n++;
+            value >>>= 7;
+        }
+        return n;
+    }
+
+    private static void putBytes(ByteBuffer buf, byte[] bytes) {
+        putVarInt(buf, bytes.length);
+        buf.put(bytes);
+    }
+
+    // 화살표 코드(0~3) count개를 2비트씩 채워 넣기
+    private static void putArrows(ByteBuffer buf, byte[] codes, int count) {
+        for (int i = 0; i < count; i += 4) {
+            int packed = 0;
+            for (int j = 0; j < 4 && i + j < count; j++) {
+                packed |= (codes[i + j] & 0x03) << (j * 2);
+            }
+            buf.put((byte) packed);
+        }
+    }
+
+    private static int arrowBytes(int count) {
+        return (count + 3) / 4;
+    }
+
+    // C->S GAME_STATE: 클라이언트 화면 상태에서 바로 (codes는 방향 코드 count개)
+    static ByteBuffer encodeGameState(int stage, int index, int score, int combo, byte[] codes, int count) {
+        ByteBuffer buf = newFrame(1 + MAX_VARINT * 5 + arrowBytes(count));
+        buf.put(OP_GAME_STATE);
+        putVarInt(buf, stage);
+        putVarInt(buf, index);
+        putVarInt(buf, count);
+        putVarInt(buf, score);
+        putVarInt(buf, combo);
+        putArrows(buf, codes, count);
+        return finish(buf);
+    }
+
+    // C->S PLAYER_INPUT: 결과 코드 (INPUTS 순서)
+    static ByteBuffer encodePlayerInput(int code) {
+        ByteBuffer buf = newFrame(2);
+        buf.put(OP_PLAYER_INPUT);
+        buf.put((byte) code);
+        return finish(buf);
+    }
+
+    // S->C GAME_STATE: 보낸 플레이어 닉네임 + 받은 본문 그대로
+    static ByteBuffer encodeGameStateRelay(byte[] nickname, byte[] body) {
+        ByteBuffer buf = newFrame(1 + MAX_VARINT + nickname.length + body.length);
+        buf.put(OP_GAME_STATE_RELAY);
+        putBytes(buf, nickname);
+        buf.put(body);
+        return finish(buf);
+    }
+
+    // S->C GAME_STATE 델타: 시퀀스가 그대로일 때 진행 정보만
+    static ByteBuffer encodeGameStateDelta(byte[] nickname, int stage, int index, int score, int combo) {
+        ByteBuffer buf = newFrame(1 + MAX_VARINT * 5 + nickname.length);
+        buf.put(OP_GAME_STATE_DELTA);
+        putBytes(buf, nickname);
+        putVarInt(buf, stage);
+        putVarInt(buf, index);
+        putVarInt(buf, score);
+        putVarInt(buf, combo);
+        return finish(buf);
+    }
+
+    static ByteBuffer encodeGameSequence(int stage, byte[] codes, int count) {
+        ByteBuffer buf = newFrame(1 + MAX_VARINT * 2 + arrowBytes(count));
+        buf.put(OP_GAME_SEQUENCE);
+        putVarInt(buf, stage);
+        putVarInt(buf, count);
+        putArrows(buf, codes, count);
+        return finish(buf);
+    }
+
+    static ByteBuffer encodeRankInfo(int rank, int total, byte[] firstNickname, int firstScore, int gap) {
+        ByteBuffer buf = newFrame(1 + MAX_VARINT * 5 + firstNickname.length);
+        buf.put(OP_RANK_INFO);
+        putVarInt(buf, rank);
+        putVarInt(buf, total);
+        putBytes(buf, firstNickname);
+        putVarInt(buf, firstScore);
+        putVarInt(buf, gap);
+        return finish(buf);
+    }
+
+    /**
+     * 텍스트 GAME_STATE 본문("stage index total score combo UP DOWN ...")을 프레임 바이트에서 바로 바이너리 본문으로 변환
+     * 문자열/split 없이 두 번 훑는다 (숫자와 화살표 수 확인 -> 정확한 크기의 본문에 기록), 할당은 돌려주는 본문 하나
+     * @return 형식이 맞지 않으면 null
+     */
+    static byte[] gameStateBodyFromText(byte[] buf, int off, int len) {
+        int end = off + len;
+        int pos = off;
+        int stage = 0, index = 0, total = 0, score = 0, combo = 0;
+        for (int field = 0; field < 5; field++) {
+            pos = skipSpaces(buf, pos, end);
+            int tokenEnd = tokenEnd(buf, pos, end);
+            long value = parseInt(buf, pos, tokenEnd);
+            if (value == NOT_A_NUMBER) return null;
+            switch (field) {
+                case 0: stage = (int) value; break;
+                case 1: index = (int) value; break;
+                case 2: total = (int) value; break;
+                case 3: score = (int) value; break;
+                default: combo = (int) value; break;
+            }
+            pos = tokenEnd;
+        }
+
+        // 화살표는 total개까지만 (형식 검사도 그만큼만)
+        int arrowsStart = pos;
+        int count = 0;
+        while (count < total) {
+            pos = skipSpaces(buf, pos, end);
+            if (pos == end) break;
+            int tokenEnd = tokenEnd(buf, pos, end);
+            if (directionCode(buf, pos, tokenEnd) < 0) return null;
+            count++;
+            pos = tokenEnd;
+        }
+
+        byte[] body = new byte[varIntSize(stage) + varIntSize(index) + varIntSize(count)
+                + varIntSize(score) + varIntSize(combo) + arrowBytes(count)];
+        int out = putVarInt(body, 0, stage);
+        out = putVarInt(body, out, index);
+        out = putVarInt(body, out, count);
+        out = putVarInt(body, out, score);
+        out = putVarInt(body, out, combo);
+        pos = arrowsStart;
+        for (int i = 0; i < count; i++) {
+            pos = skipSpaces(buf, pos, end);
+            int tokenEnd = tokenEnd(buf, pos, end);
+            body[out + i / 4] |= (byte) (directionCode(buf, pos, tokenEnd) << ((i % 4) * 2));
+            pos = tokenEnd;
+        }
+        return body;
+    }
+
+    private static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    private static int skipSpaces(byte[] buf, int pos, int end) {
+        while (pos < end && buf[pos] == ' ') pos++;
+        return pos;
+    }
+
+    private static int tokenEnd(byte[] buf, int pos, int end) {
+        while (pos < end && buf[pos] != ' ') pos++;
+        return pos;
+    }
+
+    // Integer.parseInt와 같은 규칙 (부호 허용, int 범위), 아니면 NOT_A_NUMBER
+    private static long parseInt(byte[] buf, int start, int end) {
+        boolean negative = start < end && buf[start] == '-';
+        int pos = negative || (start < end && buf[start] == '+') ? start + 1 : start;
+        if (pos == end) return NOT_A_NUMBER;
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = buf[pos] - '0';
+            if (digit < 0 || digit > 9) return NOT_A_NUMBER;
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) return NOT_A_NUMBER;
+        }
+        if (negative) return -value;
+        return value > Integer.MAX_VALUE ? NOT_A_NUMBER : value;
+    }
+
+    // 방향 이름 바이트 -> 코드 (directionCode(String)과 같음)
+    static int directionCode(byte[] buf, int start, int end) {
+        for (int i = 0; i < DIRECTION_BYTES.length; i++) {
+            if (Arrays.equals(DIRECTION_BYTES[i], 0, DIRECTION_BYTES[i].length, buf, start, end)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 클라이언트가 보내는 텍스트 명령을 바이너리 프레임(길이 헤더 포함)으로 변환
+     * @return 바이너리 형식이 없는 명령이면 null (텍스트로 전송)
+     */
+    static ByteBuffer encodeClientMessage(String msg) {
+        if (msg.startsWith("GAME_STATE ")) {
+            byte[] text = msg.getBytes(StandardCharsets.US_ASCII);
+            byte[] body = gameStateBodyFromText(text, 11, text.length - 11);
+            if (body == null) return null;
+            ByteBuffer buf = newFrame(1 + body.length);
+            buf.put(OP_GAME_STATE);
+            buf.put(body);
+            return finish(buf);
+        }
+        if (msg.startsWith("PLAYER_INPUT ")) {
+            int code = inputCode(msg.substring(13).trim());
+            return code < 0 ? null : encodePlayerInput(code);
+        }
+        return null;
+    }
+
+    // ======================= 디코딩 ========================
+
+    /**
+     * 프레임 하나를 읽는 커서 (연결마다 하나를 재사용해서 파싱 중에는 할당하지 않는다)
+     * 범위를 벗어나거나 형식이 틀리면 IllegalArgumentException
+     */
+    static final class Reader {
+        private byte[] buf;
+        private int pos;
+        private int end;
+
+        Reader reset(byte[] buf, int off, int len) {
+            this.buf = buf;
+            this.pos = off;
+            this.end = off + len;
+            return this;
+        }
+
+        int position() {
+            return pos;
+        }
+
+        int remaining() {
+            return end - pos;
+        }
+
+        byte readByte() {
+            if (pos >= end) throw new IllegalArgumentException("frame too short");
+            return buf[pos++];
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IllegalArgumentException("varint too long");
+        }
+
+        String readString() {
+            int len = readVarInt();
+            if (len < 0 || len > remaining()) throw new IllegalArgumentException("bad string length");
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        // count개의 화살표 건너뛰기 (형식 검사용)
+        void skipArrows(int count) {
+            int n = arrowBytes(count);
+            if (count < 0 || n > remaining()) throw new IllegalArgumentException("bad arrow count");
+            pos += n;
+        }
+
+        // 화살표 count개를 방향 코드(0~3)로 풀어서 dst에 (dst는 count 이상)
+        void readArrows(byte[] dst, int count) {
+            int start = pos;
+            skipArrows(count);
+            for (int i = 0; i < count; i++) {
+                dst[i] = (byte) ((buf[start + i / 4] >> ((i % 4) * 2)) & 0x03);
+            }
+        }
+
+        // 화살표를 " UP DOWN ..." 형태로 덧붙이기
+        void appendArrows(StringBuilder sb, int count) {
+            int start = pos;
+            skipArrows(count);
+            for (int i = 0; i < count; i++) {
+                int code = (buf[start + i / 4] >> ((i % 4) * 2)) & 0x03;
+                sb.append(' ').append(DIRECTIONS[code]);
+            }
+        }
+    }
+
+    // GAME_STATE 본문 형식 검사 후 본문 끝 위치 반환
+    static int skipGameStateBody(Reader r) {
+        r.readVarInt(); // stage
+        r.readVarInt(); // index
+        int total = r.readVarInt();
+        r.readVarInt(); // score
+        r.readVarInt(); // combo
+        r.skipArrows(total);
+        return r.position();
+    }
+
+    // 바이너리 GAME_STATE 본문 -> 텍스트 본문 ("stage index total score combo UP ...")
+    static void appendGameStateBody(StringBuilder sb, Reader r) {
+        int stage = r.readVarInt();
+        int index = r.readVarInt();
+        int total = r.readVarInt();
+        int score = r.readVarInt();
+        int combo = r.readVarInt();
+        sb.append(stage).append(' ').append(index).append(' ').append(total)
+                .append(' ').append(score).append(' ').append(combo);
+        r.appendArrows(sb, total);
+    }
+
+    static String gameStateBodyToText(byte[] body) {
+        StringBuilder sb = new StringBuilder(16 + body.length * 8);
+        appendGameStateBody(sb, new Reader().reset(body, 0, body.length));
+        return sb.toString();
+    }
+
+    /**
+     * 서버가 보낸 바이너리 프레임을 같은 의미의 텍스트 메시지로 변환 (텍스트만 받는 GameClient.Listener용)
+     * @return 알 수 없는 opcode면 null
+     */
+    static String toText(byte[] buf, int off, int len) {
+        Reader r = new Reader().reset(buf, off, len);
+        byte op = r.readByte();
+        StringBuilder sb = new StringBuilder(64);
+        switch (op) {
+            case OP_GAME_STATE_RELAY:
+                sb.append("GAME_STATE ").append(r.readString()).append(' ');
+                appendGameStateBody(sb, r);
+                return sb.toString();
+            case OP_GAME_STATE_DELTA:
+                sb.append("GAME_STATE_DELTA ").append(r.readString())
+                        .append(' ').append(r.readVarInt())
+                        .append(' ').append(r.readVarInt())
+                        .append(' ').append(r.readVarInt())
+                        .append(' ').append(r.readVarInt());
+                return sb.toString();
+            case OP_GAME_SEQUENCE: {
+                sb.append("GAME_SEQUENCE ").append(r.readVarInt());
+                r.appendArrows(sb, r.readVarInt());
+                return sb.toString();
+            }
+            case OP_RANK_INFO:
+                sb.append("RANK_INFO ").append(r.readVarInt())
+                        .append(' ').append(r.readVarInt())
+                        .append(' ').append(r.readString())
+                        .append(' ').append(r.readVarInt())
+                        .append(' ').append(r.readVarInt());
+                return sb.toString();
+            default:
+                return null;
+        }
+    }
+}
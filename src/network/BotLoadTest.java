@@ -0,0 +1,403 @@
+package network;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화면 없는 봇 클라이언트로 실제 게임 흐름을 재현하는 부하 테스트
+ * GameClient로 봇 N명을 접속시켜 room-size명씩 방을 만들고(첫 봇이 방장) 입장 → 준비 → 게임 → 다시 준비를 반복한다
+ * 게임 중에는 key-rate(초당 입력 수)로 화살표를 누르고, accuracy 확률로 맞춘다 (GamePanel.keyPressed와 같은 PLAYER_INPUT/GAME_STATE 전송)
+ * 게임 중 chat-interval(ms)마다 CHAT도 보낸다
+ *
+ * 메시지 종류별 왕복 지연을 잰다
+ * - JOIN → JOIN_OK, CREATE_ROOM/JOIN_ROOM → ROOM_JOINED, READY → 준비 알림 SYS, START_GAME_REQUEST → START_GAME
+ * - CHAT → 자기 CHAT 에코, PLAYER_INPUT SUCCESS → 다음 GAME_SEQUENCE
+ * - GAME_STATE: 보낸 봇의 전송 시각부터 같은 방 다른 봇이 GAME_STATE(_DELTA)를 받을 때까지 (한 JVM이라 시계 공유)
+ * - SEND: GameClient 송신 대기열에 넣은 뒤 소켓에 쓸 때까지 (모든 봇 합산, 왕복 아님)
+ *
+ * 실행 예:
+ *   java network.BotLoadTest --embedded=nio --bots=200 --room-size=4 --duration=60
+ *   java network.BotLoadTest --host=127.0.0.1 --port=30000 --bots=100 --accuracy=0.8 --key-rate=6
+ * 로그는 기본 WARN (-Dlog.level로 변경)
+ */
+public class BotLoadTest {
+
+    private String host = "127.0.0.1";
+    private int port = 31000;
+    private String embedded;       // 같은 JVM에 띄울 서버 모드 (없으면 host:port의 서버 사용)
+    private int bots = 40;
+    private int roomSize = 4;
+    private int durationSec = 30;
+    private double accuracy = 0.9;
+    private int keyRate = 8;
+    private int chatIntervalMs = 2000;
+    private int gameSeconds = 20;  // 내장 서버의 게임 시간
+
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, Bot> botsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<String>> roomIds = new ConcurrentHashMap<>();
+    private final AtomicLong messagesIn = new AtomicLong();
+    private final AtomicLong messagesOut = new AtomicLong();
+    private final AtomicLong gamesStarted = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("log.level") == null) {
+            Log.setLevel(Log.Level.WARN);
+        }
+        BotLoadTest test = new BotLoadTest();
+        test.parseArgs(args);
+        test.run();
+        System.exit(0);
+    }
+
+    private void parseArgs(String[] args) {
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            switch (kv[0]) {
+                case "host": host = kv[1]; break;
+                case "port": port = Integer.parseInt(kv[1]); break;
+                case "embedded": embedded = kv[1]; break;
+                case "bots": bots = Integer.parseInt(kv[1]); break;
+                case "room-size": roomSize = Math.max(2, Integer.parseInt(kv[1])); break;
+                case "duration": durationSec = Integer.parseInt(kv[1]); break;
+                case "accuracy": accuracy = Double.parseDouble(kv[1]); break;
+                case "key-rate": keyRate = Math.max(1, Integer.parseInt(kv[1])); break;
+                case "chat-interval": chatIntervalMs = Integer.parseInt(kv[1]); break;
+                case "game-seconds": gameSeconds = Integer.parseInt(kv[1]); break;
+                default: throw new IllegalArgumentException("알 수 없는 설정: " + kv[0]);
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        for (String type : new String[]{"JOIN", "CREATE_ROOM", "JOIN_ROOM", "READY", "START_GAME",
+                "CHAT", "PLAYER_INPUT", "GAME_STATE", "SEND"}) {
+            latencies.put(type, new Histogram());
+        }
+        if (embedded != null) {
+            startEmbeddedServer();
+        }
+        scheduler = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "bot-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+
+        int connected = 0;
+        for (int i = 0; i < bots; i++) {
+            Bot bot = new Bot("bot-" + i, i / roomSize, i % roomSize == 0);
+            try {
+                bot.connect();
+                connected++;
+            } catch (IOException e) {
+                System.out.println("[BOT] " + bot.name + " failed to connect: " + e.getMessage());
+                break;
+            }
+        }
+        System.out.println("[BOT] connected " + connected + "/" + bots + " bots in " + (connected + roomSize - 1) / roomSize + " rooms");
+
+        for (int sec = 1; sec <= durationSec; sec++) {
+            Thread.sleep(1000);
+            if (sec % 5 == 0 || sec == durationSec) {
+                printStatus("t=" + sec + "s", false);
+            }
+        }
+        System.out.println();
+        System.out.println("===== RESULT (bots=" + connected + ", room-size=" + roomSize
+                + ", accuracy=" + accuracy + ", key-rate=" + keyRate + "/s) =====");
+        printStatus("total", true);
+    }
+
+    private void startEmbeddedServer() throws InterruptedException {
+        GameServer server = new GameServer(ServerConfig.fromArgs(new String[]{
+                "--mode=" + embedded, "--port=" + port, "--game-seconds=" + gameSeconds}));
+        Thread t = new Thread(server::start, "embedded-server");
+        t.setDaemon(true);
+        t.start();
+
+        // 서버가 listen 할 때까지 대기
+        for (int i = 0; i < 50; i++) {
+            try {
+                new Socket(host, port).close();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("embedded server did not start on port " + port);
+    }
+
+    private void record(String type, long sentAt) {
+        latencies.get(type).record(System.nanoTime() - sentAt);
+    }
+
+    private void printStatus(String label, boolean detail) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[BOT] %-6s in=%d out=%d games=%d", label, messagesIn.get(), messagesOut.get(), gamesStarted.get()));
+        for (Map.Entry<String, Histogram> e : latencies.entrySet()) {
+            Histogram h = e.getValue();
+            if (h.count() == 0) continue;
+            if (detail) {
+                sb.append(String.format("%n  %-12s n=%-8d p50=%7.2fms p90=%7.2fms p99=%7.2fms p99.9=%7.2fms max=%7.2fms",
+                        e.getKey(), h.count(), h.percentile(50) / 1e6, h.percentile(90) / 1e6,
+                        h.percentile(99) / 1e6, h.percentile(99.9) / 1e6, h.max() / 1e6));
+            } else {
+                sb.append(String.format(" %s(p99)=%.1fms", e.getKey(), h.percentile(99) / 1e6));
+            }
+        }
+        System.out.println(sb);
+    }
+
+    /** 응답을 기다리는 요청 하나 (replyPrefix로 시작하는 첫 메시지가 응답) */
+    private static final class Pending {
+        final String type;
+        final String replyPrefix;
+        final long sentAt = System.nanoTime();
+
+        Pending(String type, String replyPrefix) {
+            this.type = type;
+            this.replyPrefix = replyPrefix;
+        }
+    }
+
+    /** 봇 한 명 (메시지는 GameClient 수신 스레드에서, 입력과 채팅은 scheduler 스레드에서 처리) */
+    private final class Bot implements GameClient.Listener {
+        final String name;
+        final int group;
+        final boolean isHost;
+        private GameClient client;
+
+        // this로 보호
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private List<String> sequence = new ArrayList<>();
+        private int stage;
+        private int index;
+        private int score;
+        private int combo;
+        private boolean startRequested;
+        private ScheduledFuture<?> keyTask;
+        private ScheduledFuture<?> chatTask;
+
+        // GAME_STATE를 보낸 시각 (진행 위치별), 다른 봇의 수신 스레드가 읽으므로 stateLock으로 보호
+        private final Object stateLock = new Object();
+        private int stateStage;
+        private long[] stateSentAt = new long[0];
+
+        Bot(String name, int group, boolean isHost) {
+            this.name = name;
+            this.group = group;
+            this.isHost = isHost;
+        }
+
+        void connect() throws IOException {
+            client = new GameClient(host, port, latencies.get("SEND"));
+            client.setListener(this);
+            botsByName.put(name, this);
+            send("JOIN", "JOIN_OK", null, true);
+        }
+
+        // type이 있으면 replyPrefix 응답까지의 지연을 잰다
+        private void send(String type, String replyPrefix, String msg) {
+            send(type, replyPrefix, msg, false);
+        }
+
+        private void send(String type, String replyPrefix, String msg, boolean join) {
+            if (type != null) {
+                synchronized (this) {
+                    pending.add(new Pending(type, replyPrefix));
+                }
+            }
+            try {
+                synchronized (client) {
+                    if (join) {
+                        client.join(name);
+                    } else {
+                        client.send(msg);
+                    }
+                }
+                messagesOut.incrementAndGet();
+            } catch (IOException e) {
+                stop();
+            }
+        }
+
+        @Override
+        public void onMessage(String msg) {
+            messagesIn.incrementAndGet();
+            if (msg.startsWith("GAME_STATE")) {
+                // GAME_STATE(_DELTA) 닉네임 스테이지 진행위치 ...
+                String[] parts = msg.split(" ", 5);
+                Bot sender = parts.length >= 4 ? botsByName.get(parts[1]) : null;
+                if (sender != null) {
+                    sender.stateReceived(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+                }
+                return;
+            }
+            synchronized (this) {
+                matchPending(msg);
+                handle(msg);
+            }
+        }
+
+        private void matchPending(String msg) {
+            Iterator<Pending> it = pending.iterator();
+            while (it.hasNext()) {
+                Pending p = it.next();
+                if (msg.startsWith(p.replyPrefix)) {
+                    record(p.type, p.sentAt);
+                    it.remove();
+                    return;
+                }
+            }
+        }
+
+        private void handle(String msg) {
+            if (msg.equals("JOIN_OK")) {
+                if (isHost) {
+                    String max = roomSize == 4 ? "" : "||" + roomSize;
+                    send("CREATE_ROOM", "ROOM_JOINED ", "CREATE_ROOM bots-" + group + max);
+                } else {
+                    roomIds.computeIfAbsent(group, g -> new CompletableFuture<>())
+                            .thenAccept(id -> send("JOIN_ROOM", "ROOM_JOINED ", "JOIN_ROOM " + id));
+                }
+            } else if (msg.startsWith("ROOM_JOINED ")) {
+                if (isHost) {
+                    String id = msg.substring(12).split("\\|", 2)[0];
+                    roomIds.computeIfAbsent(group, g -> new CompletableFuture<>()).complete(id);
+                } else {
+                    send("READY", "SYS " + name + " 님이 준비했습니다", "READY");
+                }
+            } else if (msg.startsWith("PLAYER_LIST ")) {
+                if (isHost && !startRequested && countReady(msg) >= roomSize - 1) {
+                    startRequested = true;
+                    send("START_GAME", "START_GAME", "START_GAME_REQUEST");
+                }
+            } else if (msg.equals("START_GAME")) {
+                if (isHost) gamesStarted.incrementAndGet();
+                score = 0;
+                combo = 0;
+                if (chatTask == null && chatIntervalMs > 0) {
+                    long delay = ThreadLocalRandom.current().nextLong(chatIntervalMs);
+                    chatTask = scheduler.scheduleAtFixedRate(this::chat, delay, chatIntervalMs, TimeUnit.MILLISECONDS);
+                }
+            } else if (msg.startsWith("GAME_SEQUENCE ")) {
+                // GAME_SEQUENCE 스테이지 방향...
+                String[] parts = msg.split(" ");
+                stage = Integer.parseInt(parts[1]);
+                sequence = new ArrayList<>(Arrays.asList(parts).subList(2, parts.length));
+                index = 0;
+                synchronized (stateLock) {
+                    stateStage = stage;
+                    stateSentAt = new long[sequence.size() + 1];
+                }
+                if (keyTask == null) {
+                    long period = 1000L / keyRate;
+                    keyTask = scheduler.scheduleAtFixedRate(this::pressKey, period, period, TimeUnit.MILLISECONDS);
+                }
+            } else if (msg.equals("GAME_END")) {
+                endGame();
+                if (isHost) {
+                    startRequested = false;
+                } else {
+                    send("READY", "SYS " + name + " 님이 준비했습니다", "READY");
+                }
+            }
+        }
+
+        // PLAYER_LIST 닉네임|준비|방장|점수|스테이지|콤보 ... 에서 준비한 인원
+        private int countReady(String msg) {
+            int ready = 0;
+            for (String entry : msg.substring(12).split(" ")) {
+                String[] f = entry.split("\\|");
+                if (f.length > 1 && f[1].equals("true")) ready++;
+            }
+            return ready;
+        }
+
+        private void endGame() {
+            if (keyTask != null) keyTask.cancel(false);
+            if (chatTask != null) chatTask.cancel(false);
+            keyTask = null;
+            chatTask = null;
+            sequence = new ArrayList<>();
+            pending.removeIf(p -> p.type.equals("PLAYER_INPUT") || p.type.equals("CHAT"));
+        }
+
+        // 화살표 하나 입력 (GamePanel.keyPressed와 같은 순서로 전송)
+        private synchronized void pressKey() {
+            if (sequence.isEmpty()) return;
+            if (ThreadLocalRandom.current().nextDouble() < accuracy) {
+                index++;
+                sendState();
+                if (index == sequence.size()) {
+                    score += 100 + combo * 10;
+                    combo++;
+                    send("PLAYER_INPUT", "GAME_SEQUENCE ", "PLAYER_INPUT SUCCESS");
+                    sendState();
+                    sequence = new ArrayList<>(); // 다음 시퀀스를 기다림
+                }
+            } else {
+                combo = 0;
+                index = 0;
+                send(null, null, "PLAYER_INPUT FAIL");
+                sendState();
+            }
+        }
+
+        private void sendState() {
+            synchronized (stateLock) {
+                if (index < stateSentAt.length) {
+                    stateSentAt[index] = System.nanoTime();
+                }
+            }
+            StringBuilder sb = new StringBuilder("GAME_STATE ");
+            sb.append(stage).append(' ').append(index).append(' ').append(sequence.size())
+                    .append(' ').append(score).append(' ').append(combo);
+            for (String d : sequence) {
+                sb.append(' ').append(d);
+            }
+            send(null, null, sb.toString());
+        }
+
+        // 다른 봇이 내 GAME_STATE를 받음 (중계에서 합쳐진 상태는 마지막으로 보낸 시각 기준)
+        void stateReceived(int stage, int index) {
+            long sentAt;
+            synchronized (stateLock) {
+                if (stage != stateStage || index >= stateSentAt.length) return;
+                sentAt = stateSentAt[index];
+            }
+            if (sentAt != 0) {
+                record("GAME_STATE", sentAt);
+            }
+        }
+
+        private void chat() {
+            send("CHAT", "CHAT " + name + " ", "CHAT hello from " + name);
+        }
+
+        private void stop() {
+            synchronized (this) {
+                endGame();
+            }
+            client.close();
+        }
+    }
+}
@@ -1,211 +1,131 @@
 package network;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.Socket;
 
-class ClientHandler extends Thread {
+// 연결마다 스레드 1개로 동작하는 전송 계층 (CLASSIC: 플랫폼 스레드, VIRTUAL: 가상 스레드)
+// 수신은 이 스레드가, 송신은 송신 대기열을 비우는 writer 스레드가 담당
+class ClientHandler implements Runnable, Connection {
 
     private Socket socket;
     private DataInputStream dis;
-    private DataOutputStream dos;
-    private GameServer server;
-    private Player player;
-    private String currentRoomId;
+    private OutputStream out;
+    private byte[] frameBuffer = new byte[1024];
+    private ClientSession session;
+    private final OutboundQueue outbound;
 
     public ClientHandler(Socket socket, GameServer server) {
         this.socket = socket;
-        this.server = server;
+        this.session = new ClientSession(this, server);
+        this.outbound = server.getConfig().newOutboundQueue();
         try {
             dis = new DataInputStream(socket.getInputStream());
-            dos = new DataOutputStream(socket.getOutputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to open client streams", e);
         }
     }
 
-    public void sendMessage(String msg) throws IOException {
-        dos.writeUTF(msg);
-        dos.flush();
+    // 수신 스레드와 송신 스레드 시작
+    void start(String name, boolean virtual) {
+        Runnable writer = this::writeLoop;
+        if (virtual) {
+            VirtualThreads.start(name + "-writer", writer);
+            VirtualThreads.start(name, this);
+        } else {
+            new Thread(writer, name + "-writer").start();
+            new Thread(this, name).start();
+        }
     }
 
-    public Player getPlayer() {
-        return player;
+    @Override
+    public void sendMessage(String msg) throws IOException {
+        queued(outbound.offer(msg));
     }
 
     @Override
-    public void run() {
-        try {
-            // 클라이언트가 보내는 문자열 계속 수신
-            while (true) {
-                String line = dis.readUTF();
-                System.out.println("from client: " + line);
-
-                if (line.startsWith("JOIN ")) {
-                    // JOIN 닉네임
-                    String nickname = line.substring(5).trim();
-                    if (nickname.isEmpty()) nickname = "손님";
-
-                    // 중복 닉네임 체크
-                    if (server.isNicknameTaken(nickname)) {
-                        sendMessage("JOIN_FAILED 이미 사용 중인 닉네임입니다.");
-                        break;
-                    }
-
-                    player = new Player(nickname, this);
-                    sendMessage("JOIN_OK");
-
-                } else if (line.equals("REQUEST_ROOM_LIST")) {
-                    // 방 목록 요청
-                    String roomList = server.getRoomListString();
-                    System.out.println("[DEBUG] Client " + (player != null ? player.getNickname() : "unknown") + " requested room list");
-                    System.out.println("[DEBUG] Sending room list: " + roomList);
-                    sendMessage(roomList);
-
-                } else if (line.startsWith("CREATE_ROOM ")) {
-                    // CREATE_ROOM 방이름|비밀번호 (비밀번호 없으면 공개방)
-                    if (player != null) {
-                        String data = line.substring(12).trim();
-                        String roomName;
-                        String password = null;
-
-                        // 파이프로 구분 (방이름|비밀번호)
-                        if (data.contains("|")) {
-                            String[] parts = data.split("\\|", 2);
-                            roomName = parts[0].trim();
-                            password = parts.length > 1 ? parts[1].trim() : null;
-                            if (password != null && password.isEmpty()) password = null;
-                        } else {
-                            roomName = data;
-                        }
-
-                        if (roomName.isEmpty()) roomName = player.getNickname() + "의 방";
-
-                        String roomId;
-                        if (password != null) {
-                            roomId = server.createRoom(roomName, player.getNickname(), 4, password);
-                        } else {
-                            roomId = server.createRoom(roomName, player.getNickname(), 4);
-                        }
-
-                        if (server.joinRoom(roomId, player, password)) {
-                            currentRoomId = roomId;
-                            String actualRoomName = server.getRoomName(roomId);
-                            sendMessage("ROOM_JOINED " + roomId + "|" + actualRoomName);
-                        }
-                    }
-
-                } else if (line.startsWith("JOIN_ROOM ")) {
-                    // JOIN_ROOM roomId|비밀번호 (비밀번호 없으면 공개방)
-                    if (player != null) {
-                        String data = line.substring(10).trim();
-                        String roomId;
-                        String password = null;
-
-                        // 파이프로 구분 (roomId|비밀번호)
-                        if (data.contains("|")) {
-                            String[] parts = data.split("\\|", 2);
-                            roomId = parts[0].trim();
-                            password = parts.length > 1 ? parts[1].trim() : null;
-                        } else {
-                            roomId = data;
-                        }
-
-                        if (server.joinRoom(roomId, player, password)) {
-                            currentRoomId = roomId;
-                            String roomName = server.getRoomName(roomId);
-                            sendMessage("ROOM_JOINED " + roomId + "|" + roomName);
-                        }
-                        // 실패 메시지는 joinRoom 메서드 내부에서 전송됨
-                    }
-
-                } else if (line.equals("LEAVE_ROOM")) {
-                    // 방 나가기
-                    if (player != null && currentRoomId != null) {
-                        server.leaveRoom(player.getNickname());
-                        currentRoomId = null;
-                        sendMessage("LEFT_ROOM");
-                    }
-
-                } else if (line.startsWith("CHAT ")) {
-                    // CHAT 내용
-                    String text = line.substring(5);
-                    if (player != null && currentRoomId != null) {
-                        // 방장 여부를 포함하여 전송: CHAT 닉네임 방장여부 내용
-                        server.broadcastToRoom(currentRoomId, "CHAT " + player.getNickname() + " " + player.isHost() + " " + text);
-                    }
-
-                } else if (line.equals("READY")) {
-                    if (player != null && currentRoomId != null) {
-                        server.setPlayerReady(player.getNickname(), true);
-                        server.broadcastToRoom(currentRoomId, "SYS " + player.getNickname() + " 님이 준비했습니다.");
-                    }
-
-                } else if (line.equals("UNREADY")) {
-                    if (player != null && currentRoomId != null) {
-                        server.setPlayerReady(player.getNickname(), false);
-                        server.broadcastToRoom(currentRoomId, "SYS " + player.getNickname() + " 님이 준비를 취소했습니다.");
-                    }
-
-                } else if (line.startsWith("PLAYER_INPUT ")) {
-                    // PLAYER_INPUT SUCCESS|FAIL
-                    if (player != null) {
-                        String result = line.substring(13).trim();
-                        server.handlePlayerInput(player.getNickname(), result);
-                    }
-
-                } else if (line.startsWith("GAME_STATE ")) {
-                    // GAME_STATE stage currentIndex totalCount score combo sequence...
-                    if (player != null) {
-                        String stateData = line.substring(11).trim();
-                        server.handleGameState(player.getNickname(), stateData);
-                    }
-
-                } else if (line.startsWith("TRANSFER_HOST ")) {
-                    // TRANSFER_HOST 새방장닉네임
-                    if (player != null) {
-                        String newHostName = line.substring(14).trim();
-                        server.transferHost(player.getNickname(), newHostName);
-                    }
+    public void sendFrame(SharedFrame frame) throws IOException {
+        queued(outbound.offer(frame));
+    }
 
-                } else if (line.startsWith("KICK ")) {
-                    // KICK 대상닉네임
-                    if (player != null && currentRoomId != null) {
-                        String target = line.substring(5).trim();
-                        server.kickPlayer(player.getNickname(), target);
-                    }
+    private void queued(boolean accepted) throws IOException {
+        if (!accepted) {
+            // 느린 클라이언트: 대기열이 넘쳐서 연결 종료
+            Player player = session.getPlayer();
+            Log.warn("Outbound queue overflow, disconnecting {}", player != null ? player.getNickname() : socket);
+            closeSocket();
+            throw new IOException("outbound queue overflow");
+        }
+    }
 
+    @Override
+    public int getOutboundQueueDepth() {
+        return outbound.depth();
+    }
 
+    @Override
+    public int getProtocolVersion() {
+        return session.getProtocolVersion();
+    }
 
-                } else if (line.equals("START_GAME_REQUEST")) {
-                    // 방장이 게임 시작 요청
-                    if (player != null && player.isHost()) {
-                        server.requestStartGame(player.getNickname());
-                    }
+    @Override
+    public Player getPlayer() {
+        return session.getPlayer();
+    }
 
-                } else if (line.equals("QUIT")) {
-                    if (player != null && currentRoomId != null) {
-                        server.leaveRoom(player.getNickname());
-                    }
+    @Override
+    public void run() {
+        try {
+            // 클라이언트가 보내는 프레임(텍스트 또는 바이너리) 계속 수신
+            while (true) {
+                int len = dis.readUnsignedShort();
+                if (len > frameBuffer.length) {
+                    frameBuffer = new byte[Math.max(len, frameBuffer.length * 2)];
+                }
+                dis.readFully(frameBuffer, 0, len);
+                if (!session.handleFrame(frameBuffer, 0, len)) {
                     break;
-
-                } else {
-                    // 그 외 문자열은 그냥 시스템 메시지로 브로드캐스트
-                    if (player != null && currentRoomId != null) {
-                        server.broadcastToRoom(currentRoomId, "SYS " + player.getNickname() + ": " + line);
-                    }
                 }
             }
         } catch (IOException e) {
-            System.out.println("Connection lost: " + (player != null ? player.getNickname() : "Unknown") + " / " + socket);
+            Player player = session.getPlayer();
+            Log.debug("Connection lost: {} / {}", player != null ? player.getNickname() : "Unknown", socket);
         } finally {
-            try { socket.close(); } catch (IOException ignored) {}
-            if (player != null && currentRoomId != null) {
-                server.leaveRoom(player.getNickname());
+            // 남은 응답(JOIN_FAILED 등)을 writer가 보낼 수 있도록 닫기 전에 대기열을 닫는다
+            outbound.close();
+            session.disconnected();
+        }
+    }
+
+    // 송신 대기열을 비우며 소켓에 쓰기, 대기열이 빌 때만 flush 해서 여러 메시지를 한 번에 전송
+    private void writeLoop() {
+        try {
+            SharedFrame frame;
+            while ((frame = outbound.take()) != null) {
+                try {
+                    frame.writeTo(out);
+                    Metrics.sent(frame.length());
+                } finally {
+                    frame.release();
+                }
+                if (outbound.isEmpty()) {
+                    out.flush();
+                }
             }
-            server.removeClient(this);
+            out.flush();
+        } catch (IOException e) {
+            closeSocket();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            outbound.discard();
+            closeSocket();
         }
     }
+
+    @Override
     public void closeSocket() {
         try {
             socket.close();
@@ -0,0 +1,151 @@
+package network;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 클라이언트 송신 대기열 (GameClient의 writer 스레드가 꺼내서 소켓에 쓴다)
+ * - PLAYER_INPUT: 먼저 보낸다 (서버 점수 계산이 입력 순서에 달려 있으므로 입력끼리는 순서 유지)
+ * - 그 외 명령, 채팅: 넣은 순서대로
+ * - GAME_STATE: 마지막 것 하나만 보관 (아직 안 나간 상태는 새 상태로 덮어쓴다), 다른 메시지가 다 나간 뒤 전송
+ * 넣은 시각을 같이 보관해서 writer가 소켓에 쓴 시점까지의 지연을 잰다
+ */
+final class ClientSendQueue {
+
+    /** 대기열 항목 (텍스트 메시지 또는 인코딩된 바이너리 프레임 + 넣은 시각) */
+    static final class Entry {
+        final String msg;       // frame이 있으면 null
+        final ByteBuffer frame; // 길이 헤더 포함, 읽기만 한다 (같은 프레임을 여러 번 넣어도 된다)
+        final long enqueuedAt;
+
+        Entry(String msg, ByteBuffer frame, long enqueuedAt) {
+            this.msg = msg;
+            this.frame = frame;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final int capacity; // 입력 + 일반 메시지 최대 개수 (GAME_STATE는 한 칸이라 제외)
+    private final ArrayDeque<Entry> inputs = new ArrayDeque<>();
+    private final ArrayDeque<Entry> others = new ArrayDeque<>();
+    private Entry state;
+    private boolean closed;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final LongAdder coalesced = new LongAdder();
+
+    ClientSendQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 메시지 추가 (막히지 않는다)
+     * @return 닫혔거나 가득 차서 넣지 못했으면 false
+     */
+    boolean offer(String msg) {
+        Entry entry = new Entry(msg, null, System.nanoTime());
+        if (msg.startsWith("GAME_STATE ")) return add(entry, null);
+        return add(entry, msg.startsWith("PLAYER_INPUT ") ? inputs : others);
+    }
+
+    // GAME_STATE (텍스트 msg 또는 바이너리 frame 중 하나)
+    boolean offerState(String msg, ByteBuffer frame) {
+        return add(new Entry(msg, frame, System.nanoTime()), null);
+    }
+
+    // PLAYER_INPUT (텍스트 msg 또는 바이너리 frame 중 하나)
+    boolean offerInput(String msg, ByteBuffer frame) {
+        return add(new Entry(msg, frame, System.nanoTime()), inputs);
+    }
+
+    // lane이 null이면 GAME_STATE 칸
+    private boolean add(Entry entry, ArrayDeque<Entry> lane) {
+        lock.lock();
+        try {
+            if (closed) return false;
+            if (lane == null) {
+                if (state != null) coalesced.increment();
+                state = entry;
+            } else if (inputs.size() + others.size() >= capacity) {
+                return false;
+            } else {
+                lane.addLast(entry);
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음에 보낼 메시지 (비어 있으면 올 때까지 대기)
+     * @return 닫혔으면 null
+     */
+    Entry take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!closed && isEmptyLocked()) {
+                notEmpty.await();
+            }
+            return closed ? null : pollLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 바로 보낼 수 있는 다음 메시지 (없으면 null, 기다리지 않는다)
+    Entry poll() {
+        lock.lock();
+        try {
+            return closed ? null : pollLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry pollLocked() {
+        Entry e = inputs.pollFirst();
+        if (e == null) e = others.pollFirst();
+        if (e == null) {
+            e = state;
+            state = null;
+        }
+        return e;
+    }
+
+    private boolean isEmptyLocked() {
+        return inputs.isEmpty() && others.isEmpty() && state == null;
+    }
+
+    int depth() {
+        lock.lock();
+        try {
+            return inputs.size() + others.size() + (state != null ? 1 : 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 보내기 전에 새 상태로 대체된 GAME_STATE 수
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    // writer 종료: 대기 중인 take()를 깨우고 남은 메시지는 버린다
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            inputs.clear();
+            others.clear();
+            state = null;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 연결 하나의 명령 처리 상태
+ * 전송 방식(스레드/NIO)과 무관하게 수신한 메시지를 GameServer 명령으로 연결한다
+ */
+class ClientSession {
+
+    private final Connection connection;
+    private final GameServer server;
+    private Player player;
+    private volatile int protocolVersion; // JOIN에서 협상 (0: 텍스트만)
+    private final BinaryProtocol.Reader reader = new BinaryProtocol.Reader();
+
+    ClientSession(Connection connection, GameServer server) {
+        this.connection = connection;
+        this.server = server;
+    }
+
+    Player getPlayer() {
+        return player;
+    }
+
+    int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    private void sendMessage(String msg) throws IOException {
+        connection.sendMessage(msg);
+    }
+
+    // 명령 처리기: 인자는 프레임 본문의 [off, off + len) 범위 (텍스트 명령은 동사 뒤, 바이너리 명령은 opcode 뒤)
+    // 연결을 계속 유지하면 true, 끊어야 하면 false
+    @FunctionalInterface
+    private interface Handler {
+        boolean handle(ClientSession session, byte[] buf, int off, int len) throws IOException;
+    }
+
+    // 명령 종류 -> 처리기, opcode -> 처리기 (캡처 없는 메서드 참조라 메시지마다 객체를 만들지 않는다)
+    private static final Handler[] TEXT_HANDLERS = new Handler[Metrics.Command.values().length];
+    private static final Handler[] BINARY_HANDLERS = new Handler[256];
+
+    // PLAYER_INPUT 결과 문자열 (BinaryProtocol.INPUTS와 같은 순서)
+    private static final byte[][] INPUT_BYTES = new byte[BinaryProtocol.INPUTS.length][];
+
+    static {
+        text(Metrics.Command.JOIN, ClientSession::onJoin);
+        text(Metrics.Command.REQUEST_ROOM_LIST, ClientSession::onRequestRoomList);
+        text(Metrics.Command.SUBSCRIBE_ROOMS, ClientSession::onSubscribeRooms);
+        text(Metrics.Command.CREATE_ROOM, ClientSession::onCreateRoom);
+        text(Metrics.Command.JOIN_ROOM, ClientSession::onJoinRoom);
+        text(Metrics.Command.LEAVE_ROOM, ClientSession::onLeaveRoom);
+        text(Metrics.Command.CHAT, ClientSession::onChat);
+        text(Metrics.Command.READY, ClientSession::onReady);
+        text(Metrics.Command.UNREADY, ClientSession::onUnready);
+        text(Metrics.Command.PLAYER_INPUT, ClientSession::onPlayerInput);
+        text(Metrics.Command.GAME_STATE, ClientSession::onGameState);
+        text(Metrics.Command.TRANSFER_HOST, ClientSession::onTransferHost);
+        text(Metrics.Command.KICK, ClientSession::onKick);
+        text(Metrics.Command.START_GAME, ClientSession::onStartGame);
+        text(Metrics.Command.QUIT, ClientSession::onQuit);
+        text(Metrics.Command.OTHER, ClientSession::onOther);
+
+        Arrays.fill(BINARY_HANDLERS, (Handler) ClientSession::onUnknownBinary);
+        BINARY_HANDLERS[BinaryProtocol.OP_PLAYER_INPUT] = ClientSession::onBinaryPlayerInput;
+        BINARY_HANDLERS[BinaryProtocol.OP_GAME_STATE] = ClientSession::onBinaryGameState;
+
+        for (int i = 0; i < INPUT_BYTES.length; i++) {
+            INPUT_BYTES[i] = BinaryProtocol.INPUTS[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static void text(Metrics.Command command, Handler handler) {
+        TEXT_HANDLERS[command.ordinal()] = handler;
+    }
+
+    /**
+     * 수신한 프레임 한 개 처리 (첫 바이트로 텍스트/바이너리 구분)
+     * 명령은 프레임 바이트에서 바로 찾고, 자주 오는 명령(PLAYER_INPUT, GAME_STATE)은 문자열을 만들지 않고 인자를 읽는다
+     * @return 연결을 계속 유지하면 true, 끊어야 하면 false
+     */
+    boolean handleFrame(byte[] buf, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        Metrics.received(FrameCodec.HEADER_SIZE + len);
+        if (BinaryProtocol.isBinary(buf, off, len)) {
+            int opcode = buf[off];
+            // JOIN 전이면 무시
+            if (player != null) {
+                BINARY_HANDLERS[opcode].handle(this, buf, off + 1, len - 1);
+            }
+            Metrics.handled(Metrics.Command.ofOpcode(opcode), start);
+            return true;
+        }
+        if (Log.isDebugEnabled()) {
+            Log.debug("from client: {}", FrameCodec.decode(buf, off, len));
+        }
+        Metrics.Command command = Metrics.Command.of(buf, off, len);
+        int args = command == Metrics.Command.OTHER ? 0 : Math.min(command.argsOffset(), len);
+        boolean keep = TEXT_HANDLERS[command.ordinal()].handle(this, buf, off + args, len - args);
+        Metrics.handled(command, start);
+        return keep;
+    }
+
+    /**
+     * 문자열로 된 명령 한 개 처리 (프레임으로 인코딩해서 handleFrame과 같은 경로로 처리)
+     * @return 연결을 계속 유지하면 true, 끊어야 하면 false
+     */
+    boolean handleMessage(String line) throws IOException {
+        ByteBuffer frame = FrameCodec.encode(line);
+        return handleFrame(frame.array(), FrameCodec.HEADER_SIZE, frame.remaining() - FrameCodec.HEADER_SIZE);
+    }
+
+    // ======================= 바이너리 명령 (형식이 틀리면 무시) ========================
+
+    // PLAYER_INPUT 결과코드
+    private boolean onBinaryPlayerInput(byte[] buf, int off, int len) {
+        if (len > 0) {
+            int code = buf[off];
+            if (code >= 0 && code < BinaryProtocol.INPUTS.length) {
+                server.handlePlayerInput(player, BinaryProtocol.INPUTS[code]);
+            }
+        }
+        return true;
+    }
+
+    // 형식만 확인하고 본문은 그대로 다른 플레이어에게 전달 (방 액터로 넘기므로 복사)
+    private boolean onBinaryGameState(byte[] buf, int off, int len) {
+        try {
+            int end = BinaryProtocol.skipGameStateBody(reader.reset(buf, off, len));
+            server.handleGameState(player, Arrays.copyOfRange(buf, off, end));
+        } catch (IllegalArgumentException e) {
+            Log.debug("Malformed binary frame from {}: {}", player.getNickname(), e.getMessage());
+        }
+        return true;
+    }
+
+    private boolean onUnknownBinary(byte[] buf, int off, int len) {
+        Log.debug("Unknown binary opcode from {}", player.getNickname());
+        return true;
+    }
+
+    // ======================= 텍스트 명령 ========================
+
+    // JOIN 닉네임 (바이너리 프로토콜 요청: JOIN 닉네임|bin=버전)
+    private boolean onJoin(byte[] buf, int off, int len) throws IOException {
+        String nickname = FrameCodec.decode(buf, off, len).trim();
+        int requestedVersion = 0;
+        int option = nickname.lastIndexOf(BinaryProtocol.JOIN_OPTION);
+        if (option >= 0) {
+            try {
+                requestedVersion = Integer.parseInt(nickname.substring(option + BinaryProtocol.JOIN_OPTION.length()).trim());
+            } catch (NumberFormatException ignored) {}
+            nickname = nickname.substring(0, option).trim();
+        }
+        if (nickname.isEmpty()) nickname = "손님";
+
+        if (player != null) {
+            // 이미 JOIN한 연결: 닉네임은 접속 동안 바꾸지 않는다
+            sendMessage("JOIN_FAILED 이미 접속 중입니다.");
+            return true;
+        }
+
+        // 중복 닉네임 체크와 예약을 한 번에 (동시에 같은 닉네임으로 들어와도 한 명만 성공)
+        Player joined = new Player(nickname, connection);
+        if (!server.registerPlayer(joined)) {
+            sendMessage("JOIN_FAILED 이미 사용 중인 닉네임입니다.");
+            return false;
+        }
+
+        player = joined;
+        protocolVersion = Math.max(0, Math.min(requestedVersion, BinaryProtocol.VERSION));
+        sendMessage(protocolVersion > 0 ? BinaryProtocol.JOIN_OK_PREFIX + protocolVersion : "JOIN_OK");
+        return true;
+    }
+
+    // 방 목록 요청
+    private boolean onRequestRoomList(byte[] buf, int off, int len) throws IOException {
+        Log.debug("Client {} requested room list", player != null ? player.getNickname() : "unknown");
+        String roomList = server.sendRoomList(connection);
+        Log.debug("Sending room list: {}", roomList);
+        return true;
+    }
+
+    // 방 목록 변경분 구독: ROOM_SNAPSHOT 후 ROOM_ADDED/ROOM_UPDATED/ROOM_REMOVED 수신 (순번이 빠지면 다시 요청)
+    private boolean onSubscribeRooms(byte[] buf, int off, int len) throws IOException {
+        if (player != null && player.getRoomId() == null) {
+            server.subscribeRoomList(connection);
+        }
+        return true;
+    }
+
+    // CREATE_ROOM 방이름|비밀번호|최대인원 (비밀번호 없으면 공개방, 최대인원 없으면 4명)
+    private boolean onCreateRoom(byte[] buf, int off, int len) throws IOException {
+        if (player == null) return true;
+        String data = FrameCodec.decode(buf, off, len).trim();
+        String roomName;
+        String password = null;
+        int maxPlayers = 4;
+
+        // 파이프로 구분 (방이름|비밀번호|최대인원)
+        if (data.contains("|")) {
+            String[] parts = data.split("\\|", 3);
+            roomName = parts[0].trim();
+            password = parts.length > 1 ? parts[1].trim() : null;
+            if (password != null && password.isEmpty()) password = null;
+            if (parts.length > 2) {
+                try {
+                    maxPlayers = Integer.parseInt(parts[2].trim());
+                } catch (NumberFormatException e) {
+                    // 잘못된 값이면 기본 인원
+                }
+            }
+        } else {
+            roomName = data;
+        }
+
+        if (roomName.isEmpty()) roomName = player.getNickname() + "의 방";
+
+        // 방 생성과 입장을 방 메일박스에서 한 번에 (ROOM_JOINED는 입장 처리 후 전송됨)
+        server.createAndJoinRoom(roomName, player, maxPlayers, password);
+        return true;
+    }
+
+    // JOIN_ROOM roomId|비밀번호 (비밀번호 없으면 공개방)
+    private boolean onJoinRoom(byte[] buf, int off, int len) throws IOException {
+        if (player == null) return true;
+        String data = FrameCodec.decode(buf, off, len).trim();
+        String roomId;
+        String password = null;
+
+        // 파이프로 구분 (roomId|비밀번호)
+        if (data.contains("|")) {
+            String[] parts = data.split("\\|", 2);
+            roomId = parts[0].trim();
+            password = parts.length > 1 ? parts[1].trim() : null;
+        } else {
+            roomId = data;
+        }
+
+        // 결과(ROOM_JOINED / JOIN_ROOM_FAILED)는 방 메일박스에서 전송됨
+        server.joinRoom(roomId, player, password);
+        return true;
+    }
+
+    // 방 나가기
+    private boolean onLeaveRoom(byte[] buf, int off, int len) {
+        if (player != null) {
+            server.leaveRoom(player, true);
+        }
+        return true;
+    }
+
+    // CHAT 내용
+    private boolean onChat(byte[] buf, int off, int len) throws IOException {
+        if (player != null) {
+            server.chat(player, FrameCodec.decode(buf, off, len));
+        }
+        return true;
+    }
+
+    private boolean onReady(byte[] buf, int off, int len) {
+        if (player != null) {
+            server.setPlayerReady(player, true);
+        }
+        return true;
+    }
+
+    private boolean onUnready(byte[] buf, int off, int len) {
+        if (player != null) {
+            server.setPlayerReady(player, false);
+        }
+        return true;
+    }
+
+    // PLAYER_INPUT SUCCESS|FAIL|TIME_UP (바이트를 상수와 비교해서 상수 문자열을 넘긴다, 모르는 결과는 무시)
+    private boolean onPlayerInput(byte[] buf, int off, int len) {
+        if (player == null) return true;
+        int start = trimStart(buf, off, off + len);
+        int end = trimEnd(buf, start, off + len);
+        for (int i = 0; i < INPUT_BYTES.length; i++) {
+            if (Arrays.equals(INPUT_BYTES[i], 0, INPUT_BYTES[i].length, buf, start, end)) {
+                server.handlePlayerInput(player, BinaryProtocol.INPUTS[i]);
+                break;
+            }
+        }
+        return true;
+    }
+
+    // GAME_STATE stage currentIndex totalCount score combo sequence...
+    // 프레임 바이트에서 바로 바이너리 본문을 만든다 (방에 있을 때만, 방 액터로 넘길 본문 하나만 할당)
+    private boolean onGameState(byte[] buf, int off, int len) throws IOException {
+        if (player == null || player.getTargetRoomId() == null) return true;
+        int start = trimStart(buf, off, off + len);
+        int end = trimEnd(buf, start, off + len);
+        byte[] body = BinaryProtocol.gameStateBodyFromText(buf, start, end - start);
+        if (body == null) {
+            Log.debug("Malformed GAME_STATE from {}", player.getNickname());
+            return true;
+        }
+        server.handleGameState(player, body);
+        return true;
+    }
+
+    // TRANSFER_HOST 새방장닉네임
+    private boolean onTransferHost(byte[] buf, int off, int len) throws IOException {
+        if (player != null) {
+            server.transferHost(player, FrameCodec.decode(buf, off, len).trim());
+        }
+        return true;
+    }
+
+    // KICK 대상닉네임
+    private boolean onKick(byte[] buf, int off, int len) throws IOException {
+        if (player != null) {
+            server.kickPlayer(player, FrameCodec.decode(buf, off, len).trim());
+        }
+        return true;
+    }
+
+    // 방장이 게임 시작 요청
+    private boolean onStartGame(byte[] buf, int off, int len) {
+        if (player != null && player.isHost()) {
+            server.requestStartGame(player);
+        }
+        return true;
+    }
+
+    private boolean onQuit(byte[] buf, int off, int len) {
+        if (player != null) {
+            server.leaveRoom(player, false);
+        }
+        return false;
+    }
+
+    // 그 외 문자열은 그냥 시스템 메시지로 브로드캐스트 (줄 전체)
+    private boolean onOther(byte[] buf, int off, int len) throws IOException {
+        if (player != null) {
+            server.broadcastFrom(player, "SYS " + player.getNickname() + ": " + FrameCodec.decode(buf, off, len));
+        }
+        return true;
+    }
+
+    // String.trim과 같은 기준 (공백 이하 ASCII), 여러 바이트 문자의 바이트는 0x80 이상이라 잘리지 않는다
+    private static int trimStart(byte[] buf, int start, int end) {
+        while (start < end && (buf[start] & 0xFF) <= ' ') start++;
+        return start;
+    }
+
+    private static int trimEnd(byte[] buf, int start, int end) {
+        while (end > start && (buf[end - 1] & 0xFF) <= ' ') end--;
+        return end;
+    }
+
+    // 연결 종료 시 정리 (방 나가기 + 닉네임 반납 + 클라이언트 목록에서 제거)
+    void disconnected() {
+        if (player != null) {
+            // 아직 처리되지 않은 입장 요청이 이 플레이어를 다시 방에 넣지 않도록 표시
+            player.setDisconnected(true);
+            server.leaveRoom(player, false);
+            server.unregisterPlayer(player);
+        }
+        server.removeClient(connection);
+    }
+}
@@ -0,0 +1,28 @@
+package network;
+
+import java.io.IOException;
+
+/**
+ * 클라이언트 연결 하나를 나타내는 전송 계층
+ * 스레드 방식(ClientHandler)과 NIO 방식(NioConnection)이 같은 명령 처리기를 공유한다
+ */
+interface Connection {
+
+    // writeUTF 형식(2바이트 길이 + modified UTF-8)으로 한 메시지 전송
+    // 송신 대기열에 넣고 바로 반환하며, 대기열이 넘치면 정책에 따라 연결을 끊는다
+    void sendMessage(String msg) throws IOException;
+
+    // 한 번 인코딩한 프레임을 그대로 전송 (대기열이 참조를 따로 잡으므로 호출한 쪽의 참조는 그대로 유지)
+    void sendFrame(SharedFrame frame) throws IOException;
+
+    // JOIN에서 협상한 프로토콜 버전 (0: 텍스트만, 1 이상: BinaryProtocol 사용)
+    int getProtocolVersion();
+
+    // 송신 대기열에 쌓인 메시지 수
+    int getOutboundQueueDepth();
+
+    // JOIN 이후 연결된 플레이어 (JOIN 전에는 null)
+    Player getPlayer();
+
+    void closeSocket();
+}
@@ -0,0 +1,286 @@
+package network;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서버 실행 방식별 동시 접속 수용량 측정용 부하 테스트
+ * 같은 JVM 안에 GameServer를 띄우고 유휴/활성 연결을 만들어 스레드 수, 힙, 채팅 왕복 지연을 출력한다
+ *
+ * 실행 예:
+ *   java -Xss256k network.ConnectionLoadTest --mode=classic --idle=5000 --active=200
+ *   java network.ConnectionLoadTest --mode=virtual --idle=20000 --active=1000   (JDK 21 이상)
+ *   java network.ConnectionLoadTest --mode=nio --idle=20000 --active=1000
+ *
+ * - 유휴 연결: JOIN 후 아무것도 보내지 않음 (로비에 머무름)
+ * - 활성 연결: 혼자 방을 만들고 chat-interval(ms)마다 CHAT을 보내 에코가 돌아오는 시간을 잰다
+ * 테스트 쪽은 Selector 스레드 1개 + 송신 스레드 1개만 사용하므로 스레드 수 증가는 서버 몫이다
+ */
+public class ConnectionLoadTest {
+
+    private String mode = "classic";
+    private int port = 31000;
+    private int idle = 1000;
+    private int active = 100;
+    private int durationSec = 30;
+    private int chatIntervalMs = 200;
+
+    private final Selector selector;
+    private GameServer server;
+    private final Queue<SocketChannel> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    private final List<SocketChannel> activeChannels = new ArrayList<>();
+    private final AtomicLong framesIn = new AtomicLong();
+    private final AtomicLong chatsSent = new AtomicLong();
+    private final Object latencyLock = new Object();
+    private long[] latencies = new long[1024];
+    private int latencyCount;
+
+    private ConnectionLoadTest() throws IOException {
+        this.selector = Selector.open();
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConnectionLoadTest test = new ConnectionLoadTest();
+        test.parseArgs(args);
+        test.run();
+        System.exit(0);
+    }
+
+    private void parseArgs(String[] args) {
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            switch (kv[0]) {
+                case "mode": mode = kv[1]; break;
+                case "port": port = Integer.parseInt(kv[1]); break;
+                case "idle": idle = Integer.parseInt(kv[1]); break;
+                case "active": active = Integer.parseInt(kv[1]); break;
+                case "duration": durationSec = Integer.parseInt(kv[1]); break;
+                case "chat-interval": chatIntervalMs = Integer.parseInt(kv[1]); break;
+                default: throw new IllegalArgumentException("알 수 없는 설정: " + kv[0]);
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        startEmbeddedServer();
+
+        Thread reader = new Thread(this::readLoop, "load-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        // 1) 유휴 연결 생성 (실패하면 그 지점이 수용 한계)
+        int idleOk = openConnections(idle, "idle", false);
+        printStatus("idle ramp done (" + idleOk + "/" + idle + ")");
+
+        // 2) 활성 연결 생성
+        int activeOk = openConnections(active, "active", true);
+        printStatus("active ramp done (" + activeOk + "/" + active + ")");
+
+        // 3) 활성 연결이 주기적으로 채팅
+        Thread sender = new Thread(this::chatLoop, "load-sender");
+        sender.setDaemon(true);
+        sender.start();
+
+        for (int sec = 1; sec <= durationSec; sec++) {
+            Thread.sleep(1000);
+            if (sec % 5 == 0 || sec == durationSec) {
+                printStatus("t=" + sec + "s");
+            }
+        }
+
+        System.out.println();
+        System.out.println("===== RESULT (mode=" + mode + ") =====");
+        System.out.println("idle connections held   : " + idleOk + " / " + idle);
+        System.out.println("active connections held : " + activeOk + " / " + active);
+        System.out.println("platform threads        : " + ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private void startEmbeddedServer() throws InterruptedException {
+        server = new GameServer(ServerConfig.fromArgs(new String[]{"--mode=" + mode, "--port=" + port}));
+        Thread t = new Thread(server::start, "embedded-server");
+        t.setDaemon(true);
+        t.start();
+
+        // 서버가 listen 할 때까지 대기
+        for (int i = 0; i < 50; i++) {
+            try {
+                new Socket("127.0.0.1", port).close();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("embedded server did not start on port " + port);
+    }
+
+    private int openConnections(int count, String prefix, boolean isActive) {
+        int ok = 0;
+        for (int i = 0; i < count; i++) {
+            try {
+                SocketChannel ch = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+                ch.configureBlocking(false);
+                writeFrame(ch, "JOIN " + prefix + "-" + i);
+                if (isActive) {
+                    writeFrame(ch, "CREATE_ROOM load-" + i);
+                }
+                pendingRegistrations.add(ch);
+                selector.wakeup();
+                if (isActive) {
+                    synchronized (activeChannels) {
+                        activeChannels.add(ch);
+                    }
+                }
+                ok++;
+            } catch (IOException e) {
+                System.out.println("[LOAD] connection " + prefix + "-" + i + " failed: " + e.getMessage());
+                break;
+            }
+        }
+        return ok;
+    }
+
+    private void chatLoop() {
+        while (true) {
+            List<SocketChannel> snapshot;
+            synchronized (activeChannels) {
+                snapshot = new ArrayList<>(activeChannels);
+            }
+            for (SocketChannel ch : snapshot) {
+                try {
+                    writeFrame(ch, "CHAT t=" + System.nanoTime());
+                    chatsSent.incrementAndGet();
+                } catch (IOException ignored) {
+                }
+            }
+            try {
+                Thread.sleep(chatIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void readLoop() {
+        while (true) {
+            try {
+                selector.select();
+                SocketChannel pending;
+                while ((pending = pendingRegistrations.poll()) != null) {
+                    pending.register(selector, SelectionKey.OP_READ, ByteBuffer.allocate(8192));
+                }
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    SocketChannel ch = (SocketChannel) key.channel();
+                    ByteBuffer buf = (ByteBuffer) key.attachment();
+                    try {
+                        if (ch.read(buf) < 0) {
+                            key.cancel();
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        key.cancel();
+                        continue;
+                    }
+                    key.attach(drainFrames(buf));
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+    }
+
+    // 완성된 프레임을 모두 처리하고 남은 데이터를 유지한 버퍼 반환
+    private ByteBuffer drainFrames(ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.remaining() >= FrameCodec.HEADER_SIZE) {
+            int start = buf.position();
+            int len = buf.getShort(start) & 0xFFFF;
+            if (buf.remaining() < FrameCodec.HEADER_SIZE + len) break;
+            String msg = FrameCodec.decode(buf.array(), start + FrameCodec.HEADER_SIZE, len);
+            buf.position(start + FrameCodec.HEADER_SIZE + len);
+            framesIn.incrementAndGet();
+            onFrame(msg);
+        }
+        buf.compact();
+        if (buf.position() >= FrameCodec.HEADER_SIZE) {
+            int needed = FrameCodec.HEADER_SIZE + (buf.getShort(0) & 0xFFFF);
+            if (needed > buf.capacity()) {
+                ByteBuffer bigger = ByteBuffer.allocate(needed);
+                buf.flip();
+                bigger.put(buf);
+                return bigger;
+            }
+        }
+        return buf;
+    }
+
+    private void onFrame(String msg) {
+        // CHAT 닉네임 방장여부 t=송신시각
+        int t = msg.startsWith("CHAT ") ? msg.indexOf(" t=") : -1;
+        if (t < 0) return;
+        long sentAt = Long.parseLong(msg.substring(t + 3).trim());
+        long rtt = System.nanoTime() - sentAt;
+        synchronized (latencyLock) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[latencyCount++] = rtt;
+        }
+    }
+
+    private static void writeFrame(SocketChannel ch, String msg) throws IOException {
+        ByteBuffer frame = FrameCodec.encode(msg);
+        synchronized (ch) {
+            while (frame.hasRemaining()) {
+                if (ch.write(frame) == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    private void printStatus(String label) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Runtime rt = Runtime.getRuntime();
+        long usedMb = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
+
+        long[] window;
+        synchronized (latencyLock) {
+            window = Arrays.copyOf(latencies, latencyCount);
+            latencyCount = 0;
+        }
+        Arrays.sort(window);
+
+        System.out.printf("[LOAD] %-28s platformThreads=%d heapUsed=%dMB framesIn=%d chatsSent=%d rtt(p50/p99/max)=%s%n",
+                label, threads.getThreadCount(), usedMb, framesIn.get(), chatsSent.get(),
+                window.length == 0 ? "-" : String.format("%.2f/%.2f/%.2fms",
+                        percentile(window, 0.50), percentile(window, 0.99), window[window.length - 1] / 1e6));
+        System.out.println("[LOAD]   " + server.getOutboundQueueReport());
+        System.out.println("[LOAD]   " + server.getLobbyReport());
+        System.out.println("[LOAD]   " + server.getRelayReport());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1e6;
+    }
+}
@@ -0,0 +1,125 @@
+package network;
+
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DataOutputStream.writeUTF / DataInputStream.readUTF 와 같은 바이트 형식의 프레임 인코더/디코더
+ * 프레임 = 2바이트 길이(big-endian) + modified UTF-8 본문
+ * NIO 전송 계층에서 스트림 없이 같은 프로토콜을 주고받기 위해 사용
+ */
+final class FrameCodec {
+
+    static final int HEADER_SIZE = 2;
+    static final int MAX_PAYLOAD = 0xFFFF;
+
+    private FrameCodec() {}
+
+    // modified UTF-8 인코딩 길이 (writeUTF와 동일한 규칙)
+    static int encodedLength(String s) {
+        int len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                len += 1;
+            } else if (c > 0x07FF) {
+                len += 3;
+            } else {
+                len += 2;
+            }
+        }
+        return len;
+    }
+
+    // 문자열을 길이 헤더 포함 프레임으로 인코딩 (읽기 준비 상태의 버퍼 반환)
+    static ByteBuffer encode(String s) throws UTFDataFormatException {
+        int len = checkedLength(s);
+        byte[] out = new byte[HEADER_SIZE + len];
+        encodeTo(s, len, out);
+        return ByteBuffer.wrap(out);
+    }
+
+    // 프레임 본문 길이 (최대 길이를 넘으면 예외)
+    static int checkedLength(String s) throws UTFDataFormatException {
+        int len = encodedLength(s);
+        if (len > MAX_PAYLOAD) {
+            throw new UTFDataFormatException("encoded string too long: " + len + " bytes");
+        }
+        return len;
+    }
+
+    // out[0]부터 길이 헤더 + 본문을 기록 (len은 checkedLength 결과, out은 HEADER_SIZE + len 이상)
+    static void encodeTo(String s, int len, byte[] out) {
+        out[0] = (byte) (len >>> 8);
+        out[1] = (byte) len;
+        int pos = HEADER_SIZE;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                out[pos++] = (byte) c;
+            } else if (c > 0x07FF) {
+                out[pos++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                out[pos++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    // modified UTF-8 본문 디코딩 (길이 헤더 제외)
+    static String decode(byte[] buf, int off, int len) throws UTFDataFormatException {
+        if (isAscii(buf, off, len)) {
+            // 명령 대부분은 ASCII: 중간 char 배열 없이 바이트를 그대로 문자열로
+            return new String(buf, off, len, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[len];
+        int count = 0;
+        int pos = off;
+        int end = off + len;
+        while (pos < end) {
+            int c = buf[pos] & 0xFF;
+            switch (c >> 4) {
+                case 0: case 1: case 2: case 3: case 4: case 5: case 6: case 7:
+                    // 0xxxxxxx
+                    pos++;
+                    chars[count++] = (char) c;
+                    break;
+                case 12: case 13: {
+                    // 110x xxxx 10xx xxxx
+                    if (pos + 2 > end) throw new UTFDataFormatException("partial character at end");
+                    int c2 = buf[pos + 1];
+                    if ((c2 & 0xC0) != 0x80) throw new UTFDataFormatException("malformed input around byte " + pos);
+                    chars[count++] = (char) (((c & 0x1F) << 6) | (c2 & 0x3F));
+                    pos += 2;
+                    break;
+                }
+                case 14: {
+                    // 1110 xxxx 10xx xxxx 10xx xxxx
+                    if (pos + 3 > end) throw new UTFDataFormatException("partial character at end");
+                    int c2 = buf[pos + 1];
+                    int c3 = buf[pos + 2];
+                    if (((c2 & 0xC0) != 0x80) || ((c3 & 0xC0) != 0x80)) {
+                        throw new UTFDataFormatException("malformed input around byte " + pos);
+                    }
+                    chars[count++] = (char) (((c & 0x0F) << 12) | ((c2 & 0x3F) << 6) | (c3 & 0x3F));
+                    pos += 3;
+                    break;
+                }
+                default:
+                    // 10xx xxxx, 1111 xxxx
+                    throw new UTFDataFormatException("malformed input around byte " + pos);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static boolean isAscii(byte[] buf, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            if (buf[i] < 0) return false;
+        }
+        return true;
+    }
+}
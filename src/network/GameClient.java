@@ -2,40 +2,123 @@ package network;
 
 import java.io.*;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * 게임 서버 연결 (클라이언트, 봇 부하 테스트가 사용)
+ * 받기: 수신 스레드가 프레임을 읽어 Listener에 문자열로 전달
+ * 보내기: send()는 대기열에 넣고 바로 반환하며, writer 스레드가 소켓에 쓴다 (소켓이 막혀도 호출한 UI 스레드는 멈추지 않는다)
+ */
 public class GameClient {
 
+    // 입력 + 일반 메시지 대기열 크기 (GAME_STATE는 마지막 하나만 보관)
+    private static final int SEND_QUEUE_CAPACITY = 1024;
+    // 한 번 flush 하기 전에 이어서 쓰는 최대 메시지 수
+    private static final int FLUSH_BATCH = 32;
+
     private Socket socket;
     private DataInputStream dis;
     private DataOutputStream dos;
 
+    private final ClientSendQueue sendQueue = new ClientSendQueue(SEND_QUEUE_CAPACITY);
+    private final Histogram sendLatency; // 대기열에 넣은 뒤 소켓에 쓸 때까지 (나노초)
+    private volatile IOException sendError; // writer가 멈춘 이유
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // 서버가 바이너리 프로토콜을 수락했는지 (JOIN_OK bin=N 수신 후 true)
+    private volatile boolean binary;
+
     public interface Listener {
         void onMessage(String msg);
     }
 
+    /**
+     * 바이너리 메시지를 텍스트로 바꾸지 않고 필드 그대로 받는 리스너 (수신 스레드에서 호출)
+     * 그냥 Listener면 바이너리 메시지도 같은 의미의 텍스트로 바꿔서 onMessage로 받는다
+     * arrows는 방향 코드(UP=0, DOWN=1, LEFT=2, RIGHT=3, client.Direction 순서) count개이며
+     * 다음 프레임에 재사용되므로 호출 안에서만 읽는다
+     */
+    public interface BinaryListener extends Listener {
+        void onGameState(String nickname, int stage, int currentIndex, int score, int combo, byte[] arrows, int count);
+
+        void onGameStateDelta(String nickname, int stage, int currentIndex, int score, int combo);
+
+        void onGameSequence(int stage, byte[] arrows, int count);
+
+        void onRankInfo(int rank, int total, String firstNickname, int firstScore, int gap);
+    }
+
+    // PLAYER_INPUT은 결과 종류가 정해져 있으므로 프레임/문자열을 미리 만들어 두고 공유
+    private static final ByteBuffer[] INPUT_FRAMES = new ByteBuffer[BinaryProtocol.INPUTS.length];
+    private static final String[] INPUT_TEXTS = new String[BinaryProtocol.INPUTS.length];
+
+    static {
+        for (int i = 0; i < INPUT_FRAMES.length; i++) {
+            INPUT_FRAMES[i] = BinaryProtocol.encodePlayerInput(i);
+            INPUT_TEXTS[i] = "PLAYER_INPUT " + BinaryProtocol.INPUTS[i];
+        }
+    }
+
     private Listener listener;
+    private byte[] arrows = new byte[64]; // 수신 스레드 전용, 풀어 놓은 화살표 코드
 
     public GameClient(String host, int port) throws IOException {
+        this(host, port, new Histogram());
+    }
+
+    // sendLatency: 여러 연결의 송신 지연을 한 히스토그램에 모을 때 (부하 테스트)
+    GameClient(String host, int port, Histogram sendLatency) throws IOException {
+        this.sendLatency = sendLatency;
         socket = new Socket(host, port);
-        System.out.println("Connected to server: " + socket);
+        Log.info("Connected to server: {}", socket);
 
         dis = new DataInputStream(socket.getInputStream());
-        dos = new DataOutputStream(socket.getOutputStream());
+        dos = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        Thread writer = new Thread(this::writeLoop, "client-writer");
+        writer.setDaemon(true);
+        writer.start();
 
         // 서버에서 오는 메시지를 계속 읽는 스레드
         Thread t = new Thread(() -> {
+            byte[] frame = new byte[1024];
+            BinaryProtocol.Reader reader = new BinaryProtocol.Reader();
             try {
                 while (true) {
-                    String line = dis.readUTF();
-                    System.out.println("From server: " + line);
-                    if (listener != null) {
-                        listener.onMessage(line);
+                    // 텍스트/바이너리 프레임 모두 2바이트 길이 헤더로 시작
+                    int len = dis.readUnsignedShort();
+                    if (len > frame.length) {
+                        frame = new byte[Math.max(len, frame.length * 2)];
+                    }
+                    dis.readFully(frame, 0, len);
+
+                    Listener l = listener;
+                    if (BinaryProtocol.isBinary(frame, 0, len)) {
+                        if (l instanceof BinaryListener) {
+                            dispatch(reader.reset(frame, 0, len), (BinaryListener) l);
+                            continue;
+                        }
+                        // 텍스트만 받는 리스너에게는 같은 의미의 텍스트로 바꿔서 전달
+                        String line = BinaryProtocol.toText(frame, 0, len);
+                        if (line != null && l != null) l.onMessage(line);
+                        continue;
+                    }
+
+                    String line = FrameCodec.decode(frame, 0, len);
+                    if (line.startsWith(BinaryProtocol.JOIN_OK_PREFIX)) {
+                        binary = true;
+                        line = "JOIN_OK";
+                    }
+                    Log.debug("From server: {}", line);
+                    if (l != null) {
+                        l.onMessage(line);
                     }
                 }
-            } catch (IOException e) {
-                System.out.println("Disconnected from server.");
+            } catch (IOException | IllegalArgumentException e) {
+                Log.info("Disconnected from server.");
             } finally {
-                try { socket.close(); } catch (IOException ignored) {}
+                close();
             }
         });
         t.setDaemon(true);
@@ -46,12 +129,183 @@ public class GameClient {
         this.listener = listener;
     }
 
+    // 바이너리 프레임 하나를 읽어서 필드 그대로 전달 (모르는 opcode는 무시)
+    private void dispatch(BinaryProtocol.Reader r, BinaryListener l) {
+        switch (r.readByte()) {
+            case BinaryProtocol.OP_GAME_STATE_RELAY: {
+                String nickname = r.readString();
+                int stage = r.readVarInt();
+                int index = r.readVarInt();
+                int total = r.readVarInt();
+                int score = r.readVarInt();
+                int combo = r.readVarInt();
+                l.onGameState(nickname, stage, index, score, combo, readArrows(r, total), total);
+                break;
+            }
+            case BinaryProtocol.OP_GAME_STATE_DELTA:
+                l.onGameStateDelta(r.readString(), r.readVarInt(), r.readVarInt(), r.readVarInt(), r.readVarInt());
+                break;
+            case BinaryProtocol.OP_GAME_SEQUENCE: {
+                int stage = r.readVarInt();
+                int count = r.readVarInt();
+                l.onGameSequence(stage, readArrows(r, count), count);
+                break;
+            }
+            case BinaryProtocol.OP_RANK_INFO:
+                l.onRankInfo(r.readVarInt(), r.readVarInt(), r.readString(), r.readVarInt(), r.readVarInt());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private byte[] readArrows(BinaryProtocol.Reader r, int count) {
+        if (count < 0 || count > r.remaining() * 4) throw new IllegalArgumentException("bad arrow count");
+        if (count > arrows.length) arrows = new byte[Math.max(count, arrows.length * 2)];
+        r.readArrows(arrows, count);
+        return arrows;
+    }
+
+    /**
+     * 닉네임으로 입장 요청
+     * 바이너리 프로토콜을 함께 요청하며, -Dclient.protocol=text 면 텍스트만 사용한다
+     */
+    public void join(String nickname) throws IOException {
+        boolean textOnly = "text".equalsIgnoreCase(System.getProperty("client.protocol"));
+        send("JOIN " + nickname + (textOnly ? "" : BinaryProtocol.JOIN_OPTION + BinaryProtocol.VERSION));
+    }
+
+    /**
+     * 메시지 전송 요청 (대기열에 넣고 바로 반환)
+     * @throws IOException 연결이 끊겼거나 대기열이 가득 찼을 때
+     */
     public void send(String msg) throws IOException {
-        dos.writeUTF(msg);
-        dos.flush();
+        if (!sendQueue.offer(msg)) {
+            throw sendFailure();
+        }
+    }
+
+    /**
+     * PLAYER_INPUT 전송 요청 (SUCCESS, FAIL, TIME_UP)
+     * 미리 만들어 둔 프레임/문자열을 넣으므로 메시지를 새로 만들지 않는다
+     * @throws IOException 연결이 끊겼거나 대기열이 가득 찼을 때
+     */
+    public void sendPlayerInput(String result) throws IOException {
+        int code = BinaryProtocol.inputCode(result);
+        if (code < 0) throw new IllegalArgumentException("알 수 없는 입력 결과: " + result);
+        if (!(binary ? sendQueue.offerInput(null, INPUT_FRAMES[code]) : sendQueue.offerInput(INPUT_TEXTS[code], null))) {
+            throw sendFailure();
+        }
+    }
+
+    /**
+     * GAME_STATE 전송 요청 (화면 상태에서 바로 인코딩, 바이너리면 문자열을 거치지 않는다)
+     * arrows는 방향 코드(UP=0, DOWN=1, LEFT=2, RIGHT=3) count개이며 이 호출 안에서만 읽는다
+     * @throws IOException 연결이 끊겼거나 닫혔을 때
+     */
+    public void sendGameState(int stage, int currentIndex, int score, int combo, byte[] arrows, int count) throws IOException {
+        boolean offered;
+        if (binary) {
+            offered = sendQueue.offerState(null,
+                    BinaryProtocol.encodeGameState(stage, currentIndex, score, combo, arrows, count));
+        } else {
+            // GAME_STATE stage currentIndex totalCount score combo sequence...
+            StringBuilder sb = new StringBuilder(32 + count * 6).append("GAME_STATE ");
+            sb.append(stage).append(' ').append(currentIndex).append(' ').append(count)
+                    .append(' ').append(score).append(' ').append(combo);
+            for (int i = 0; i < count; i++) {
+                sb.append(' ').append(BinaryProtocol.DIRECTIONS[arrows[i]]);
+            }
+            offered = sendQueue.offerState(sb.toString(), null);
+        }
+        if (!offered) throw sendFailure();
+    }
+
+    private IOException sendFailure() {
+        IOException cause = sendError;
+        if (cause != null) {
+            return new IOException("연결이 끊겼습니다: " + cause.getMessage(), cause);
+        }
+        return new IOException("송신 대기열이 가득 찼거나 연결이 닫혔습니다.");
+    }
+
+    // writer 스레드: 대기열이 빌 때까지(최대 FLUSH_BATCH개) 이어서 쓰고 한 번 flush
+    private void writeLoop() {
+        long[] enqueuedAt = new long[FLUSH_BATCH];
+        try {
+            ClientSendQueue.Entry entry;
+            while ((entry = sendQueue.take()) != null) {
+                int n = 0;
+                do {
+                    if (write(entry)) {
+                        enqueuedAt[n++] = entry.enqueuedAt;
+                    }
+                } while (n < FLUSH_BATCH && (entry = sendQueue.poll()) != null);
+                dos.flush();
+                long now = System.nanoTime();
+                for (int i = 0; i < n; i++) {
+                    sendLatency.record(now - enqueuedAt[i]);
+                }
+            }
+        } catch (IOException e) {
+            sendError = e;
+            Log.info("Send failed: {}", e.getMessage());
+            close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 메시지 하나를 버퍼에 쓰기 (너무 길어서 보낼 수 없는 메시지는 버리고 false)
+    private boolean write(ClientSendQueue.Entry entry) throws IOException {
+        ByteBuffer frame = entry.frame;
+        if (frame != null) {
+            dos.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+            return true;
+        }
+        String msg = entry.msg;
+        if (binary) {
+            // send()로 넣은 GAME_STATE, PLAYER_INPUT 문자열도 바이너리 프레임으로 전송
+            frame = BinaryProtocol.encodeClientMessage(msg);
+            if (frame != null) {
+                dos.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                return true;
+            }
+        }
+        try {
+            dos.writeUTF(msg);
+            return true;
+        } catch (UTFDataFormatException e) {
+            Log.warn("Message too long, not sent: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // 아직 소켓에 쓰지 않은 메시지 수
+    public int getPendingSends() {
+        return sendQueue.depth();
+    }
+
+    // 보내기 전에 더 새 상태로 대체되어 보내지 않은 GAME_STATE 수
+    public long getCoalescedStates() {
+        return sendQueue.coalesced();
+    }
+
+    // 대기열에 넣은 뒤 소켓에 쓸 때까지 걸린 시간의 백분위 (마이크로초)
+    public long getSendLatencyMicros(double percentile) {
+        return sendLatency.percentile(percentile) / 1000;
+    }
+
+    // 소켓에 쓴 메시지 수
+    public long getSentMessages() {
+        return sendLatency.count();
     }
 
     public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        sendQueue.close();
+        Log.info("Sent {} messages (send latency p50 {}us, p99 {}us, coalesced GAME_STATE {})",
+                getSentMessages(), getSendLatencyMicros(50), getSendLatencyMicros(99), getCoalescedStates());
         try {
             if (socket != null && !socket.isClosed()) socket.close();
         } catch (IOException ignored) {}
@@ -1,19 +1,53 @@
 package network;
 
-import java.util.Random;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 게임 방
+ * 방 상태 변경은 모두 execute()로 넣은 작업 안에서, 방의 메일박스 순서대로 실행된다
+ * (players 목록과 inGame은 로비 방 목록 생성을 위해 다른 스레드에서도 읽는다)
+ * 닉네임 색인과 방장은 메일박스 안에서만 읽고 쓴다
+ */
 public class GameRoom {
-    private String roomId;
-    private String roomName;
+
+    // 이 인원을 넘게 받을 수 있는 방은 큰 방(토너먼트)으로 처리
+    // (GAME_STATE는 순위 근처 사람에게만, 플레이어 목록은 모아서, 점수판은 상위+내 근처만)
+    static final int LARGE_ROOM_THRESHOLD = 8;
+
+    // 방 ID 발급: 순번을 길이별 구간 안에서 뒤섞은 뒤 36진수로 표시 (4자리 1,679,616개를 다 쓰면 5자리, ...)
+    // 순번은 long이라 되감기지 않고, 구간 안의 뒤섞기는 일대일이라 같은 ID가 두 번 나오지 않는다
+    private static final String ID_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int ID_MIN_LENGTH = 4;
+    private static final long ID_MULTIPLIER = 1_000_003; // 36과 서로소 (2, 3의 배수가 아님)
+    private static final long ID_OFFSET = ThreadLocalRandom.current().nextLong(1L << 40); // 실행마다 시작 위치만 다르게
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong();
+
+    private final String roomId;
+    private final String roomName;
     private Vector<Player> players;
+    private final Map<String, Player> playersByName = new HashMap<>(); // 닉네임 -> 플레이어 (메일박스 안에서만)
+    private Player host;
     private int maxPlayers;
-    private boolean inGame;
+    private volatile boolean inGame;
     private int currentStage;
     private java.util.Set<String> kickedPlayers;  // 강퇴된 플레이어 닉네임 목록
     private String password;  // 비밀번호 (null이면 공개방)
+    private final RoomMailbox mailbox;
+    private volatile boolean closed;  // 마지막 플레이어가 나가 디렉터리에서 제거됨
+    private long gameDeadlineNanos;   // 서버가 정한 게임 종료 시각 (System.nanoTime 기준)
+    private TimingWheel.Timeout clockTimeout; // 다음 TIME_SYNC/종료 확인 예약
+    private final Leaderboard leaderboard = new Leaderboard(); // 게임 중 실시간 순위
+    private boolean playerListPending; // 큰 방: PLAYER_LIST 전송 예약됨
+    private int sentBoardVersion = -1;  // 큰 방: 마지막으로 LEADERBOARD를 보낸 순위 버전
+    private StageSequences stageSequences; // 이번 게임의 스테이지별 시퀀스 (게임 중에만)
 
-    public GameRoom(String roomName, int maxPlayers) {
+    public GameRoom(String roomName, int maxPlayers, Executor pool) {
         this.roomId = generateRoomId();
         this.roomName = roomName;
         this.players = new Vector<>();
@@ -22,21 +56,53 @@ public class GameRoom {
         this.currentStage = 1;
         this.kickedPlayers = new java.util.HashSet<>();
         this.password = null;
+        this.mailbox = new RoomMailbox(pool);
     }
 
-    public GameRoom(String roomName, int maxPlayers, String password) {
-        this(roomName, maxPlayers);
+    public GameRoom(String roomName, int maxPlayers, String password, Executor pool) {
+        this(roomName, maxPlayers, pool);
         this.password = password;
     }
 
-    private String generateRoomId() {
-        Random random = new Random();
-        StringBuilder sb = new StringBuilder();
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        for (int i = 0; i < 4; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
+    // 방의 메일박스에 작업 추가 (같은 방의 작업은 순서대로 하나씩 실행)
+    public void execute(Runnable task) {
+        mailbox.execute(task);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void setClosed(boolean closed) {
+        this.closed = closed;
+    }
+
+    private static String generateRoomId() {
+        return roomId(ID_SEQUENCE.getAndIncrement());
+    }
+
+    // n번째 방 ID: 길이가 다르면 다른 ID이고, 같은 길이 안에서는 (n * 곱 + 오프셋) mod 36^길이 가 일대일
+    static String roomId(long n) {
+        int length = ID_MIN_LENGTH;
+        long block = 36L * 36 * 36 * 36;
+        while (n >= block) {
+            n -= block;
+            block = Math.multiplyExact(block, 36); // 12자리(36^12)까지, 그 뒤는 쓸 일이 없다
+            length++;
+        }
+        long v = Math.floorMod(mulMod(n, ID_MULTIPLIER % block, block) + ID_OFFSET, block);
+        char[] id = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            id[i] = ID_CHARS.charAt((int) (v % 36));
+            v /= 36;
         }
-        return sb.toString();
+        return new String(id);
+    }
+
+    // (a * b) mod m, a와 b는 m보다 작다 (9자리부터는 곱이 long을 넘으므로 그때만 BigInteger)
+    private static long mulMod(long a, long b, long m) {
+        if (Math.multiplyHigh(a, b) == 0 && a * b >= 0) return a * b % m;
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(BigInteger.valueOf(m)).longValue();
     }
 
     public String getRoomId() {
@@ -63,6 +129,58 @@ public class GameRoom {
         this.inGame = inGame;
     }
 
+    boolean isLarge() {
+        return maxPlayers > LARGE_ROOM_THRESHOLD;
+    }
+
+    boolean isPlayerListPending() {
+        return playerListPending;
+    }
+
+    void setPlayerListPending(boolean playerListPending) {
+        this.playerListPending = playerListPending;
+    }
+
+    int getSentBoardVersion() {
+        return sentBoardVersion;
+    }
+
+    void setSentBoardVersion(int sentBoardVersion) {
+        this.sentBoardVersion = sentBoardVersion;
+    }
+
+    Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    long getGameDeadlineNanos() {
+        return gameDeadlineNanos;
+    }
+
+    void setGameDeadlineNanos(long gameDeadlineNanos) {
+        this.gameDeadlineNanos = gameDeadlineNanos;
+    }
+
+    StageSequences getStageSequences() {
+        return stageSequences;
+    }
+
+    // 이번 게임의 시퀀스 교체, 이전 게임의 캐시 프레임은 반납 (null이면 반납만)
+    void setStageSequences(StageSequences sequences) {
+        if (stageSequences != null) {
+            stageSequences.release();
+        }
+        stageSequences = sequences;
+    }
+
+    // 진행 중인 시계 예약 교체 (null이면 취소만)
+    void setClockTimeout(TimingWheel.Timeout timeout) {
+        if (clockTimeout != null) {
+            clockTimeout.cancel();
+        }
+        clockTimeout = timeout;
+    }
+
     public int getCurrentStage() {
         return currentStage;
     }
@@ -80,31 +198,49 @@ public class GameRoom {
             // 첫 번째 플레이어는 방장
             if (players.isEmpty()) {
                 player.setHost(true);
+                host = player;
             } else {
                 // 기존 플레이어와 중복되지 않도록 방장 권한 제거
                 player.setHost(false);
             }
             players.add(player);
+            playersByName.put(player.getNickname(), player);
         }
     }
 
     public void removePlayer(Player player) {
-        boolean wasHost = player.isHost();
-        players.remove(player);
+        if (playersByName.remove(player.getNickname(), player)) {
+            players.remove(player);
+        }
+        leaderboard.remove(player);
 
         // 방장이 나갔으면 다음 사람에게 위임
-        if (wasHost && !players.isEmpty()) {
-            players.get(0).setHost(true);
+        if (player == host) {
+            player.setHost(false);
+            host = players.isEmpty() ? null : players.get(0);
+            if (host != null) host.setHost(true);
         }
     }
 
+    // 이 방에 있는 플레이어인지 (목록을 훑지 않는다)
+    boolean hasPlayer(Player player) {
+        return player != null && playersByName.get(player.getNickname()) == player;
+    }
+
+    // 닉네임으로 방 안의 플레이어 찾기 (없으면 null)
+    Player findPlayer(String nickname) {
+        return playersByName.get(nickname);
+    }
+
     public Player getHost() {
-        for (Player p : players) {
-            if (p.isHost()) {
-                return p;
-            }
-        }
-        return null;
+        return host;
+    }
+
+    // 방장 위임 (새 방장은 이 방의 플레이어여야 한다)
+    void setHost(Player newHost) {
+        if (host != null) host.setHost(false);
+        host = newHost;
+        newHost.setHost(true);
     }
 
     // 강퇴된 플레이어 추가
@@ -3,333 +3,870 @@ package network;
 import java.io.*;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게임 서버
+ * 전역 디렉터리(방 ID -> 방, 닉네임 -> 플레이어)는 ConcurrentHashMap이라 조회와 방 목록 생성이 등록/삭제를 막지 않는다
+ * (플레이어가 있는 방은 Player.getRoomId())
+ * 방 안의 상태 변경은 모두 해당 GameRoom의 메일박스(액터)에서 순서대로 실행한다
+ * 그래서 한 방의 트래픽이 다른 방을 기다리게 하지 않는다
+ */
 public class GameServer {
 
     public static final int PORT = 30000;
 
+    // 큰 방에서 PLAYER_LIST를 모아 보내는 간격
+    private static final long PLAYER_LIST_INTERVAL_MS = 250;
+
+    private final ServerConfig config;
     private ServerSocket serverSocket;
-    private Vector<ClientHandler> clients = new Vector<>();
-    private Map<String, GameRoom> rooms = new HashMap<>(); // roomId -> GameRoom
-    private Map<String, String> playerRooms = new HashMap<>(); // playerNickname -> roomId
+    private Vector<Connection> clients = new Vector<>();
+    private final ConcurrentHashMap<String, GameRoom> rooms = new ConcurrentHashMap<>(); // roomId -> GameRoom
+    // 접속한(JOIN한) 모든 플레이어, 로비에 있는 플레이어 포함, JOIN에서 putIfAbsent로 닉네임을 예약한다
+    private final ConcurrentHashMap<String, Player> players = new ConcurrentHashMap<>();
+
+    // 모든 방의 메일박스가 공유하는 작업 스레드 풀
+    private final Executor roomPool;
+
+    // 마지막으로 인코딩한 방 목록, 내용이 바뀌면 roomListVersion이 올라가고 다음 사용 시 다시 만든다
+    private final AtomicInteger roomListVersion = new AtomicInteger();
+    private final AtomicReference<RoomListSnapshot> roomListCache = new AtomicReference<>();
+
+    // 모든 방이 공유하는 타이머 (게임 시계, GAME_STATE 중계 지연), 만료되면 방 메일박스로 넘긴다
+    private final TimingWheel timers = new TimingWheel(10, 512);
+    private final long stateIntervalNanos;
+
+    // SUBSCRIBE_ROOMS 한 로비 클라이언트에게는 전체 목록 대신 바뀐 방만 전송
+    // 변경은 lobbyInterval 동안 모아서 한 번에 보낸다 (예전 클라이언트용 전체 목록 포함)
+    private final LobbyFeed lobbyFeed;
+
+    private static final class RoomListSnapshot {
+        final int version;
+        final String text;
+        final SharedFrame frame; // 캐시가 참조 하나를 가진다
+
+        RoomListSnapshot(int version, String text, SharedFrame frame) {
+            this.version = version;
+            this.text = text;
+            this.frame = frame;
+        }
+    }
+
+    public GameServer() {
+        this(ServerConfig.defaults());
+    }
 
+    GameServer(ServerConfig config) {
+        this(config, newRoomPool(config));
+    }
+
+    // 방 작업을 실행할 풀을 지정 (벤치마크는 Runnable::run으로 호출한 스레드에서 바로 실행)
+    GameServer(ServerConfig config, Executor roomPool) {
+        this.config = config;
+        this.roomPool = roomPool;
+        this.stateIntervalNanos = config.getStateRelayHz() > 0
+                ? TimeUnit.SECONDS.toNanos(1) / config.getStateRelayHz() : 0;
+        this.lobbyFeed = new LobbyFeed(config.getLobbyIntervalMs(), this::broadcastRoomListToLobby);
+    }
+
+    private static Executor newRoomPool(ServerConfig config) {
+        AtomicInteger workerCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(config.getRoomThreads(), r -> {
+            Thread t = new Thread(r, "room-worker-" + workerCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // 실행 예: java network.GameServer --mode=nio --io-threads=4 (--mode=virtual 은 JDK 21 이상)
     public static void main(String[] args) {
-        new GameServer().start();
+        new GameServer(ServerConfig.fromArgs(args)).start();
     }
 
     public void start() {
+        Log.info("GameServer config: {}", config);
+        new MetricsServer(this, timers).start(config.getMetricsPort());
         try {
-            serverSocket = new ServerSocket(PORT);
-            System.out.println("GameServer started on port " + PORT);
-
-            while (true) {
-                Socket clientSocket = serverSocket.accept();
-                System.out.println("New client connected: " + clientSocket);
-
-                ClientHandler handler = new ClientHandler(clientSocket, this);
-                clients.add(handler);
-                handler.start();
+            switch (config.getIoMode()) {
+                case NIO:
+                    new NioServer(this, config).start();
+                    break;
+                case VIRTUAL:
+                    if (!VirtualThreads.isSupported()) {
+                        throw new IllegalStateException("가상 스레드는 JDK 21 이상에서만 사용할 수 있습니다.");
+                    }
+                    startThreadPerConnection(true);
+                    break;
+                default:
+                    startThreadPerConnection(false);
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Server stopped", e);
+        }
+    }
+
+    // 연결마다 ClientHandler를 스레드 하나에서 실행 (virtual이면 플랫폼 스레드 대신 가상 스레드)
+    private void startThreadPerConnection(boolean virtual) throws IOException {
+        serverSocket = new ServerSocket(config.getPort());
+        Log.info("GameServer started on port {}{}", config.getPort(), virtual ? " (virtual threads)" : "");
+
+        int connectionCount = 0;
+        while (true) {
+            Socket clientSocket = serverSocket.accept();
+            Log.debug("New client connected: {}", clientSocket);
+
+            ClientHandler handler = new ClientHandler(clientSocket, this);
+            addClient(handler);
+            handler.start("client-" + (++connectionCount), virtual);
+        }
+    }
+
+    ServerConfig getConfig() {
+        return config;
+    }
+
+    // 현재 접속 중인 연결 수
+    int getClientCount() {
+        return clients.size();
+    }
+
+    // 송신 대기열 상태 요약 (전체 대기 메시지 수, 가장 밀린 연결의 대기 수, 누적 버림/합침/강제 종료)
+    String getOutboundQueueReport() {
+        return "outboundQueued=" + getOutboundQueued() + " maxDepth=" + getOutboundMaxDepth()
+                + " dropped=" + OutboundQueue.DROPPED.sum()
+                + " coalesced=" + OutboundQueue.COALESCED.sum()
+                + " overflowDisconnects=" + OutboundQueue.OVERFLOW_DISCONNECTS.sum()
+                + " framesEncoded=" + SharedFrame.ENCODED.sum()
+                + " framesEnqueued=" + SharedFrame.ENQUEUED.sum();
+    }
+
+    // 로비 방 목록 전송 통계 (합쳐진 변경 수 포함)
+    String getLobbyReport() {
+        return LobbyFeed.report();
+    }
+
+    // GAME_STATE 중계 통계 (받은 수, 합친 수, 전체/델타 전송 수)와 타이머 통계
+    String getRelayReport() {
+        return GameStateRelay.report() + " " + TimingWheel.report();
+    }
+
+    // 방 수와 게임 중인 방 수
+    int getRoomCount() {
+        return rooms.size();
+    }
+
+    int getInGameRoomCount() {
+        int inGame = 0;
+        for (GameRoom room : rooms.values()) {
+            if (room.isInGame()) inGame++;
+        }
+        return inGame;
+    }
+
+    // 모든 연결의 송신 대기열에 쌓인 메시지 수
+    long getOutboundQueued() {
+        long total = 0;
+        for (Connection c : clients.toArray(new Connection[0])) {
+            total += c.getOutboundQueueDepth();
+        }
+        return total;
+    }
+
+    // 가장 밀린 연결의 송신 대기 수
+    int getOutboundMaxDepth() {
+        int max = 0;
+        for (Connection c : clients.toArray(new Connection[0])) {
+            max = Math.max(max, c.getOutboundQueueDepth());
+        }
+        return max;
+    }
+
+    // ======================= 전역 디렉터리 ========================
+
+    // 닉네임 중복 체크 (로비에 있는 플레이어 포함)
+    public boolean isNicknameTaken(String nickname) {
+        return players.containsKey(nickname);
+    }
+
+    // JOIN: 닉네임 예약, 이미 다른 연결이 쓰고 있으면 false (확인과 등록이 한 번에 일어난다)
+    boolean registerPlayer(Player player) {
+        return players.putIfAbsent(player.getNickname(), player) == null;
+    }
+
+    // 연결 종료: 이 플레이어가 예약한 닉네임 반납
+    void unregisterPlayer(Player player) {
+        players.remove(player.getNickname(), player);
+    }
+
+    // 닉네임으로 접속 중인 플레이어 찾기 (없으면 null)
+    Player findPlayer(String nickname) {
+        return players.get(nickname);
+    }
+
+    /**
+     * CREATE_ROOM: 방을 만들고 만든 사람을 방 메일박스 안에서 바로 입장시킨다
+     * 입장이 안 되면 (이미 다른 방에 있거나 입장 중, 그 사이 연결 끊김) 방을 지우고 로비에도 알리지 않는다
+     * 로비에는 만든 사람이 들어간 뒤에 ROOM_ADDED로 알린다
+     */
+    public void createAndJoinRoom(String roomName, Player creator, int maxPlayers, String password) {
+        GameRoom room = password != null
+                ? new GameRoom(roomName, roomSize(maxPlayers), password, roomPool)
+                : new GameRoom(roomName, roomSize(maxPlayers), roomPool);
+        if (!creator.tryStartJoin(room.getRoomId())) {
+            Log.debug("Already in a room or joining, room not created: {}", creator.getNickname());
+            return;
+        }
+        try {
+            registerRoom(room);
+        } catch (IllegalStateException e) {
+            // 입장 예약을 풀지 않으면 이 플레이어는 다시는 방을 만들거나 들어갈 수 없다
+            creator.finishJoin();
+            throw e;
+        }
+        Log.info("Room created: {} - {}", room.getRoomId(), roomName);
+
+        try {
+            room.execute(() -> {
+                try {
+                    doJoinRoom(room, creator, password);
+                    if (room.hasPlayer(creator)) {
+                        invalidateRoomList();
+                        lobbyFeed.roomAdded(room);
+                    } else {
+                        // 스냅샷이나 전체 목록에 잠깐 보였을 수 있으므로 ROOM_REMOVED까지 보낸다
+                        removeRoom(room);
+                        roomChanged(room);
+                    }
+                } finally {
+                    creator.finishJoin();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 서버 종료 중: 입장 작업이 실행되지 않으므로 여기서 정리
+            creator.finishJoin();
+            removeRoom(room);
+        }
+    }
+
+    // 요청한 최대 인원을 2 ~ 설정값(기본 500) 사이로 제한
+    private int roomSize(int maxPlayers) {
+        return Math.max(2, Math.min(maxPlayers, config.getMaxRoomPlayers()));
+    }
+
+    // 방 ID는 GameRoom이 겹치지 않게 발급하므로 기존 방을 덮어쓰지 않는다
+    private void registerRoom(GameRoom room) {
+        if (rooms.putIfAbsent(room.getRoomId(), room) != null) {
+            throw new IllegalStateException("duplicate room id: " + room.getRoomId());
+        }
+    }
+
+    // 빈 방을 디렉터리에서 제거 (방 액터 안에서 호출)
+    private void removeRoom(GameRoom room) {
+        room.setClosed(true);
+        room.setStageSequences(null);
+        rooms.remove(room.getRoomId(), room);
+        Log.info("Room deleted (empty): {}", room.getRoomId());
+    }
+
+    private GameRoom findRoom(String roomId) {
+        if (roomId == null) return null;
+        return rooms.get(roomId);
+    }
+
+    // 플레이어의 명령을 처리할 방 (입장 처리 중이면 입장하려는 방)
+    private GameRoom roomOf(Player player) {
+        return findRoom(player.getTargetRoomId());
+    }
+
+    private void setPlayerRoom(Player player, String roomId) {
+        player.setRoomId(roomId);
+    }
+
+    // 방 목록 가져오기
+    public String getRoomListString() {
+        return "ROOM_LIST " + getRoomEntries();
+    }
+
+    // "방;방;..." 형식의 전체 방 목록
+    private String getRoomEntries() {
+        // 약한 일관성 순회: 도중에 생기거나 지워진 방은 다음 목록에 반영된다
+        StringBuilder sb = new StringBuilder();
+        for (GameRoom room : rooms.values()) {
+            sb.append(room.toProtocolString()).append(";");
+        }
+        return sb.toString();
+    }
+
+    // 방 목록 변경분 구독 (전체 목록 한 번 + 이후 변경분)
+    void subscribeRoomList(Connection connection) throws IOException {
+        lobbyFeed.subscribe(connection, this::getRoomEntries);
+    }
+
+    // 방 하나의 인원/상태가 바뀌었거나 방이 삭제되었을 때 (방 액터 안에서 호출)
+    private void roomChanged(GameRoom room) {
+        invalidateRoomList();
+        lobbyFeed.roomChanged(room);
+    }
+
+    // 방 이름 가져오기
+    public String getRoomName(String roomId) {
+        GameRoom room = findRoom(roomId);
+        if (room != null) {
+            return room.getRoomName();
         }
+        return "알 수 없는 방";
     }
 
-    // 닉네임 중복 체크
-    public synchronized boolean isNicknameTaken(String nickname) {
-        return playerRooms.containsKey(nickname);
+    // 방 목록 내용(방 추가/삭제, 인원, 게임 중 여부)이 바뀌었을 때 호출
+    private void invalidateRoomList() {
+        roomListVersion.incrementAndGet();
     }
 
-    // 방 생성 (공개방)
-    public synchronized String createRoom(String roomName, String hostNickname, int maxPlayers) {
-        GameRoom room = new GameRoom(roomName, maxPlayers);
-        rooms.put(room.getRoomId(), room);
-        System.out.println("Room created: " + room.getRoomId() + " - " + roomName);
+    // 현재 방 목록 (바뀌지 않았으면 캐시 재사용), 돌려받은 frame은 호출한 쪽이 release 해야 함
+    private RoomListSnapshot acquireRoomList() throws UTFDataFormatException {
+        RoomListSnapshot cached = roomListCache.get();
+        int version = roomListVersion.get();
+        if (cached != null && cached.version == version && cached.frame.tryRetain()) {
+            return cached;
+        }
 
-        // 방 목록이 변경되었으므로 모든 클라이언트에게 알림
-        broadcastRoomListToLobby();
+        String text = getRoomListString();
+        RoomListSnapshot fresh = new RoomListSnapshot(version, text, SharedFrame.encode(text));
+        fresh.frame.retain(); // 캐시 몫
+        if (roomListCache.compareAndSet(cached, fresh)) {
+            if (cached != null) cached.frame.release();
+        } else {
+            fresh.frame.release();
+        }
+        return fresh;
+    }
 
-        return room.getRoomId();
+    // 요청한 클라이언트에게 방 목록 전송, 보낸 목록 문자열 반환
+    String sendRoomList(Connection connection) throws IOException {
+        RoomListSnapshot snapshot = acquireRoomList();
+        try {
+            connection.sendFrame(snapshot.frame);
+            return snapshot.text;
+        } finally {
+            snapshot.frame.release();
+        }
     }
 
-    // 방 생성 (비밀번호 방)
-    public synchronized String createRoom(String roomName, String hostNickname, int maxPlayers, String password) {
-        GameRoom room = new GameRoom(roomName, maxPlayers, password);
-        rooms.put(room.getRoomId(), room);
-        System.out.println("Room created (with password): " + room.getRoomId() + " - " + roomName);
+    // 방 목록을 방에 없는 모든 클라이언트에게 브로드캐스트 (한 번 인코딩한 프레임을 모두가 공유)
+    // 변경분을 구독한 클라이언트는 LobbyFeed로 받으므로 제외 (구독하지 않는 예전 클라이언트용)
+    public void broadcastRoomListToLobby() {
+        invalidateRoomList();
+
+        List<Connection> targets = new ArrayList<>();
+        for (Connection client : clients.toArray(new Connection[0])) {
+            // 방에 없는 클라이언트에게만 전송
+            Player player = client.getPlayer();
+            if (player != null) {
+                String roomId = player.getRoomId();
+                if (roomId == null) {
+                    if (!lobbyFeed.isSubscribed(client)) {
+                        targets.add(client);
+                    }
+                } else {
+                    Log.debug("Skipping {} (in room: {})", player.getNickname(), roomId);
+                }
+            } else {
+                Log.debug("Skipping client with null player");
+            }
+        }
+        if (targets.isEmpty()) return;
+        LobbyFeed.FULL_LISTS_SENT.increment();
+
+        RoomListSnapshot snapshot;
+        try {
+            snapshot = acquireRoomList();
+        } catch (UTFDataFormatException e) {
+            Log.warn("Room list too long to send: {}", e.getMessage());
+            return;
+        }
+        try {
+            Log.debug("Broadcasting room list: {}", snapshot.text);
+            Log.debug("Total clients: {}", clients.size());
 
-        // 방 목록이 변경되었으므로 모든 클라이언트에게 알림
-        broadcastRoomListToLobby();
+            int sentCount = 0;
+            for (Connection client : targets) {
+                // 방에 없는 클라이언트에게 방 목록 전송
+                Player player = client.getPlayer();
+                try {
+                    client.sendFrame(snapshot.frame);
+                    sentCount++;
+                    Log.debug("Sent room list to: {}", player.getNickname());
+                } catch (IOException e) {
+                    Log.warn("Failed to send room list to {}", player.getNickname());
+                }
+            }
+            Metrics.fanout(sentCount);
+            Log.debug("Room list sent to {} clients", sentCount);
+        } finally {
+            snapshot.frame.release();
+        }
+    }
 
-        return room.getRoomId();
+    // 접속한 클라이언트 등록
+    void addClient(Connection connection) {
+        clients.add(connection);
     }
 
+    // 클라이언트 핸들러 제거
+    void removeClient(Connection connection) {
+        lobbyFeed.unsubscribe(connection);
+        clients.remove(connection);
+    }
+
+    // ======================= 방 명령 (방 메일박스에 넣고 바로 반환) ========================
+
     // 방 입장
-    public synchronized boolean joinRoom(String roomId, Player player) {
-        return joinRoom(roomId, player, null);
+    public void joinRoom(String roomId, Player player) {
+        joinRoom(roomId, player, null);
     }
 
-    // 방 입장 (비밀번호 포함)
-    public synchronized boolean joinRoom(String roomId, Player player, String password) {
-        GameRoom room = rooms.get(roomId);
+    // 방 입장 (비밀번호 포함), 성공하면 ROOM_JOINED, 실패 사유가 있으면 JOIN_ROOM_FAILED 전송
+    public void joinRoom(String roomId, Player player, String password) {
+        GameRoom room = findRoom(roomId);
         if (room == null) {
-            System.out.println("Room not found: " + roomId);
-            return false;
+            Log.debug("Room not found: {}", roomId);
+            return;
+        }
+        if (!player.tryStartJoin(roomId)) {
+            Log.debug("Already in a room or joining: {}", player.getNickname());
+            return;
+        }
+
+        room.execute(() -> {
+            try {
+                doJoinRoom(room, player, password);
+            } finally {
+                player.finishJoin();
+            }
+        });
+    }
+
+    private void doJoinRoom(GameRoom room, Player player, String password) {
+        String roomId = room.getRoomId();
+        if (room.isClosed() || player.isDisconnected()) {
+            Log.debug("Room not found: {}", roomId);
+            return;
         }
 
         // 강퇴된 플레이어인지 확인
         if (room.isKickedPlayer(player.getNickname())) {
-            System.out.println(player.getNickname() + " is kicked from room: " + roomId);
-            try {
-                player.getHandler().sendMessage("JOIN_ROOM_FAILED 강퇴당한 방에 재입장 할 수 없습니다!");
-            } catch (java.io.IOException ignored) {}
-            return false;
+            Log.debug("{} is kicked from room: {}", player.getNickname(), roomId);
+            sendTo(player, "JOIN_ROOM_FAILED 강퇴당한 방에 재입장 할 수 없습니다!");
+            return;
         }
 
         // 비밀번호 확인
         if (!room.checkPassword(password)) {
-            System.out.println("Wrong password for room: " + roomId);
-            try {
-                player.getHandler().sendMessage("JOIN_ROOM_FAILED 비밀번호가 틀렸습니다!");
-            } catch (java.io.IOException ignored) {}
-            return false;
+            Log.debug("Wrong password for room: {}", roomId);
+            sendTo(player, "JOIN_ROOM_FAILED 비밀번호가 틀렸습니다!");
+            return;
         }
 
         if (room.isFull()) {
-            System.out.println("Room is full: " + roomId);
-            return false;
+            Log.debug("Room is full: {}", roomId);
+            return;
         }
 
         if (room.isInGame()) {
-            System.out.println("Game already in progress: " + roomId);
-            return false;
+            Log.debug("Game already in progress: {}", roomId);
+            return;
         }
 
         room.addPlayer(player);
-        playerRooms.put(player.getNickname(), roomId);
-        System.out.println(player.getNickname() + " joined room: " + roomId);
+        setPlayerRoom(player, roomId);
+        lobbyFeed.unsubscribe(player.getHandler());
+        Log.debug("{} joined room: {}", player.getNickname(), roomId);
+        sendTo(player, "ROOM_JOINED " + roomId + "|" + room.getRoomName());
 
-        // 방의 모든 플레이어에게 플레이어 목록 브   로드캐스트
-        broadcastToRoom(roomId, "SYS " + player.getNickname() + " 님이 입장했습니다.");
-        broadcastPlayerListToRoom(roomId);
+        // 방의 모든 플레이어에게 플레이어 목록 브로드캐스트
+        sendToRoom(room, "SYS " + player.getNickname() + " 님이 입장했습니다.");
+        sendPlayerList(room);
 
         // 방 목록 갱신
-        broadcastRoomListToLobby();
-
-        return true;
+        roomChanged(room);
     }
 
-    // 방 나가기
-    public synchronized void leaveRoom(String nickname) {
-        String roomId = playerRooms.get(nickname);
-        if (roomId == null) return;
-
-        GameRoom room = rooms.get(roomId);
+    // 방 나가기 (notifyPlayer면 나간 플레이어에게 LEFT_ROOM 전송)
+    public void leaveRoom(Player player, boolean notifyPlayer) {
+        GameRoom room = roomOf(player);
         if (room == null) return;
 
-        Player player = null;
-        for (Player p : room.getPlayers()) {
-            if (p.getNickname().equals(nickname)) {
-                player = p;
-                break;
-            }
-        }
+        room.execute(() -> {
+            if (!room.hasPlayer(player)) return;
 
-        if (player != null) {
+            String nickname = player.getNickname();
             room.removePlayer(player);
-            playerRooms.remove(nickname);
-            System.out.println(nickname + " left room: " + roomId);
+            setPlayerRoom(player, null);
+            Log.debug("{} left room: {}", nickname, room.getRoomId());
+            if (notifyPlayer) {
+                sendTo(player, "LEFT_ROOM");
+            }
 
             // 방이 비었으면 삭제
             if (room.getPlayers().isEmpty()) {
-                rooms.remove(roomId);
-                System.out.println("Room deleted (empty): " + roomId);
+                removeRoom(room);
             } else {
                 // 남은 플레이어들에게 알림
-                broadcastToRoom(roomId, "SYS " + nickname + " 님이 나갔습니다.");
+                sendToRoom(room, "SYS " + nickname + " 님이 나갔습니다.");
 
                 // 방장이 바뀌었으면 알림
                 if (room.getHost() != null) {
-                    broadcastToRoom(roomId, "SYS " + room.getHost().getNickname() + " 님이 방장이 되었습니다.");
+                    sendToRoom(room, "SYS " + room.getHost().getNickname() + " 님이 방장이 되었습니다.");
                 }
 
-                broadcastPlayerListToRoom(roomId);
+                sendPlayerList(room);
+                broadcastCurrentRanking(room);
             }
 
             // 방 목록 갱신
-            broadcastRoomListToLobby();
-        }
+            roomChanged(room);
+        });
     }
 
-    // 방 목록 가져오기
-    public synchronized String getRoomListString() {
-        StringBuilder sb = new StringBuilder("ROOM_LIST ");
-
-        for (GameRoom room : rooms.values()) {
-            sb.append(room.toProtocolString()).append(";");
-        }
-
-        return sb.toString();
+    // 특정 방의 플레이어에게만 브로드캐스트 (방 메일박스 순서에 맞춰 전송)
+    public void broadcastToRoom(String roomId, String msg) {
+        GameRoom room = findRoom(roomId);
+        if (room == null) return;
+        room.execute(() -> sendToRoom(room, msg));
     }
 
-    // 방 이름 가져오기
-    public synchronized String getRoomName(String roomId) {
-        GameRoom room = rooms.get(roomId);
-        if (room != null) {
-            return room.getRoomName();
-        }
-        return "알 수 없는 방";
+    // 플레이어가 보낸 메시지를 방에 전달 (보낸 사람이 방에 있을 때만)
+    public void broadcastFrom(Player player, String msg) {
+        GameRoom room = roomOf(player);
+        if (room == null) return;
+        room.execute(() -> {
+            if (room.hasPlayer(player)) {
+                sendToRoom(room, msg);
+            }
+        });
     }
 
-    // 특정 방의 플레이어에게만 브로드캐스트
-    public synchronized void broadcastToRoom(String roomId, String msg) {
-        GameRoom room = rooms.get(roomId);
+    // 채팅: 방장 여부를 포함하여 전송 (CHAT 닉네임 방장여부 내용)
+    // 방장 여부는 방 메일박스 안에서 읽어야 위임 직후에도 맞는 값이 나간다
+    public void chat(Player player, String text) {
+        GameRoom room = roomOf(player);
         if (room == null) return;
-
-        for (Player p : room.getPlayers()) {
-            try {
-                p.getHandler().sendMessage(msg);
-            } catch (IOException e) {
-                System.err.println("Failed to send message to " + p.getNickname());
+        room.execute(() -> {
+            if (room.hasPlayer(player)) {
+                sendToRoom(room, "CHAT " + player.getNickname() + " " + player.isHost() + " " + text);
             }
-        }
+        });
     }
 
-    // 방의 플레이어 목록 브로드캐스트
-    public synchronized void broadcastPlayerListToRoom(String roomId) {
-        GameRoom room = rooms.get(roomId);
+    // 플레이어의 준비 상태 변경
+    public void setPlayerReady(Player player, boolean ready) {
+        GameRoom room = roomOf(player);
         if (room == null) return;
 
-        StringBuilder sb = new StringBuilder("PLAYER_LIST");
-        for (Player p : room.getPlayers()) {
-            sb.append(" ").append(p.toProtocolString());
-        }
+        room.execute(() -> {
+            if (!room.hasPlayer(player)) return;
 
-        broadcastToRoom(roomId, sb.toString());
+            player.setReady(ready);
+            sendPlayerList(room);
+            sendToRoom(room, "SYS " + player.getNickname() + (ready ? " 님이 준비했습니다." : " 님이 준비를 취소했습니다."));
+        });
     }
 
-    // 방 목록을 방에 없는 모든 클라이언트에게 브로드캐스트
-    public synchronized void broadcastRoomListToLobby() {
-        String roomListMsg = getRoomListString();
-        System.out.println("[DEBUG] Broadcasting room list: " + roomListMsg);
-        System.out.println("[DEBUG] Total clients: " + clients.size());
+    // 방장 위임
+    public void transferHost(Player currentHostPlayer, String newHostName) {
+        GameRoom room = roomOf(currentHostPlayer);
+        if (room == null) return;
 
-        int sentCount = 0;
-        for (ClientHandler client : clients) {
-            // 방에 없는 클라이언트에게만 전송
-            Player player = client.getPlayer();
-            if (player != null) {
-                String roomId = playerRooms.get(player.getNickname());
-                if (roomId == null) {
-                    // 방에 없는 클라이언트에게 방 목록 전송
-                    try {
-                        client.sendMessage(roomListMsg);
-                        sentCount++;
-                        System.out.println("[DEBUG] Sent room list to: " + player.getNickname());
-                    } catch (IOException e) {
-                        System.err.println("Failed to send room list to " + player.getNickname());
-                    }
-                } else {
-                    System.out.println("[DEBUG] Skipping " + player.getNickname() + " (in room: " + roomId + ")");
-                }
-            } else {
-                System.out.println("[DEBUG] Skipping client with null player");
+        room.execute(() -> {
+            Player newHostPlayer = room.findPlayer(newHostName);
+            if (newHostPlayer != null && room.hasPlayer(currentHostPlayer) && room.getHost() == currentHostPlayer) {
+                room.setHost(newHostPlayer);
+                Log.info("Host transferred from {} to {}", currentHostPlayer.getNickname(), newHostName);
+                sendToRoom(room, "SYS " + newHostName + " 님이 방장이 되었습니다.");
+                sendPlayerList(room);
             }
-        }
-        System.out.println("[DEBUG] Room list sent to " + sentCount + " clients");
+        });
     }
 
-    // 플레이어의 준비 상태 변경
-    public synchronized void setPlayerReady(String nickname, boolean ready) {
-        String roomId = playerRooms.get(nickname);
-        if (roomId == null) return;
-
-        GameRoom room = rooms.get(roomId);
+    // 게임 시작 요청
+    public void requestStartGame(Player hostPlayer) {
+        GameRoom room = roomOf(hostPlayer);
         if (room == null) return;
 
-        for (Player p : room.getPlayers()) {
-            if (p.getNickname().equals(nickname)) {
-                p.setReady(ready);
-                broadcastPlayerListToRoom(roomId);
-                break;
+        room.execute(() -> {
+            if (room.isInGame()) {
+                Log.debug("Game already in progress");
+                return;
             }
-        }
+
+            // 방장 확인
+            if (room.getHost() != hostPlayer) {
+                Log.debug("Not authorized to start game: {}", hostPlayer.getNickname());
+                return;
+            }
+
+            // 최소 1명 준비 확인
+            boolean anyReady = false;
+            for (Player p : room.getPlayers()) {
+                if (p.isReady()) {
+                    anyReady = true;
+                    break;
+                }
+            }
+
+            if (!anyReady) {
+                Log.debug("No players ready");
+                return;
+            }
+
+            // 게임 시작
+            startGame(room);
+        });
     }
 
-    // 방장 위임
-    public synchronized void transferHost(String currentHost, String newHostName) {
-        String roomId = playerRooms.get(currentHost);
-        if (roomId == null) return;
+    // 플레이어 입력 처리
+    public void handlePlayerInput(Player player, String input) {
+        GameRoom room = roomOf(player);
+        if (room == null) return;
+        room.execute(() -> doHandlePlayerInput(room, player, input));
+    }
 
-        GameRoom room = rooms.get(roomId);
+    // 플레이어의 게임 상태 업데이트 처리 (텍스트/바이너리 모두 바이너리 본문으로 변환해서 받는다)
+    void handleGameState(Player player, byte[] body) {
+        GameRoom room = roomOf(player);
         if (room == null) return;
+        room.execute(() -> relayGameState(room, player, body));
+    }
 
-        Player currentHostPlayer = null;
-        Player newHostPlayer = null;
+    // ======================= 강퇴 기능 ========================
+    public void kickPlayer(Player hostPlayer, String targetName) {
+        GameRoom room = roomOf(hostPlayer);
+        if (room == null) return;
 
-        for (Player p : room.getPlayers()) {
-            if (p.getNickname().equals(currentHost)) {
-                currentHostPlayer = p;
+        room.execute(() -> {
+            if (room.getHost() != hostPlayer) {
+                Log.debug("[KICK] 방장이 아닌 사용자의 강퇴 요청 거부: {}", hostPlayer.getNickname());
+                return; // 방장만 가능
             }
-            if (p.getNickname().equals(newHostName)) {
-                newHostPlayer = p;
+
+            // 강퇴 대상 찾기
+            Player target = room.findPlayer(targetName);
+            if (target == null) {
+                Log.debug("[KICK] 대상 플레이어 없음: {}", targetName);
+                return;
             }
-        }
 
-        if (currentHostPlayer != null && newHostPlayer != null && currentHostPlayer.isHost()) {
-            currentHostPlayer.setHost(false);
-            newHostPlayer.setHost(true);
-            System.out.println("Host transferred from " + currentHost + " to " + newHostName);
-            broadcastToRoom(roomId, "SYS " + newHostName + " 님이 방장이 되었습니다.");
-            broadcastPlayerListToRoom(roomId);
-        }
+            // 강퇴 대상에게 강퇴 알림
+            sendTo(target, "KICKED");
+
+            // ⚠️ 소켓은 닫지 않음 - 강퇴는 방에서만 제거, 서버 연결은 유지
+            // 강퇴 목록에 추가
+            room.addKickedPlayer(targetName);
+
+            // 서버 내부적으로 방에서 제거
+            room.removePlayer(target);
+            setPlayerRoom(target, null);
+
+            // 방 사람들에게 알림
+            sendToRoom(room, "SYS " + targetName + " 님이 강퇴되었습니다.");
+
+            // 방장이 혼자 남았거나 아무도 없으면 방 유지/삭제 처리
+            if (room.getPlayers().isEmpty()) {
+                removeRoom(room);
+            } else {
+                // 새 방장 처리 (GameRoom이 자동으로 처리하는 구조라면 괜찮음)
+                sendPlayerList(room);
+                broadcastCurrentRanking(room);
+            }
+
+            // 로비의 방 목록 갱신
+            roomChanged(room);
+        });
     }
 
-    // 게임 시작 요청
-    public synchronized void requestStartGame(String hostNickname) {
-        String roomId = playerRooms.get(hostNickname);
-        if (roomId == null) return;
+    // ======================= 이하 방 메일박스 안에서만 호출 ========================
 
-        GameRoom room = rooms.get(roomId);
-        if (room == null) return;
+    private void sendTo(Player player, String msg) {
+        try {
+            player.getHandler().sendMessage(msg);
+        } catch (IOException e) {
+            Log.warn("Failed to send message to {}", player.getNickname());
+        }
+    }
 
-        if (room.isInGame()) {
-            System.out.println("Game already in progress");
+    // 방 전체에 전송: 한 번만 인코딩해서 모든 플레이어의 대기열이 같은 프레임을 공유
+    private void sendToRoom(GameRoom room, String msg) {
+        SharedFrame frame;
+        try {
+            frame = SharedFrame.encode(msg);
+        } catch (UTFDataFormatException e) {
+            Log.warn("Message too long to send: {}", e.getMessage());
             return;
         }
+        try {
+            Metrics.fanout(room.getPlayers().size());
+            for (Player p : room.getPlayers()) {
+                sendFrameTo(p, frame);
+            }
+        } finally {
+            frame.release();
+        }
+    }
 
-        // 방장 확인
-        Player host = room.getHost();
-        if (host == null || !host.getNickname().equals(hostNickname)) {
-            System.out.println("Not authorized to start game: " + hostNickname);
+    // 방의 플레이어 목록 브로드캐스트
+    // 큰 방은 입장/퇴장이 몰려도 PLAYER_LIST를 PLAYER_LIST_INTERVAL_MS에 한 번만 보낸다
+    private void sendPlayerList(GameRoom room) {
+        if (!room.isLarge()) {
+            doSendPlayerList(room);
             return;
         }
+        if (room.isPlayerListPending()) return;
+        room.setPlayerListPending(true);
+        timers.schedule(() -> room.execute(() -> {
+            room.setPlayerListPending(false);
+            if (!room.isClosed()) doSendPlayerList(room);
+        }), PLAYER_LIST_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
 
-        // 최소 1명 준비 확인
-        boolean anyReady = false;
+    private void doSendPlayerList(GameRoom room) {
+        StringBuilder sb = new StringBuilder("PLAYER_LIST");
         for (Player p : room.getPlayers()) {
-            if (p.isReady()) {
-                anyReady = true;
-                break;
+            sb.append(" ").append(p.toProtocolString());
+        }
+
+        sendToRoom(room, sb.toString());
+    }
+
+    // 받은 게임 상태를 다른 플레이어들에게 전달
+    // 받는 쪽 프로토콜에 맞는 형식을 처음 필요할 때 한 번만 만들어 공유한다
+    // 받은 상태를 저장하고, 최소 간격이 지났으면 바로 아니면 간격이 지난 뒤 한 번에 중계
+    private void relayGameState(GameRoom room, Player player, byte[] body) {
+        if (!room.isInGame() || !room.hasPlayer(player)) return;
+
+        GameStateRelay relay = player.getGameStateRelay();
+        if (relay.offer(body)) return; // 예약된 전송에 합쳐짐
+
+        long wait = relay.nanosUntilSend(System.nanoTime(), stateIntervalNanos);
+        if (wait <= 0) {
+            flushGameState(room, player);
+        } else {
+            relay.setFlushScheduled(true);
+            timers.schedule(() -> room.execute(() -> {
+                relay.setFlushScheduled(false);
+                flushGameState(room, player);
+            }), wait, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 저장된 최신 상태를 방의 다른 플레이어에게 전송
+    // 시퀀스가 직전에 보낸 것과 같으면 그 시퀀스의 전체 상태를 이미 받은 (델타를 받을 수 있는) 클라이언트에게는 진행 정보만 보낸다
+    private void flushGameState(GameRoom room, Player player) {
+        GameStateRelay relay = player.getGameStateRelay();
+        byte[] body = relay.takePending(); // 받을 때 이미 형식 검사함
+        if (body == null || !room.isInGame() || !room.hasPlayer(player)) return;
+        boolean sameSequence = relay.isSameSequence(body);
+        if (!sameSequence) relay.clearBaselines();
+
+        // GAME_STATE nickname stage currentIndex totalCount score combo sequence
+        // 예: GAME_STATE player1 5 3 10 1500 5 UP DOWN LEFT RIGHT UP DOWN LEFT RIGHT UP DOWN
+        // GAME_STATE_DELTA nickname stage currentIndex score combo (바이너리 버전 2 이상)
+        SharedFrame textFrame = null;
+        SharedFrame binaryFrame = null;
+        SharedFrame deltaFrame = null;
+        try {
+            int sent = 0;
+            for (Player p : stateWatchers(room, player)) {
+                // 본인 제외
+                if (p == player) continue;
+
+                int version = p.getHandler().getProtocolVersion();
+                if (sameSequence && version >= BinaryProtocol.VERSION_DELTA && relay.hasBaseline(p)) {
+                    if (deltaFrame == null) {
+                        deltaFrame = SharedFrame.wrap(OutboundQueue.Kind.GAME_STATE_DELTA, player.getNickname(),
+                                BinaryProtocol.encodeGameStateDelta(player.getNicknameBytes(),
+                                        relay.stage(), relay.index(), relay.score(), relay.combo()));
+                    }
+                    sendFrameTo(p, deltaFrame);
+                    GameStateRelay.DELTA_SENT.increment();
+                } else if (version > 0) {
+                    if (binaryFrame == null) {
+                        binaryFrame = SharedFrame.wrap(OutboundQueue.Kind.GAME_STATE, player.getNickname(),
+                                BinaryProtocol.encodeGameStateRelay(player.getNicknameBytes(), body));
+                    }
+                    sendFrameTo(p, binaryFrame);
+                    GameStateRelay.FULL_SENT.increment();
+                    if (version >= BinaryProtocol.VERSION_DELTA) relay.addBaseline(p);
+                } else {
+                    if (textFrame == null) {
+                        textFrame = SharedFrame.encode("GAME_STATE " + player.getNickname() + " "
+                                + BinaryProtocol.gameStateBodyToText(body));
+                    }
+                    sendFrameTo(p, textFrame);
+                    GameStateRelay.FULL_SENT.increment();
+                }
+                sent++;
             }
+            Metrics.fanout(sent); // 실제로 보낸 수 (큰 방은 보낼 사람 목록에 본인이 없다)
+            relay.markSent(body, System.nanoTime());
+        } catch (UTFDataFormatException e) {
+            Log.warn("GAME_STATE too long from {}", player.getNickname());
+        } finally {
+            if (textFrame != null) textFrame.release();
+            if (binaryFrame != null) binaryFrame.release();
+            if (deltaFrame != null) deltaFrame.release();
         }
+    }
 
-        if (!anyReady) {
-            System.out.println("No players ready");
-            return;
+    // 상태를 받아 볼 플레이어: 보통 방은 전원, 큰 방은 상위 WATCHED_TOP명이면 전원 아니면 순위 앞뒤 사람만
+    private List<Player> stateWatchers(GameRoom room, Player player) {
+        if (!room.isLarge()) return room.getPlayers();
+
+        Leaderboard board = room.getLeaderboard();
+        int index = board.rankOf(player) - 1;
+        if (index < 0) return Collections.emptyList();
+        if (index < Leaderboard.WATCHED_TOP) return room.getPlayers();
+
+        List<Player> watchers = new ArrayList<>(Leaderboard.NEIGHBOURS * 2);
+        int last = Math.min(board.size() - 1, index + Leaderboard.NEIGHBOURS);
+        for (int i = Math.max(0, index - Leaderboard.NEIGHBOURS); i <= last; i++) {
+            if (i != index) watchers.add(board.playerAt(i));
         }
+        return watchers;
+    }
 
-        // 게임 시작
-        startGame(roomId);
+    private void sendFrameTo(Player player, SharedFrame frame) {
+        try {
+            player.getHandler().sendFrame(frame);
+        } catch (IOException e) {
+            Log.warn("Failed to send message to {}", player.getNickname());
+        }
     }
 
-    // 게임 시작
-    private synchronized void startGame(String roomId) {
-        GameRoom room = rooms.get(roomId);
-        if (room == null) return;
+    // 한 사람에게만 보내는 바이너리 프레임
+    private void sendWrapped(Player player, OutboundQueue.Kind kind, ByteBuffer frame) {
+        SharedFrame shared = SharedFrame.wrap(kind, null, frame);
+        try {
+            sendFrameTo(player, shared);
+        } finally {
+            shared.release();
+        }
+    }
 
+    // 게임 시작
+    private void startGame(GameRoom room) {
         room.setInGame(true);
+        invalidateRoomList();
+        lobbyFeed.roomChanged(room);
         room.setCurrentStage(1);
 
         // 모든 플레이어 점수 초기화
@@ -339,58 +876,43 @@ public class GameServer {
             p.setCombo(0);
             p.setCurrentStage(1);
             p.setFinished(false);
+            p.getGameStateRelay().reset();
         }
+        room.getLeaderboard().reset(room.getPlayers());
 
-        broadcastToRoom(roomId, "START_GAME");
-        System.out.println("Game started in room: " + roomId);
+        // 모두 같은 시퀀스를 받도록 게임마다 시드 하나로 20스테이지를 미리 생성 (--sequence-seed로 고정하면 같은 게임 재현)
+        long seed = config.getSequenceSeed() != 0 ? config.getSequenceSeed() : ThreadLocalRandom.current().nextLong();
+        room.setStageSequences(new StageSequences(seed));
+
+        sendToRoom(room, "START_GAME");
+        Log.info("Game started in room: {} (seed {})", room.getRoomId(), seed);
+
+        // 제한 시간은 서버가 잰다 (클라이언트 타이머는 표시용, TIME_SYNC로 맞춘다)
+        room.setGameDeadlineNanos(System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getGameSeconds()));
+        gameClockTick(room);
 
         // 각 플레이어에게 첫 스테이지 시퀀스 전송
         for (Player p : room.getPlayers()) {
-            sendSequenceToPlayer(p);
+            sendSequenceToPlayer(room, p);
         }
     }
 
-    // 플레이어에게 시퀀스 전송
-    private synchronized void sendSequenceToPlayer(Player player) {
+    // 플레이어에게 현재 스테이지 시퀀스 전송 (방 메일박스 안에서만 호출, 벤치마크는 직접 호출)
+    // 게임 시작 때 만든 시퀀스의 인코딩된 프레임을 그대로 보낸다
+    void sendSequenceToPlayer(GameRoom room, Player player) {
+        StageSequences sequences = room.getStageSequences();
+        if (sequences == null) return;
         int stage = player.getCurrentStage();
-        // 스테이지 12부터는 난이도 고정 (화살표 14개)
-        int length = stage >= 12 ? 14 : (3 + stage - 1);
-
-        String[] directions = {"UP", "DOWN", "LEFT", "RIGHT"};
-        Random rnd = new Random();
-
-        StringBuilder sb = new StringBuilder("GAME_SEQUENCE ");
-        sb.append(stage);
-        for (int i = 0; i < length; i++) {
-            sb.append(" ").append(directions[rnd.nextInt(directions.length)]);
-        }
-
-        System.out.println("[SEQUENCE] " + player.getNickname() + " - Stage " + stage + ", Length " + length);
-
+        Log.debug("[SEQUENCE] {} - Stage {}, Length {}", player.getNickname(), stage, StageSequences.length(stage));
         try {
-            player.getHandler().sendMessage(sb.toString());
-        } catch (IOException e) {
-            System.err.println("Failed to send sequence to " + player.getNickname());
+            sendFrameTo(player, sequences.frame(stage, player.getHandler().getProtocolVersion() > 0));
+        } catch (UTFDataFormatException e) {
+            Log.warn("Sequence too long to send: {}", e.getMessage());
         }
     }
 
-    // 플레이어 입력 처리
-    public synchronized void handlePlayerInput(String nickname, String input) {
-        String roomId = playerRooms.get(nickname);
-        if (roomId == null) return;
-
-        GameRoom room = rooms.get(roomId);
-        if (room == null || !room.isInGame()) return;
-
-        Player player = null;
-        for (Player p : room.getPlayers()) {
-            if (p.getNickname().equals(nickname)) {
-                player = p;
-                break;
-            }
-        }
-
-        if (player == null) return;
+    private void doHandlePlayerInput(GameRoom room, Player player, String input) {
+        if (!room.isInGame() || !room.hasPlayer(player)) return;
 
         if (input.equals("SUCCESS")) {
             // 정답 개수 증가
@@ -405,130 +927,145 @@ public class GameServer {
             int earnedScore = baseScore + comboBonus;
             player.setScore(player.getScore() + earnedScore);
 
-            System.out.println("[SCORE] " + player.getNickname() + " - 정답! 콤보: " + player.getCombo()
-                    + ", 획득 점수: " + earnedScore + " (기본 " + baseScore + " + 콤보 보너스 " + comboBonus + ")");
+            Log.debug("[SCORE] {} - 정답! 콤보: {}, 획득 점수: {} (기본 {} + 콤보 보너스 {})",
+                    player.getNickname(), player.getCombo(), earnedScore, baseScore, comboBonus);
 
             int nextStage = player.getCurrentStage() + 1;
-            if (nextStage > 20) {
-                System.out.println(player.getNickname() + " completed all stages (Stage 20)!");
+            if (nextStage > StageSequences.MAX_STAGE) {
+                Log.debug("{} completed all stages (Stage {})!", player.getNickname(), StageSequences.MAX_STAGE);
                 player.setFinished(true);
-                checkGameEnd(roomId);
+                checkGameEnd(room);
             } else {
                 player.setCurrentStage(nextStage);
-                sendSequenceToPlayer(player);
+                sendSequenceToPlayer(room, player);
             }
         } else if (input.equals("FAIL")) {
-            System.out.println("[SCORE] " + player.getNickname() + " - 실패! 콤보 초기화");
+            Log.debug("[SCORE] {} - 실패! 콤보 초기화", player.getNickname());
             player.setCombo(0);
         } else if (input.equals("TIME_UP")) {
-            System.out.println("[TIME_UP] " + player.getNickname() + " - 타이머 종료");
+            Log.debug("[TIME_UP] {} - 타이머 종료", player.getNickname());
             player.setFinished(true);
-            checkGameEnd(roomId);
+            checkGameEnd(room);
         }
 
-        broadcastPlayerListToRoom(roomId);
-
-        // 실시간 순위 정보 브로드캐스트
-        broadcastCurrentRanking(roomId);
-    }
-
-    // 플레이어의 게임 상태 업데이트 처리
-    public synchronized void handleGameState(String nickname, String stateData) {
-        String roomId = playerRooms.get(nickname);
-        if (roomId == null) return;
-
-        GameRoom room = rooms.get(roomId);
-        if (room == null || !room.isInGame()) return;
-
-        // GAME_STATE nickname stage currentIndex totalCount score combo sequence
-        // 예: GAME_STATE player1 5 3 10 1500 5 UP DOWN LEFT RIGHT UP DOWN LEFT RIGHT UP DOWN
-        // 다른 플레이어들에게 브로드캐스트
-        String msg = "GAME_STATE " + nickname + " " + stateData;
-
-        for (Player p : room.getPlayers()) {
-            // 본인 제외
-            if (!p.getNickname().equals(nickname)) {
-                try {
-                    p.getHandler().sendMessage(msg);
-                } catch (IOException e) {
-                    System.err.println("Failed to send game state to " + p.getNickname());
-                }
-            }
+        // 큰 방은 게임 중 PLAYER_LIST 대신 점수판(LEADERBOARD)으로 알린다
+        if (!room.isLarge()) {
+            sendPlayerList(room);
         }
+
+        // 실시간 순위 정보 브로드캐스트 (바뀐 사람에게만)
+        room.getLeaderboard().update(player);
+        broadcastCurrentRanking(room);
     }
 
-    // 실시간 순위 정보 계산 및 브로드캐스트
-    private synchronized void broadcastCurrentRanking(String roomId) {
-        GameRoom room = rooms.get(roomId);
-        if (room == null || !room.isInGame()) return;
+    // 실시간 순위 정보 브로드캐스트 (순위, 인원, 1등, 1등과의 점수 차가 바뀐 플레이어에게만)
+    // 큰 방은 1등 점수가 오를 때마다 전원의 점수 차가 바뀌므로 보내지 않고, 1초마다의 LEADERBOARD로 대신한다
+    // 방 메일박스 안에서만 호출 (벤치마크는 단일 스레드로 직접 호출)
+    void broadcastCurrentRanking(GameRoom room) {
+        if (!room.isInGame() || room.isLarge()) return;
 
-        // 현재 순위 계산 (점수 → 스테이지 → 성공 개수 순)
-        java.util.List<Player> sortedPlayers = new java.util.ArrayList<>(room.getPlayers());
-        sortedPlayers.sort((p1, p2) -> {
-            // 1. 점수 비교 (내림차순)
-            if (p2.getScore() != p1.getScore()) {
-                return p2.getScore() - p1.getScore();
-            }
-            // 2. 스테이지 비교 (내림차순)
-            if (p2.getCurrentStage() != p1.getCurrentStage()) {
-                return p2.getCurrentStage() - p1.getCurrentStage();
-            }
-            // 3. 정답 개수 비교 (내림차순)
-            return p2.getSuccessCount() - p1.getSuccessCount();
-        });
+        Leaderboard leaderboard = room.getLeaderboard();
+        Player first = leaderboard.leader();
+        if (first == null) return;
+        int totalPlayers = leaderboard.size();
+        String firstPlayerName = first.getNickname();
+        int firstPlayerScore = first.getScore();
 
-        // 각 플레이어에게 순위 정보 전송
         // RANK_INFO myRank totalPlayers firstPlayerName firstPlayerScore gap
-        for (int i = 0; i < sortedPlayers.size(); i++) {
-            Player player = sortedPlayers.get(i);
-            int rank = i + 1;
-            int totalPlayers = sortedPlayers.size();
-            String firstPlayerName = sortedPlayers.get(0).getNickname();
-            int firstPlayerScore = sortedPlayers.get(0).getScore();
+        for (Leaderboard.Entry entry : leaderboard.takeChanged()) {
+            Player player = entry.player;
+            int rank = entry.rank();
             int gap = firstPlayerScore - player.getScore();
 
+            if (player.getHandler().getProtocolVersion() > 0) {
+                sendWrapped(player, OutboundQueue.Kind.RANK_INFO, BinaryProtocol.encodeRankInfo(
+                        rank, totalPlayers, first.getNicknameBytes(), firstPlayerScore, gap));
+                continue;
+            }
+
             String rankMsg = "RANK_INFO " + rank + " " + totalPlayers + " " +
                            firstPlayerName + " " + firstPlayerScore + " " + gap;
 
             try {
                 player.getHandler().sendMessage(rankMsg);
             } catch (IOException e) {
-                System.err.println("Failed to send rank info to " + player.getNickname());
+                Log.warn("Failed to send rank info to {}", player.getNickname());
             }
         }
     }
 
-    // 게임 종료 확인
-    private void checkGameEnd(String roomId) {
-        GameRoom room = rooms.get(roomId);
-        if (room == null) return;
+    // 게임 시계: 남은 시간을 알리고 다음 tick 예약, 시간이 다 되면 게임 종료
+    private void gameClockTick(GameRoom room) {
+        if (!room.isInGame() || room.isClosed()) return;
+
+        long remaining = room.getGameDeadlineNanos() - System.nanoTime();
+        if (remaining <= 0) {
+            Log.debug("[TIME_UP] {} - 서버 제한 시간 종료", room.getRoomId());
+            for (Player p : room.getPlayers()) {
+                p.setFinished(true);
+            }
+            endGame(room);
+            return;
+        }
+
+        // TIME_SYNC 남은시간(ms)
+        sendToRoom(room, "TIME_SYNC " + TimeUnit.NANOSECONDS.toMillis(remaining));
+        if (room.isLarge()) {
+            sendLeaderboard(room);
+        }
+        long next = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(config.getTimeSyncMs()));
+        room.setClockTimeout(timers.schedule(() -> room.execute(() -> gameClockTick(room)),
+                next, TimeUnit.NANOSECONDS));
+    }
+
+    // 큰 방 점수판: 순위가 바뀌었으면 각자에게 상위 TOP명 + 자기 앞뒤 NEIGHBOURS명
+    // LEADERBOARD 전체인원 중계상위인원 순위|닉네임|점수;... 순위|닉네임|점수;...
+    // (중계상위인원: GAME_STATE를 모두에게 중계하는 상위 WATCHED_TOP명, 클라이언트가 미니뷰 정리에 쓴다)
+    private void sendLeaderboard(GameRoom room) {
+        Leaderboard board = room.getLeaderboard();
+        if (board.version() == room.getSentBoardVersion()) return;
+        room.setSentBoardVersion(board.version());
+
+        StringBuilder top = new StringBuilder("LEADERBOARD ").append(board.size()).append(' ')
+                .append(Leaderboard.WATCHED_TOP).append(' ');
+        board.appendEntries(top, 0, Leaderboard.TOP);
+        top.append(' ');
+        int prefix = top.length();
 
+        for (Player p : room.getPlayers()) {
+            int index = board.rankOf(p) - 1;
+            if (index < 0) continue;
+            top.setLength(prefix);
+            board.appendEntries(top, index - Leaderboard.NEIGHBOURS, index + Leaderboard.NEIGHBOURS + 1);
+            sendTo(p, top.toString());
+        }
+    }
+
+    // 게임 종료 확인
+    private void checkGameEnd(GameRoom room) {
         for (Player p : room.getPlayers()) {
             if (!p.isFinished()) {
-                System.out.println("[GAME_END_CHECK] " + p.getNickname() + " is not finished yet (stage " + p.getCurrentStage() + "), waiting...");
+                Log.debug("[GAME_END_CHECK] {} is not finished yet (stage {}), waiting...", p.getNickname(), p.getCurrentStage());
                 return;
             }
         }
 
         // 모든 플레이어가 완료
-        System.out.println("[GAME_END_CHECK] All players finished! Ending game...");
-        endGame(roomId);
+        Log.debug("[GAME_END_CHECK] All players finished! Ending game...");
+        endGame(room);
     }
 
     // 게임 종료
-    private synchronized void endGame(String roomId) {
-        GameRoom room = rooms.get(roomId);
-        if (room == null) return;
-
+    private void endGame(GameRoom room) {
+        String roomId = room.getRoomId();
         room.setInGame(false);
+        room.setClockTimeout(null);
+        room.setStageSequences(null);
+        invalidateRoomList();
+        lobbyFeed.roomChanged(room);
 
-        System.out.println("[DEBUG] ===== GAME END - RANKING INFO =====");
-        System.out.println("[DEBUG] Room: " + roomId);
-        System.out.println("[DEBUG] Players before sorting:");
-        for (Player p : room.getPlayers()) {
-            System.out.println("[DEBUG]   " + p.getNickname() + ": Score=" + p.getScore()
-                    + ", Success=" + p.getSuccessCount() + ", MaxCombo=" + p.getMaxCombo());
-        }
+        Log.debug("===== GAME END - RANKING INFO =====");
+        Log.debug("Room: {}", roomId);
 
         // 랭킹 정렬: 점수 → 정답 개수 → 최고 콤보 순으로 비교
         java.util.List<Player> sortedPlayers = new java.util.ArrayList<>(room.getPlayers());
@@ -545,11 +1082,12 @@ public class GameServer {
             return p2.getMaxCombo() - p1.getMaxCombo();
         });
 
-        System.out.println("[DEBUG] Players after sorting:");
-        for (int i = 0; i < sortedPlayers.size(); i++) {
-            Player p = sortedPlayers.get(i);
-            System.out.println("[DEBUG]   " + (i+1) + ". " + p.getNickname() + ": Score=" + p.getScore()
-                    + ", Success=" + p.getSuccessCount() + ", MaxCombo=" + p.getMaxCombo());
+        if (Log.isDebugEnabled()) {
+            for (int i = 0; i < sortedPlayers.size(); i++) {
+                Player p = sortedPlayers.get(i);
+                Log.debug("  {}. {}: Score={}, Success={}, MaxCombo={}",
+                        i + 1, p.getNickname(), p.getScore(), p.getSuccessCount(), p.getMaxCombo());
+            }
         }
 
         // 랭킹 정보 생성: GAME_RANKING name1|score1|success1|combo1 name2|score2|success2|combo2 ...
@@ -561,79 +1099,18 @@ public class GameServer {
                     .append("|").append(p.getMaxCombo());
         }
 
-        System.out.println("[DEBUG] Ranking message: " + rankingMsg.toString());
-        System.out.println("[DEBUG] ===================================");
+        Log.debug("Ranking message: {}", rankingMsg);
 
         // 모든 플레이어에게 랭킹 정보 전송
-        broadcastToRoom(roomId, rankingMsg.toString());
+        sendToRoom(room, rankingMsg.toString());
 
         // 모든 플레이어 준비 상태 해제
         for (Player p : room.getPlayers()) {
             p.setReady(false);
         }
 
-        broadcastToRoom(roomId, "GAME_END");
-        broadcastPlayerListToRoom(roomId);
-        System.out.println("Game ended in room: " + roomId);
-    }
-
-    // ======================= 강퇴 기능 ========================
-    public synchronized void kickPlayer(String hostName, String targetName) {
-        String roomId = playerRooms.get(hostName);
-        if (roomId == null) return;
-
-        GameRoom room = rooms.get(roomId);
-        if (room == null) return;
-
-        Player host = room.getHost();
-        if (host == null || !host.getNickname().equals(hostName)) {
-            System.out.println("[KICK] 방장이 아닌 사용자의 강퇴 요청 거부: " + hostName);
-            return; // 방장만 가능
-        }
-
-        // 강퇴 대상 찾기
-        Player target = null;
-        for (Player p : room.getPlayers()) {
-            if (p.getNickname().equals(targetName)) {
-                target = p;
-                break;
-            }
-        }
-        if (target == null) {
-            System.out.println("[KICK] 대상 플레이어 없음: " + targetName);
-            return;
-        }
-
-        // 강퇴 대상에게 강퇴 알림
-        try {
-            target.getHandler().sendMessage("KICKED");
-        } catch (IOException ignored) {}
-
-        // ⚠️ 소켓은 닫지 않음 - 강퇴는 방에서만 제거, 서버 연결은 유지
-        // 강퇴 목록에 추가
-        room.addKickedPlayer(targetName);
-
-        // 서버 내부적으로 방에서 제거
-        room.removePlayer(target);
-        playerRooms.remove(targetName);
-
-        // 방 사람들에게 알림
-        broadcastToRoom(roomId, "SYS " + targetName + " 님이 강퇴되었습니다.");
-
-        // 방장이 혼자 남았거나 아무도 없으면 방 유지/삭제 처리
-        if (room.getPlayers().isEmpty()) {
-            rooms.remove(roomId);
-        } else {
-            // 새 방장 처리 (GameRoom이 자동으로 처리하는 구조라면 괜찮음)
-            broadcastPlayerListToRoom(roomId);
-        }
-
-        // 로비의 방 목록 갱신
-        broadcastRoomListToLobby();
-    }
-
-    // 클라이언트 핸들러 제거
-    public synchronized void removeClient(ClientHandler handler) {
-        clients.remove(handler);
+        sendToRoom(room, "GAME_END");
+        sendPlayerList(room);
+        Log.info("Game ended in room: {}", roomId);
     }
 }
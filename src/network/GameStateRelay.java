@@ -0,0 +1,144 @@
+package network;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 플레이어 한 명의 GAME_STATE 중계 상태 (방 메일박스 안에서만 사용)
+ * 상대에게 마지막으로 보낸 상태를 기억해서 화살표 시퀀스가 그대로면 진행 정보만 보내고(델타),
+ * 델타는 지금 시퀀스의 전체 상태를 이미 받은 사람에게만 보낸다 (나중에 보기 시작한 사람은 전체 상태부터)
+ * 최소 간격 안에 들어온 상태는 최신 것 하나로 합쳐서 간격이 지난 뒤에 보낸다
+ */
+final class GameStateRelay {
+
+    // 서버 전체 누적 통계
+    static final LongAdder RECEIVED = new LongAdder();   // 클라이언트에게서 받은 상태 수
+    static final LongAdder COALESCED = new LongAdder();  // 보내기 전에 더 새 상태로 덮어쓴 수
+    static final LongAdder FULL_SENT = new LongAdder();  // 시퀀스 포함 전체 상태로 중계한 수
+    static final LongAdder DELTA_SENT = new LongAdder(); // 진행 정보만 중계한 수
+
+    private final BinaryProtocol.Reader reader = new BinaryProtocol.Reader();
+    private byte[] pending;         // 아직 보내지 않은 최신 본문
+    private boolean flushScheduled; // 간격이 지난 뒤 보내기로 예약됨
+    private long lastSentNanos;
+    private boolean sentAny;
+
+    // 마지막으로 보낸 상태의 시퀀스 부분 (델타 판단용)
+    private byte[] sentBody;
+    private int sentArrowsStart;
+    private int sentStage;
+    private int sentTotal;
+    // 지금 시퀀스의 전체 상태를 받은 사람 (시퀀스가 바뀌면 비운다)
+    private final Set<Player> baselineHolders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // 방금 파싱한 본문 필드
+    private int stage;
+    private int index;
+    private int total;
+    private int score;
+    private int combo;
+    private int arrowsStart;
+
+    // 게임 시작 시 이전 게임의 상태 제거
+    void reset() {
+        pending = null;
+        sentAny = false;
+        sentBody = null;
+        baselineHolders.clear();
+    }
+
+    /**
+     * 새 상태 저장
+     * @return 이미 보내기로 예약되어 있어서 그때 함께 나가면 true (따로 보낼 필요 없음)
+     */
+    boolean offer(byte[] body) {
+        RECEIVED.increment();
+        if (pending != null) {
+            COALESCED.increment();
+        }
+        pending = body;
+        return flushScheduled;
+    }
+
+    // 지금 보내도 되면 0, 아니면 기다려야 하는 시간
+    long nanosUntilSend(long now, long minIntervalNanos) {
+        if (!sentAny) return 0;
+        return Math.max(0, lastSentNanos + minIntervalNanos - now);
+    }
+
+    void setFlushScheduled(boolean flushScheduled) {
+        this.flushScheduled = flushScheduled;
+    }
+
+    /**
+     * 보낼 상태를 꺼내서 필드를 파싱
+     * @return 보낼 것이 없으면 null
+     */
+    byte[] takePending() {
+        byte[] body = pending;
+        pending = null;
+        if (body == null) return null;
+
+        BinaryProtocol.Reader r = reader.reset(body, 0, body.length);
+        stage = r.readVarInt();
+        index = r.readVarInt();
+        total = r.readVarInt();
+        score = r.readVarInt();
+        combo = r.readVarInt();
+        arrowsStart = r.position();
+        return body;
+    }
+
+    // 방금 꺼낸 상태가 마지막으로 보낸 것과 같은 시퀀스인지 (진행 정보만 보내면 되는지)
+    boolean isSameSequence(byte[] body) {
+        return sentBody != null && stage == sentStage && total == sentTotal
+                && Arrays.equals(body, arrowsStart, body.length, sentBody, sentArrowsStart, sentBody.length);
+    }
+
+    // 새 시퀀스: 모두 전체 상태부터 다시 받아야 한다
+    void clearBaselines() {
+        baselineHolders.clear();
+    }
+
+    // receiver가 지금 시퀀스의 전체 상태를 가지고 있는지 (델타를 보내도 되는지)
+    boolean hasBaseline(Player receiver) {
+        return baselineHolders.contains(receiver);
+    }
+
+    void addBaseline(Player receiver) {
+        baselineHolders.add(receiver);
+    }
+
+    void markSent(byte[] body, long now) {
+        sentAny = true;
+        lastSentNanos = now;
+        sentBody = body;
+        sentArrowsStart = arrowsStart;
+        sentStage = stage;
+        sentTotal = total;
+    }
+
+    int stage() {
+        return stage;
+    }
+
+    int index() {
+        return index;
+    }
+
+    int score() {
+        return score;
+    }
+
+    int combo() {
+        return combo;
+    }
+
+    static String report() {
+        return "stateReceived=" + RECEIVED.sum() + " stateCoalesced=" + COALESCED.sum()
+                + " stateFullSent=" + FULL_SENT.sum() + " stateDeltaSent=" + DELTA_SENT.sum();
+    }
+}
@@ -0,0 +1,89 @@
+package network;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR 방식의 고정 크기 히스토그램 (여러 스레드에서 기록 가능)
+ * 128 미만은 값 그대로, 그 이상은 2의 거듭제곱 구간마다 64칸으로 나눠서 상대 오차 약 1.6% 안에서 센다
+ * 칸 수가 고정이라 기록할 때 할당이 없고, 백분위는 읽을 때 칸을 훑어서 구한다
+ *
+ * 단위는 쓰는 쪽이 정한다 (지연 시간은 나노초, 팬아웃은 받는 사람 수)
+ */
+final class Histogram {
+
+    private static final int LINEAR = 128;      // 이 값 미만은 칸 하나에 값 하나
+    private static final int SUB_BUCKETS = 64;  // 그 위의 2배 구간마다 칸 수
+    private static final int MAX_EXPONENT = 40; // 2^40 (나노초로 약 18분) 이상은 마지막 칸
+    private static final int SIZE = LINEAR + (MAX_EXPONENT - 7) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * 백분위 값 (칸의 위쪽 경계, 기록이 없으면 0)
+     * @param percentile 0 ~ 100
+     */
+    long percentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < SIZE; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // 값이 들어갈 칸 (2^e 이상 2^(e+1) 미만은 상위 7비트로 64칸 중 하나)
+    private static int indexOf(long value) {
+        if (value < LINEAR) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) return SIZE - 1;
+        int shift = exponent - 6;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR + (exponent - 7) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR) return index;
+        int bucket = (index - LINEAR) / SUB_BUCKETS;
+        int sub = SUB_BUCKETS + (index - LINEAR) % SUB_BUCKETS;
+        int shift = bucket + 1;
+        return ((long) (sub + 1) << shift) - 1;
+    }
+}
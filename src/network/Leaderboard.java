@@ -0,0 +1,222 @@
+package network;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게임 중 실시간 순위 (방 메일박스 안에서만 사용)
+ * 점수 → 스테이지 → 정답 개수 순으로 정렬된 목록을 유지하고, 한 명의 기록이 바뀌면 그 사람만 이분 탐색으로 제자리에 옮긴다
+ * 옮기면서 밀려난 사람들(순위가 실제로 바뀐 사람들)과 본인만 다시 확인하고,
+ * 마지막으로 보낸 RANK_INFO(순위, 인원, 1등, 점수 차)와 달라진 사람에게만 보낸다
+ * 1등이 바뀌거나 1등 점수가 오르면 모두의 점수 차가 바뀌므로 전원을 확인한다
+ */
+final class Leaderboard {
+
+    // 큰 방(토너먼트) 점수판: 상위 TOP명 + 내 앞뒤 NEIGHBOURS명
+    static final int TOP = 10;
+    static final int NEIGHBOURS = 2;
+    // 큰 방에서 GAME_STATE를 모두에게 중계하는 상위 인원 (나머지는 순위 앞뒤 사람에게만)
+    static final int WATCHED_TOP = 3;
+
+    /** 한 플레이어의 순위 항목과 마지막으로 보낸 RANK_INFO */
+    static final class Entry {
+        final Player player;
+        private final int joinOrder; // 동점일 때 먼저 들어온 사람이 앞
+        private int index;
+        private boolean dirty;
+
+        private int sentRank;
+        private int sentTotal;
+        private int sentGap;
+        private Player sentLeader;
+
+        private Entry(Player player, int joinOrder) {
+            this.player = player;
+            this.joinOrder = joinOrder;
+        }
+
+        int rank() {
+            return index + 1;
+        }
+    }
+
+    private final ArrayList<Entry> order = new ArrayList<>();
+    private final Map<Player, Entry> entries = new HashMap<>();
+    private final List<Entry> changed = new ArrayList<>();
+    private final List<Entry> toSend = new ArrayList<>();
+    private int nextJoinOrder;
+    private int version; // 순서나 점수가 바뀔 때마다 증가 (점수판 재전송 판단용)
+    private boolean allDirty;
+    private Player sentLeader;     // 마지막으로 보낼 때의 1등과 점수
+    private int sentLeaderScore;
+
+    // 게임 시작: 현재 플레이어로 새로 만들기 (모두 0점이므로 입장 순서)
+    void reset(Collection<Player> players) {
+        order.clear();
+        entries.clear();
+        changed.clear();
+        sentLeader = null;
+        nextJoinOrder = 0;
+        for (Player p : players) {
+            Entry e = new Entry(p, nextJoinOrder++);
+            entries.put(p, e);
+            order.add(e);
+        }
+        order.sort(Leaderboard::compare);
+        reindex(0, order.size() - 1);
+        allDirty = true;
+        version++;
+    }
+
+    // 점수/스테이지/정답 개수가 바뀐 플레이어를 제자리로 옮기기
+    void update(Player player) {
+        Entry e = entries.get(player);
+        if (e == null) return;
+
+        int from = e.index;
+        int to = from;
+        if (from > 0 && compare(e, order.get(from - 1)) < 0) {
+            to = search(e, 0, from);      // 위로
+        } else if (from < order.size() - 1 && compare(e, order.get(from + 1)) > 0) {
+            to = search(e, from + 1, order.size()) - 1; // 아래로
+        }
+        if (to != from) {
+            // 사이에 있는 사람만 한 칸씩 민다 (remove/add는 뒤쪽 전체를 복사한다)
+            if (to < from) {
+                for (int i = from; i > to; i--) order.set(i, order.get(i - 1));
+            } else {
+                for (int i = from; i < to; i++) order.set(i, order.get(i + 1));
+            }
+            order.set(to, e);
+            reindex(Math.min(from, to), Math.max(from, to));
+        }
+        mark(e);
+        version++;
+    }
+
+    void remove(Player player) {
+        Entry e = entries.remove(player);
+        if (e == null) return;
+        order.remove(e.index);
+        reindex(e.index, order.size() - 1);
+        allDirty = true; // 인원이 바뀌었다
+        version++;
+    }
+
+    /**
+     * 마지막으로 보낸 RANK_INFO와 달라진 항목 (반환된 목록은 다음 호출 전까지만 유효)
+     * 돌려준 항목은 보낸 것으로 기록된다
+     */
+    List<Entry> takeChanged() {
+        toSend.clear();
+        if (order.isEmpty()) {
+            changed.clear();
+            allDirty = false;
+            return toSend;
+        }
+        Entry leader = order.get(0);
+        int total = order.size();
+        if (leader.player != sentLeader || leader.player.getScore() != sentLeaderScore) {
+            allDirty = true; // 모두의 점수 차가 바뀐다
+            sentLeader = leader.player;
+            sentLeaderScore = leader.player.getScore();
+        }
+        List<Entry> candidates = allDirty ? order : changed;
+        for (Entry e : candidates) {
+            e.dirty = false;
+            if (entries.get(e.player) != e) continue; // 그 사이 나간 사람
+            int gap = leader.player.getScore() - e.player.getScore();
+            if (e.sentRank != e.rank() || e.sentTotal != total || e.sentLeader != leader.player || e.sentGap != gap) {
+                e.sentRank = e.rank();
+                e.sentTotal = total;
+                e.sentLeader = leader.player;
+                e.sentGap = gap;
+                toSend.add(e);
+            }
+        }
+        if (allDirty) {
+            for (Entry e : changed) e.dirty = false;
+        }
+        changed.clear();
+        allDirty = false;
+        return toSend;
+    }
+
+    Player leader() {
+        return order.isEmpty() ? null : order.get(0).player;
+    }
+
+    int size() {
+        return order.size();
+    }
+
+    // 1부터 시작하는 순위 (없으면 0)
+    int rankOf(Player player) {
+        Entry e = entries.get(player);
+        return e == null ? 0 : e.rank();
+    }
+
+    Player playerAt(int index) {
+        return order.get(index).player;
+    }
+
+    int version() {
+        return version;
+    }
+
+    // 점수판 항목 "순위|닉네임|점수"를 ';'로 이어 붙이기 ([from, to) 범위)
+    void appendEntries(StringBuilder sb, int from, int to) {
+        for (int i = Math.max(0, from); i < Math.min(to, order.size()); i++) {
+            Player p = order.get(i).player;
+            sb.append(i + 1).append('|').append(p.getNickname()).append('|').append(p.getScore()).append(';');
+        }
+    }
+
+    // [lo, hi) 범위에서 e가 들어갈 첫 위치 (e보다 뒤인 첫 항목)
+    private int search(Entry e, int lo, int hi) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(order.get(mid), e) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 자리가 바뀐 범위의 index 갱신, 순위가 바뀐 사람으로 표시
+    private void reindex(int from, int to) {
+        for (int i = from; i <= to; i++) {
+            Entry e = order.get(i);
+            e.index = i;
+            mark(e);
+        }
+    }
+
+    private void mark(Entry e) {
+        if (!e.dirty) {
+            e.dirty = true;
+            changed.add(e);
+        }
+    }
+
+    // 앞 순위일수록 작다: 점수 → 스테이지 → 정답 개수 (내림차순), 같으면 입장 순서
+    private static int compare(Entry a, Entry b) {
+        Player p1 = a.player;
+        Player p2 = b.player;
+        if (p1.getScore() != p2.getScore()) {
+            return Integer.compare(p2.getScore(), p1.getScore());
+        }
+        if (p1.getCurrentStage() != p2.getCurrentStage()) {
+            return Integer.compare(p2.getCurrentStage(), p1.getCurrentStage());
+        }
+        if (p1.getSuccessCount() != p2.getSuccessCount()) {
+            return Integer.compare(p2.getSuccessCount(), p1.getSuccessCount());
+        }
+        return Integer.compare(a.joinOrder, b.joinOrder);
+    }
+}
@@ -0,0 +1,194 @@
+package network;
+
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 로비 방 목록 변경분 전송
+ * SUBSCRIBE_ROOMS 로 구독하면 ROOM_SNAPSHOT seq 목록 을 한 번 받고,
+ * 이후에는 바뀐 방만 ROOM_ADDED / ROOM_UPDATED / ROOM_REMOVED seq ... 로 받는다
+ *
+ * 방이 바뀌면 바로 보내지 않고 표시만 해 두었다가 interval마다 한 번 모아서 보낸다
+ * 같은 구간에 같은 방이 여러 번 바뀌면 마지막 상태 하나로, 생겼다 사라진 방은 아무것도 보내지 않는다
+ * 구독하지 않는 예전 클라이언트용 전체 ROOM_LIST 브로드캐스트도 구간마다 한 번만 실행한다
+ *
+ * 순번 발급과 대기열 넣기를 lock 안에서 해서 모든 구독자가 같은 순서로 받고,
+ * 클라이언트는 순번이 건너뛰면 다시 구독해서 스냅샷을 받는다 (방에 입장하면 구독이 해제된다)
+ */
+final class LobbyFeed {
+
+    // 서버 전체 누적 통계
+    static final LongAdder CHANGES = new LongAdder();        // 방 변경 표시 횟수
+    static final LongAdder DELTAS_SENT = new LongAdder();    // 실제로 발행한 변경분 수
+    static final LongAdder FLUSHES = new LongAdder();        // 모아서 보낸 횟수
+    static final LongAdder FULL_LISTS_SENT = new LongAdder(); // 예전 클라이언트에게 전체 목록을 실제로 보낸 횟수
+
+    private static final class Pending {
+        final GameRoom room;
+        boolean added; // 이번 구간에 새로 생긴 방
+
+        Pending(GameRoom room, boolean added) {
+            this.room = room;
+            this.added = added;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Connection> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Pending> pending = new LinkedHashMap<>(); // roomId -> 변경 (lock 보호)
+    private final Runnable fullListBroadcast;
+    private final long intervalMs;
+    private final ScheduledExecutorService scheduler;
+    private boolean flushScheduled;
+    private long seq;
+
+    /**
+     * @param intervalMs 변경분을 모으는 간격 (0이면 바뀔 때마다 바로 전송)
+     * @param fullListBroadcast 구독하지 않는 클라이언트에게 전체 목록을 보내는 작업
+     */
+    LobbyFeed(long intervalMs, Runnable fullListBroadcast) {
+        this.intervalMs = intervalMs;
+        this.fullListBroadcast = fullListBroadcast;
+        if (intervalMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "lobby-publisher");
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 구독 시작: 현재 순번과 함께 전체 목록 전송
+     * 목록은 lock 안에서 만들어서 순번과 목록이 같은 시점이 되게 한다 (그 사이 발행된 변경분이 빠지지 않도록)
+     * @param roomEntries "방;방;..." 형식의 전체 목록을 만드는 함수
+     */
+    void subscribe(Connection connection, Supplier<String> roomEntries) throws IOException {
+        lock.lock();
+        try {
+            subscribers.add(connection);
+            connection.sendMessage("ROOM_SNAPSHOT " + seq + " " + roomEntries.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void unsubscribe(Connection connection) {
+        subscribers.remove(connection);
+    }
+
+    boolean isSubscribed(Connection connection) {
+        return subscribers.contains(connection);
+    }
+
+    void roomAdded(GameRoom room) {
+        mark(room, true);
+    }
+
+    // 인원/게임 상태가 바뀌었거나 방이 닫힘 (닫혔는지는 보낼 때 확인)
+    void roomChanged(GameRoom room) {
+        mark(room, false);
+    }
+
+    private void mark(GameRoom room, boolean added) {
+        CHANGES.increment();
+        boolean flushNow = false;
+        lock.lock();
+        try {
+            Pending p = pending.get(room.getRoomId());
+            if (p == null) {
+                pending.put(room.getRoomId(), new Pending(room, added));
+            } else {
+                p.added |= added;
+            }
+            if (scheduler == null) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, intervalMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    // 모인 변경분을 방마다 최신 상태 하나로 발행하고, 전체 목록 브로드캐스트를 한 번 실행
+    private void flush() {
+        lock.lock();
+        try {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            FLUSHES.increment();
+
+            Iterator<Pending> it = pending.values().iterator();
+            while (it.hasNext()) {
+                Pending p = it.next();
+                it.remove();
+                GameRoom room = p.room;
+                if (room.isClosed()) {
+                    // 이번 구간에 생겼다가 사라진 방은 아무도 몰라도 된다
+                    if (!p.added) {
+                        publish("ROOM_REMOVED ", room.getRoomId());
+                    }
+                } else {
+                    publish(p.added ? "ROOM_ADDED " : "ROOM_UPDATED ", room.toProtocolString());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        fullListBroadcast.run();
+    }
+
+    private void publish(String type, String data) {
+        seq++;
+        DELTAS_SENT.increment();
+        if (subscribers.isEmpty()) return;
+        Metrics.fanout(subscribers.size());
+
+        SharedFrame frame;
+        try {
+            frame = SharedFrame.encode(type + seq + " " + data);
+        } catch (UTFDataFormatException e) {
+            Log.warn("Room change too long to send: {}", e.getMessage());
+            return;
+        }
+        try {
+            for (Connection c : subscribers) {
+                try {
+                    c.sendFrame(frame);
+                } catch (IOException e) {
+                    subscribers.remove(c);
+                }
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    // 방 변경 표시 수 대비 실제 발행 수 (합쳐진 만큼이 collapsed)
+    static String report() {
+        long changes = CHANGES.sum();
+        long deltas = DELTAS_SENT.sum();
+        return "lobbyChanges=" + changes + " deltasSent=" + deltas
+                + " collapsed=" + (changes - deltas)
+                + " flushes=" + FLUSHES.sum() + " fullListsSent=" + FULL_LISTS_SENT.sum();
+    }
+}
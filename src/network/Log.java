@@ -0,0 +1,227 @@
+package network;
+
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로거
+ * 호출한 스레드는 링 버퍼 칸 하나를 CAS로 잡아 템플릿과 인자만 넣고 바로 돌아간다 (락, 문자열 조립 없음)
+ * 문자열 만들기("{}" 치환)와 System.out 쓰기는 백그라운드 스레드 하나가 한다
+ * 버퍼가 가득 차면 기다리지 않고 버린다 (버린 수는 dropped()로 확인)
+ *
+ * 레벨은 -Dlog.level=debug|info|warn|error (기본 info) 로 시작하고, 실행 중에는 setLevel로 바꾼다
+ */
+public final class Log {
+
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    private static final int CAPACITY = 1 << 13; // 2의 거듭제곱
+    private static final int MASK = CAPACITY - 1;
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    // 칸마다 순번: pos면 비어 있음(쓰기 가능), pos+1이면 채워짐(읽기 가능)
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final Level[] levels = new Level[CAPACITY];
+    private static final String[] templates = new String[CAPACITY];
+    private static final Object[][] args = new Object[CAPACITY][];
+    private static final Throwable[] errors = new Throwable[CAPACITY];
+    private static final String[] threads = new String[CAPACITY];
+    private static final AtomicLong head = new AtomicLong(); // 다음에 쓸 위치 (여러 스레드)
+    private static long tail;                                // 다음에 읽을 위치 (appender 스레드만)
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private static volatile Level level = parseLevel(System.getProperty("log.level", "info"));
+    private static volatile Thread appender;
+    private static volatile boolean appenderWaiting;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        Thread t = new Thread(Log::drainLoop, "log-appender");
+        t.setDaemon(true);
+        appender = t;
+        t.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::drain, "log-flush"));
+    }
+
+    private Log() {
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    // 실행 중 레벨 변경 (예: 디버그 출력 켜기)
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static void setLevel(String name) {
+        level = parseLevel(name);
+    }
+
+    public static boolean isDebugEnabled() {
+        return level == Level.DEBUG;
+    }
+
+    static long dropped() {
+        return DROPPED.sum();
+    }
+
+    private static Level parseLevel(String name) {
+        try {
+            return Level.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    // ======================= 기록 ========================
+    // 인자 개수별 오버로드: 꺼진 레벨이면 가변 인자 배열도 만들지 않는다
+
+    public static void debug(String template) {
+        if (level == Level.DEBUG) publish(Level.DEBUG, template, NO_ARGS, null);
+    }
+
+    public static void debug(String template, Object a) {
+        if (level == Level.DEBUG) publish(Level.DEBUG, template, new Object[]{a}, null);
+    }
+
+    public static void debug(String template, Object a, Object b) {
+        if (level == Level.DEBUG) publish(Level.DEBUG, template, new Object[]{a, b}, null);
+    }
+
+    public static void debug(String template, Object... a) {
+        if (level == Level.DEBUG) publish(Level.DEBUG, template, a, null);
+    }
+
+    public static void info(String template) {
+        if (level.compareTo(Level.INFO) <= 0) publish(Level.INFO, template, NO_ARGS, null);
+    }
+
+    public static void info(String template, Object a) {
+        if (level.compareTo(Level.INFO) <= 0) publish(Level.INFO, template, new Object[]{a}, null);
+    }
+
+    public static void info(String template, Object a, Object b) {
+        if (level.compareTo(Level.INFO) <= 0) publish(Level.INFO, template, new Object[]{a, b}, null);
+    }
+
+    public static void info(String template, Object... a) {
+        if (level.compareTo(Level.INFO) <= 0) publish(Level.INFO, template, a, null);
+    }
+
+    public static void warn(String template, Object... a) {
+        if (level.compareTo(Level.WARN) <= 0) publish(Level.WARN, template, a, null);
+    }
+
+    public static void error(String template, Object... a) {
+        publish(Level.ERROR, template, a, null);
+    }
+
+    // 예외와 스택 트레이스 함께 기록
+    public static void error(String template, Throwable t, Object... a) {
+        publish(Level.ERROR, template, a, t);
+    }
+
+    private static void publish(Level lv, String template, Object[] a, Throwable t) {
+        long pos;
+        int slot;
+        while (true) {
+            pos = head.get();
+            slot = (int) (pos & MASK);
+            long diff = sequences.get(slot) - pos;
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) break;
+            } else if (diff < 0) {
+                DROPPED.increment(); // 가득 참
+                return;
+            }
+            // diff > 0: 다른 스레드가 먼저 가져감, 다시 시도
+        }
+        levels[slot] = lv;
+        templates[slot] = template;
+        args[slot] = a;
+        errors[slot] = t;
+        threads[slot] = Thread.currentThread().getName();
+        sequences.set(slot, pos + 1); // 채워짐 (앞의 쓰기가 appender에 보인다)
+
+        if (appenderWaiting) {
+            LockSupport.unpark(appender);
+        }
+    }
+
+    // ======================= appender ========================
+
+    private static void drainLoop() {
+        while (true) {
+            if (!drain()) {
+                appenderWaiting = true;
+                // 깨우기 전에 들어온 것이 있으면 바로 처리
+                if (sequences.get((int) (tail & MASK)) != tail + 1) {
+                    LockSupport.parkNanos(50_000_000L);
+                }
+                appenderWaiting = false;
+            }
+        }
+    }
+
+    // 쌓인 것을 모두 출력, 하나라도 출력했으면 true
+    private static synchronized boolean drain() {
+        boolean any = false;
+        boolean wroteOut = false;
+        boolean wroteErr = false;
+        StringBuilder sb = new StringBuilder(128);
+        while (true) {
+            int slot = (int) (tail & MASK);
+            if (sequences.get(slot) != tail + 1) break;
+
+            Level lv = levels[slot];
+            String template = templates[slot];
+            Object[] a = args[slot];
+            Throwable t = errors[slot];
+            String thread = threads[slot];
+            templates[slot] = null;
+            args[slot] = null;
+            errors[slot] = null;
+            sequences.set(slot, tail + CAPACITY); // 다음 바퀴에 다시 쓸 수 있음
+            tail++;
+
+            sb.setLength(0);
+            sb.append(LocalTime.now().format(TIME)).append(' ').append(lv).append(" [").append(thread).append("] ");
+            format(sb, template, a);
+            PrintStream out = lv == Level.ERROR || lv == Level.WARN ? System.err : System.out;
+            out.println(sb);
+            if (t != null) {
+                t.printStackTrace(out);
+            }
+            if (out == System.err) wroteErr = true; else wroteOut = true;
+            any = true;
+        }
+        if (wroteOut) System.out.flush();
+        if (wroteErr) System.err.flush();
+        return any;
+    }
+
+    // "{}"를 인자로 차례대로 치환, 남은 인자는 무시
+    static void format(StringBuilder sb, String template, Object[] a) {
+        int argIndex = 0;
+        int start = 0;
+        while (true) {
+            int i = template.indexOf("{}", start);
+            if (i < 0 || argIndex >= a.length) break;
+            sb.append(template, start, i).append(a[argIndex++]);
+            start = i + 2;
+        }
+        sb.append(template, start, template.length());
+    }
+}
@@ -0,0 +1,115 @@
+package network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서버 전체 지표 (정적 기록 지점)
+ * 명령 종류별 처리 시간, 송수신 메시지/바이트 수, 메일박스 대기 시간, 브로드캐스트 팬아웃 크기를 모은다
+ * 기록은 LongAdder와 히스토그램 칸 증가뿐이라 어느 스레드에서 불러도 된다
+ * 초당 값 계산과 외부 노출(JMX, 텍스트 포트)은 MetricsServer가 한다
+ */
+final class Metrics {
+
+    /**
+     * 명령 종류 (텍스트 명령은 첫 단어, 바이너리 명령은 opcode로 구분)
+     * ClientSession이 이 값으로 처리기를 찾으므로 텍스트 명령을 추가하면 여기에도 추가한다
+     */
+    enum Command {
+        JOIN("JOIN", true),
+        REQUEST_ROOM_LIST("REQUEST_ROOM_LIST", false),
+        SUBSCRIBE_ROOMS("SUBSCRIBE_ROOMS", false),
+        CREATE_ROOM("CREATE_ROOM", true),
+        JOIN_ROOM("JOIN_ROOM", true),
+        LEAVE_ROOM("LEAVE_ROOM", false),
+        CHAT("CHAT", true),
+        READY("READY", false),
+        UNREADY("UNREADY", false),
+        PLAYER_INPUT("PLAYER_INPUT", true),
+        GAME_STATE("GAME_STATE", true),
+        TRANSFER_HOST("TRANSFER_HOST", true),
+        KICK("KICK", true),
+        START_GAME("START_GAME_REQUEST", false),
+        QUIT("QUIT", false),
+        OTHER("", false);
+
+        private static final Command[] VALUES = values();
+
+        private final byte[] verb;    // 첫 단어 (ASCII)
+        private final boolean hasArgs; // true면 "동사 인자", false면 동사만 있는 줄
+        final Histogram latency = new Histogram(); // 처리 시간 (나노초)
+
+        Command(String verb, boolean hasArgs) {
+            this.verb = verb.getBytes(StandardCharsets.US_ASCII);
+            this.hasArgs = hasArgs;
+        }
+
+        // 인자가 시작하는 위치 (동사 + 공백 한 칸 뒤)
+        int argsOffset() {
+            return verb.length + 1;
+        }
+
+        /**
+         * 텍스트 프레임 본문(modified UTF-8)의 첫 단어로 명령 찾기 (문자열을 만들지 않는다)
+         * 인자를 받는 명령은 동사 뒤에 공백이 있어야 하고, 인자가 없는 명령은 동사만 있어야 한다
+         */
+        static Command of(byte[] buf, int off, int len) {
+            int verbLength = 0;
+            while (verbLength < len && buf[off + verbLength] != ' ') verbLength++;
+            boolean args = verbLength < len;
+            for (Command c : VALUES) {
+                if (c.verb.length == verbLength && c != OTHER && c.hasArgs == args
+                        && Arrays.equals(c.verb, 0, verbLength, buf, off, off + verbLength)) {
+                    return c;
+                }
+            }
+            return OTHER;
+        }
+
+        static Command ofOpcode(int opcode) {
+            switch (opcode) {
+                case BinaryProtocol.OP_PLAYER_INPUT:
+                    return PLAYER_INPUT;
+                case BinaryProtocol.OP_GAME_STATE:
+                    return GAME_STATE;
+                default:
+                    return OTHER;
+            }
+        }
+    }
+
+    static final LongAdder MESSAGES_IN = new LongAdder();
+    static final LongAdder BYTES_IN = new LongAdder();
+    static final LongAdder MESSAGES_OUT = new LongAdder();
+    static final LongAdder BYTES_OUT = new LongAdder();
+
+    // 브로드캐스트 한 번에 받는 연결 수
+    static final Histogram FANOUT = new Histogram();
+
+    // 방 메일박스가 공유 작업 풀에 올라가서 실행되기까지 기다린 시간 (나노초)
+    static final Histogram MAILBOX_DELAY = new Histogram();
+
+    private Metrics() {
+    }
+
+    // 받은 프레임 하나 (길이 헤더 포함 바이트 수)
+    static void received(int frameBytes) {
+        MESSAGES_IN.increment();
+        BYTES_IN.add(frameBytes);
+    }
+
+    // 소켓에 다 쓴 프레임 하나
+    static void sent(int frameBytes) {
+        MESSAGES_OUT.increment();
+        BYTES_OUT.add(frameBytes);
+    }
+
+    static void handled(Command command, long startNanos) {
+        command.latency.record(System.nanoTime() - startNanos);
+    }
+
+    static void fanout(int recipients) {
+        FANOUT.record(recipients);
+    }
+}
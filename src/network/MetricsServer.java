@@ -0,0 +1,340 @@
+package network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * 서버 지표 노출
+ * - JMX: network:type=ServerMetrics (ServerMetricsMXBean)
+ * - 텍스트: 127.0.0.1:metricsPort 에 접속하면 "이름 값" 줄들을 보내고 연결을 닫는다 (HTTP GET도 그대로 응답, 아무것도 안 보내면 1초 뒤)
+ * 초당 값은 공유 타이밍 휠에서 1초마다 누적값의 차이로 계산한다
+ */
+final class MetricsServer implements ServerMetricsMXBean {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final GameServer server;
+    private final TimingWheel timers;
+
+    // 1초 전 누적값과 그 차이 (휠 스레드에서만 쓰고 다른 스레드는 읽기만)
+    private long lastMessagesIn, lastBytesIn, lastMessagesOut, lastBytesOut;
+    private volatile long messagesInRate, bytesInRate, messagesOutRate, bytesOutRate;
+
+    MetricsServer(GameServer server, TimingWheel timers) {
+        this.server = server;
+        this.timers = timers;
+    }
+
+    // JMX 등록, 텍스트 포트 열기(port가 0이면 생략), 초당 값 계산 시작
+    void start(int port) {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(this, new ObjectName("network:type=ServerMetrics"));
+        } catch (JMException e) {
+            Log.warn("JMX registration failed: {}", e.getMessage());
+        }
+        if (port > 0) {
+            try {
+                ServerSocket socket = new ServerSocket(port, 16, InetAddress.getLoopbackAddress());
+                Thread t = new Thread(() -> serve(socket), "metrics-endpoint");
+                t.setDaemon(true);
+                t.start();
+                Log.info("Metrics on 127.0.0.1:{}", port);
+            } catch (IOException e) {
+                Log.warn("Metrics port {} unavailable: {}", port, e.getMessage());
+            }
+        }
+        timers.schedule(this::sample, 1, TimeUnit.SECONDS);
+    }
+
+    private void sample() {
+        long in = Metrics.MESSAGES_IN.sum();
+        long inBytes = Metrics.BYTES_IN.sum();
+        long out = Metrics.MESSAGES_OUT.sum();
+        long outBytes = Metrics.BYTES_OUT.sum();
+        messagesInRate = in - lastMessagesIn;
+        bytesInRate = inBytes - lastBytesIn;
+        messagesOutRate = out - lastMessagesOut;
+        bytesOutRate = outBytes - lastBytesOut;
+        lastMessagesIn = in;
+        lastBytesIn = inBytes;
+        lastMessagesOut = out;
+        lastBytesOut = outBytes;
+        timers.schedule(this::sample, 1, TimeUnit.SECONDS);
+    }
+
+    private void serve(ServerSocket socket) {
+        while (true) {
+            try (Socket client = socket.accept()) {
+                client.setSoTimeout(1000);
+                boolean http = isHttpRequest(client);
+                byte[] body = getReport().getBytes(StandardCharsets.UTF_8);
+                OutputStream out = client.getOutputStream();
+                if (http) {
+                    out.write(("HTTP/1.0 200 OK\r\nContent-Type: text/plain; charset=utf-8\r\nContent-Length: "
+                            + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                }
+                out.write(body);
+                out.flush();
+            } catch (IOException e) {
+                Log.debug("Metrics request failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 요청 내용은 보지 않고 HTTP GET인지만 본다 (HTTP면 헤더를 붙여서 응답)
+    // 아무것도 보내지 않는 연결(nc 등)은 1초 기다린 뒤 HTTP가 아닌 것으로 보고 지표만 보낸다
+    private static boolean isHttpRequest(Socket client) throws IOException {
+        byte[] request = new byte[512];
+        int n;
+        try {
+            n = client.getInputStream().read(request);
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+        return n >= 3 && request[0] == 'G' && request[1] == 'E' && request[2] == 'T';
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder(2048);
+        line(sb, "connections_active", getActiveConnections());
+        line(sb, "rooms", getRooms());
+        line(sb, "rooms_in_game", getInGameRooms());
+        line(sb, "outbound_queued", getOutboundQueued());
+        line(sb, "outbound_max_depth", getOutboundMaxDepth());
+        line(sb, "outbound_dropped_total", getOutboundDropped());
+        line(sb, "outbound_coalesced_total", getOutboundCoalesced());
+        line(sb, "outbound_overflow_disconnects_total", getOverflowDisconnects());
+        line(sb, "frames_encoded_total", getFramesEncoded());
+        line(sb, "frames_enqueued_total", getFramesEnqueued());
+        line(sb, "messages_in_total", Metrics.MESSAGES_IN.sum());
+        line(sb, "messages_out_total", Metrics.MESSAGES_OUT.sum());
+        line(sb, "bytes_in_total", Metrics.BYTES_IN.sum());
+        line(sb, "bytes_out_total", Metrics.BYTES_OUT.sum());
+        line(sb, "messages_in_per_second", messagesInRate);
+        line(sb, "messages_out_per_second", messagesOutRate);
+        line(sb, "bytes_in_per_second", bytesInRate);
+        line(sb, "bytes_out_per_second", bytesOutRate);
+        line(sb, "lobby_changes_total", getLobbyChanges());
+        line(sb, "lobby_deltas_sent_total", getLobbyDeltasSent());
+        line(sb, "lobby_collapsed_total", getLobbyCollapsed());
+        line(sb, "lobby_flushes_total", getLobbyFlushes());
+        line(sb, "lobby_full_lists_sent_total", getLobbyFullListsSent());
+        line(sb, "game_states_received_total", getStatesReceived());
+        line(sb, "game_states_coalesced_total", getStatesCoalesced());
+        line(sb, "game_states_full_sent_total", getStatesFullSent());
+        line(sb, "game_states_delta_sent_total", getStatesDeltaSent());
+        line(sb, "timers_scheduled_total", getTimersScheduled());
+        line(sb, "timers_expired_total", getTimersExpired());
+        line(sb, "timers_cancelled_total", getTimersCancelled());
+        histogram(sb, "mailbox_delay_ns", null, Metrics.MAILBOX_DELAY);
+        histogram(sb, "broadcast_fanout", null, Metrics.FANOUT);
+        for (Metrics.Command c : Metrics.Command.values()) {
+            if (c.latency.count() > 0) {
+                histogram(sb, "command_ns", "command=\"" + c + "\"", c.latency);
+            }
+        }
+        line(sb, "log_dropped_total", Log.dropped());
+        return sb.toString();
+    }
+
+    private static void line(StringBuilder sb, String name, long value) {
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    // name_count, name_mean, name_max, name{p="50"} ... 형식 (label은 "command=\"JOIN\"" 처럼 추가할 라벨, 없으면 null)
+    private static void histogram(StringBuilder sb, String name, String label, Histogram h) {
+        String suffix = label == null ? " " : "{" + label + "} ";
+        sb.append(name).append("_count").append(suffix).append(h.count()).append('\n');
+        sb.append(name).append("_mean").append(suffix).append(Math.round(h.mean())).append('\n');
+        sb.append(name).append("_max").append(suffix).append(h.max()).append('\n');
+        for (double p : PERCENTILES) {
+            sb.append(name).append('{');
+            if (label != null) sb.append(label).append(',');
+            sb.append("p=\"").append(p).append("\"} ").append(h.percentile(p)).append('\n');
+        }
+    }
+
+    // ======================= ServerMetricsMXBean ========================
+
+    @Override
+    public int getActiveConnections() {
+        return server.getClientCount();
+    }
+
+    @Override
+    public int getRooms() {
+        return server.getRoomCount();
+    }
+
+    @Override
+    public int getInGameRooms() {
+        return server.getInGameRoomCount();
+    }
+
+    @Override
+    public long getOutboundQueued() {
+        return server.getOutboundQueued();
+    }
+
+    @Override
+    public int getOutboundMaxDepth() {
+        return server.getOutboundMaxDepth();
+    }
+
+    @Override
+    public long getOutboundDropped() {
+        return OutboundQueue.DROPPED.sum();
+    }
+
+    @Override
+    public long getOutboundCoalesced() {
+        return OutboundQueue.COALESCED.sum();
+    }
+
+    @Override
+    public long getOverflowDisconnects() {
+        return OutboundQueue.OVERFLOW_DISCONNECTS.sum();
+    }
+
+    @Override
+    public long getFramesEncoded() {
+        return SharedFrame.ENCODED.sum();
+    }
+
+    @Override
+    public long getFramesEnqueued() {
+        return SharedFrame.ENQUEUED.sum();
+    }
+
+    @Override
+    public long getLobbyChanges() {
+        return LobbyFeed.CHANGES.sum();
+    }
+
+    @Override
+    public long getLobbyDeltasSent() {
+        return LobbyFeed.DELTAS_SENT.sum();
+    }
+
+    @Override
+    public long getLobbyCollapsed() {
+        return LobbyFeed.CHANGES.sum() - LobbyFeed.DELTAS_SENT.sum();
+    }
+
+    @Override
+    public long getLobbyFlushes() {
+        return LobbyFeed.FLUSHES.sum();
+    }
+
+    @Override
+    public long getLobbyFullListsSent() {
+        return LobbyFeed.FULL_LISTS_SENT.sum();
+    }
+
+    @Override
+    public long getStatesReceived() {
+        return GameStateRelay.RECEIVED.sum();
+    }
+
+    @Override
+    public long getStatesCoalesced() {
+        return GameStateRelay.COALESCED.sum();
+    }
+
+    @Override
+    public long getStatesFullSent() {
+        return GameStateRelay.FULL_SENT.sum();
+    }
+
+    @Override
+    public long getStatesDeltaSent() {
+        return GameStateRelay.DELTA_SENT.sum();
+    }
+
+    @Override
+    public long getTimersScheduled() {
+        return TimingWheel.SCHEDULED.sum();
+    }
+
+    @Override
+    public long getTimersExpired() {
+        return TimingWheel.EXPIRED.sum();
+    }
+
+    @Override
+    public long getTimersCancelled() {
+        return TimingWheel.CANCELLED.sum();
+    }
+
+    @Override
+    public long getMessagesInPerSecond() {
+        return messagesInRate;
+    }
+
+    @Override
+    public long getBytesInPerSecond() {
+        return bytesInRate;
+    }
+
+    @Override
+    public long getMessagesOutPerSecond() {
+        return messagesOutRate;
+    }
+
+    @Override
+    public long getBytesOutPerSecond() {
+        return bytesOutRate;
+    }
+
+    @Override
+    public long getMessagesInTotal() {
+        return Metrics.MESSAGES_IN.sum();
+    }
+
+    @Override
+    public long getMessagesOutTotal() {
+        return Metrics.MESSAGES_OUT.sum();
+    }
+
+    @Override
+    public long getMailboxDelayP99Micros() {
+        return Metrics.MAILBOX_DELAY.percentile(99) / 1000;
+    }
+
+    @Override
+    public long getFanoutP99() {
+        return Metrics.FANOUT.percentile(99);
+    }
+
+    @Override
+    public Map<String, Long> getCommandP99Micros() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Metrics.Command c : Metrics.Command.values()) {
+            result.put(c.name(), c.latency.percentile(99) / 1000);
+        }
+        return result;
+    }
+
+    @Override
+    public String getLogLevel() {
+        return Log.getLevel().name();
+    }
+
+    @Override
+    public void setLogLevel(String level) {
+        Log.setLevel(level);
+    }
+}
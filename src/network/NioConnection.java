@@ -0,0 +1,216 @@
+package network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NIO 방식 연결
+ * 읽기/쓰기는 소속 NioEventLoop 스레드에서만 수행하고,
+ * 다른 스레드의 sendMessage는 송신 대기열에 넣은 뒤 루프에 flush를 요청한다
+ */
+class NioConnection implements Connection {
+
+    private static final int INITIAL_READ_BUFFER = 4096;
+
+    private final SocketChannel channel;
+    private final NioEventLoop loop;
+    private final ClientSession session;
+    private final OutboundQueue outbound;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private SelectionKey key;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER);
+    private SharedFrame writingFrame; // 전송 중인 프레임
+    private ByteBuffer writing;        // writingFrame의 이 연결 전용 뷰 (일부만 전송된 위치 유지)
+    private boolean closeAfterFlush;
+    private volatile boolean closed;
+
+    NioConnection(SocketChannel channel, NioEventLoop loop, GameServer server) {
+        this.channel = channel;
+        this.loop = loop;
+        this.session = new ClientSession(this, server);
+        this.outbound = server.getConfig().newOutboundQueue();
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+    }
+
+    @Override
+    public void sendMessage(String msg) throws IOException {
+        if (closed) {
+            throw new IOException("connection closed");
+        }
+        queued(outbound.offer(msg));
+    }
+
+    @Override
+    public void sendFrame(SharedFrame frame) throws IOException {
+        if (closed) {
+            throw new IOException("connection closed");
+        }
+        queued(outbound.offer(frame));
+    }
+
+    private void queued(boolean accepted) throws IOException {
+        if (!accepted) {
+            // 느린 클라이언트: 대기열이 넘쳐서 연결 종료
+            Player player = session.getPlayer();
+            Log.warn("Outbound queue overflow, disconnecting {}", player != null ? player.getNickname() : channel);
+            closeSocket();
+            throw new IOException("outbound queue overflow");
+        }
+        if (loop.inEventLoop()) {
+            flush();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    @Override
+    public int getOutboundQueueDepth() {
+        return outbound.depth() + (writing != null ? 1 : 0);
+    }
+
+    @Override
+    public int getProtocolVersion() {
+        return session.getProtocolVersion();
+    }
+
+    @Override
+    public Player getPlayer() {
+        return session.getPlayer();
+    }
+
+    @Override
+    public void closeSocket() {
+        if (loop.inEventLoop()) {
+            close();
+        } else {
+            loop.execute(this::close);
+        }
+    }
+
+    // ---- 아래 메서드는 이벤트 루프 스레드에서만 호출 ----
+
+    void onReadable() {
+        int n;
+        try {
+            n = channel.read(readBuffer);
+        } catch (IOException e) {
+            connectionLost();
+            return;
+        }
+        if (n < 0) {
+            connectionLost();
+            return;
+        }
+
+        readBuffer.flip();
+        try {
+            while (!closed && !closeAfterFlush && readBuffer.remaining() >= FrameCodec.HEADER_SIZE) {
+                int start = readBuffer.position();
+                int len = readBuffer.getShort(start) & 0xFFFF;
+                if (readBuffer.remaining() < FrameCodec.HEADER_SIZE + len) {
+                    break;
+                }
+                int off = readBuffer.arrayOffset() + start + FrameCodec.HEADER_SIZE;
+                readBuffer.position(start + FrameCodec.HEADER_SIZE + len);
+
+                if (!session.handleFrame(readBuffer.array(), off, len)) {
+                    // JOIN 실패, QUIT: 남은 응답을 보낸 뒤 종료
+                    closeAfterFlush = true;
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                    flush();
+                }
+            }
+        } catch (IOException e) {
+            connectionLost();
+            return;
+        }
+        readBuffer.compact();
+        ensureReadCapacity();
+    }
+
+    void onWritable() {
+        flush();
+    }
+
+    // 프레임 하나(최대 2+65535바이트)가 다 들어갈 때까지 읽기 버퍼 확장
+    private void ensureReadCapacity() {
+        if (readBuffer.position() < FrameCodec.HEADER_SIZE) return;
+        int needed = FrameCodec.HEADER_SIZE + (readBuffer.getShort(0) & 0xFFFF);
+        if (needed > readBuffer.capacity()) {
+            ByteBuffer bigger = ByteBuffer.allocate(needed);
+            readBuffer.flip();
+            bigger.put(readBuffer);
+            readBuffer = bigger;
+        }
+    }
+
+    private void flush() {
+        if (closed) return;
+        try {
+            if (writing == null) {
+                nextFrame();
+            }
+            while (writing != null) {
+                channel.write(writing);
+                if (writing.hasRemaining()) {
+                    // 소켓 송신 버퍼가 가득 참: 쓰기 가능해지면 다시 시도
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                Metrics.sent(writingFrame.length());
+                releaseWriting();
+                nextFrame();
+            }
+            if (key != null && key.isValid()) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+            if (closeAfterFlush) {
+                close();
+            }
+        } catch (IOException e) {
+            // 브로드캐스트 도중 호출될 수 있으므로 정리는 다음 루프 순회로 미룬다
+            outbound.discard();
+            releaseWriting();
+            loop.execute(this::connectionLost);
+        }
+    }
+
+    private void nextFrame() {
+        writingFrame = outbound.poll();
+        writing = writingFrame != null ? writingFrame.view() : null;
+    }
+
+    private void releaseWriting() {
+        if (writingFrame != null) {
+            writingFrame.release();
+            writingFrame = null;
+        }
+        writing = null;
+    }
+
+    private void connectionLost() {
+        Player player = session.getPlayer();
+        Log.debug("Connection lost: {} / {}", player != null ? player.getNickname() : "Unknown", channel);
+        close();
+    }
+
+    void close() {
+        if (closed) return;
+        closed = true;
+        if (key != null) key.cancel();
+        try { channel.close(); } catch (IOException ignored) {}
+        outbound.discard();
+        releaseWriting();
+        session.disconnected();
+    }
+}
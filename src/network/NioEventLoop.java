@@ -0,0 +1,96 @@
+package network;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Selector 하나를 담당하는 I/O 스레드
+ * 여러 연결의 읽기/쓰기를 한 스레드에서 논블로킹으로 처리한다
+ */
+class NioEventLoop extends Thread {
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final GameServer server;
+
+    NioEventLoop(int index, GameServer server) throws IOException {
+        super("nio-loop-" + index);
+        this.selector = Selector.open();
+        this.server = server;
+        setDaemon(true);
+    }
+
+    boolean inEventLoop() {
+        return Thread.currentThread() == this;
+    }
+
+    // 이벤트 루프 스레드에서 실행할 작업 등록
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (!inEventLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    // 새로 accept한 채널을 이 루프에 등록
+    void register(SocketChannel channel) {
+        execute(() -> {
+            NioConnection conn = new NioConnection(channel, this, server);
+            try {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ, conn);
+                conn.attach(key);
+                server.addClient(conn);
+            } catch (IOException e) {
+                Log.warn("Failed to register channel: {}", e.getMessage());
+                conn.close();
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                selector.select();
+                runTasks();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    NioConnection conn = (NioConnection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            conn.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            conn.onWritable();
+                        }
+                    } catch (CancelledKeyException e) {
+                        conn.close();
+                    }
+                }
+            } catch (IOException e) {
+                Log.error("Selector error in {}: {}", getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.error("Task failed in {}", e, getName());
+            }
+        }
+    }
+}
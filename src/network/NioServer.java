@@ -0,0 +1,44 @@
+package network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Selector 기반 NIO 서버
+ * accept는 호출 스레드에서 처리하고, 연결은 고정 개수의 이벤트 루프에 라운드로빈으로 배정한다
+ */
+class NioServer {
+
+    private final GameServer server;
+    private final ServerConfig config;
+    private final NioEventLoop[] loops;
+
+    NioServer(GameServer server, ServerConfig config) {
+        this.server = server;
+        this.config = config;
+        this.loops = new NioEventLoop[config.getIoThreads()];
+    }
+
+    void start() throws IOException {
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new NioEventLoop(i, server);
+            loops[i].start();
+        }
+
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(config.getPort()));
+        Log.info("GameServer (NIO, {} I/O threads) started on port {}", loops.length, config.getPort());
+
+        int next = 0;
+        while (true) {
+            SocketChannel channel = serverChannel.accept();
+            channel.socket().setTcpNoDelay(true);
+            Log.debug("New client connected: {}", channel);
+
+            loops[next].register(channel);
+            next = (next + 1) % loops.length;
+        }
+    }
+}
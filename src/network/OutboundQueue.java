@@ -0,0 +1,197 @@
+package network;
+
+import java.io.UTFDataFormatException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 연결 하나의 송신 대기열 (크기 제한 + 넘칠 때 정책 적용)
+ * 보내는 쪽(브로드캐스트)은 인코딩 후 넣기만 하고, 실제 소켓 쓰기는 연결별 writer가 담당한다
+ * 그래서 느린 클라이언트 하나가 서버 락을 잡은 채 다른 방을 멈추게 하지 않는다
+ */
+final class OutboundQueue {
+
+    // 대기열이 가득 찼을 때의 처리 방식
+    enum OverflowPolicy {
+        DROP_STALE, // 방 목록 합치기 + 덮어써지는 GAME_STATE/델타/RANK_INFO 버리기, 그래도 가득 차면 연결 종료
+        COALESCE,   // 방 목록(ROOM_LIST)만 최신 것으로 합치기, 그래도 가득 차면 연결 종료
+        DISCONNECT  // 바로 느린 연결 종료
+    }
+
+    // 넘칠 때 합치거나 버릴 수 있는 메시지 종류
+    enum Kind {
+        // 델타는 같은 플레이어의 더 새 델타만 대신할 수 있다 (전체 상태를 버리면 시퀀스를 잃는다)
+        GAME_STATE, GAME_STATE_DELTA, RANK_INFO, ROOM_LIST, OTHER;
+
+        static Kind of(String msg) {
+            if (msg.startsWith("GAME_STATE ")) return GAME_STATE;
+            if (msg.startsWith("GAME_STATE_DELTA ")) return GAME_STATE_DELTA;
+            if (msg.startsWith("RANK_INFO ")) return RANK_INFO;
+            if (msg.startsWith("ROOM_LIST")) return ROOM_LIST;
+            return OTHER;
+        }
+    }
+
+    // 서버 전체 누적 통계
+    static final LongAdder DROPPED = new LongAdder();
+    static final LongAdder COALESCED = new LongAdder();
+    static final LongAdder OVERFLOW_DISCONNECTS = new LongAdder();
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ArrayDeque<SharedFrame> entries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean closed;
+
+    OutboundQueue(int capacity, OverflowPolicy policy) {
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * 메시지를 인코딩해서 대기열에 추가
+     * @return 정책을 적용해도 자리가 없으면 false (호출한 쪽이 연결을 끊어야 함)
+     */
+    boolean offer(String msg) throws UTFDataFormatException {
+        SharedFrame frame = SharedFrame.encode(msg);
+        try {
+            return offer(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * 인코딩된 공유 프레임을 대기열에 추가 (들어가면 대기열이 참조 하나를 가진다)
+     * @return 정책을 적용해도 자리가 없으면 false (호출한 쪽이 연결을 끊어야 함)
+     */
+    boolean offer(SharedFrame frame) {
+        lock.lock();
+        try {
+            if (closed) return true;
+            if (entries.size() >= capacity && !makeRoom(frame)) {
+                OVERFLOW_DISCONNECTS.increment();
+                return false;
+            }
+            entries.addLast(frame.retain());
+            SharedFrame.ENQUEUED.increment();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 새 메시지가 덮어쓰는 이전 메시지를 제거해서 자리 확보
+    private boolean makeRoom(SharedFrame incoming) {
+        if (policy == OverflowPolicy.DISCONNECT) return false;
+
+        if (incoming.kind == Kind.ROOM_LIST) {
+            if (removeFirst(Kind.ROOM_LIST, null)) {
+                COALESCED.increment();
+                return true;
+            }
+        }
+        if (policy == OverflowPolicy.DROP_STALE
+                && (incoming.kind == Kind.GAME_STATE || incoming.kind == Kind.GAME_STATE_DELTA
+                    || incoming.kind == Kind.RANK_INFO)) {
+            if (removeFirst(incoming.kind, incoming.key)) {
+                DROPPED.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeFirst(Kind kind, String key) {
+        Iterator<SharedFrame> it = entries.iterator();
+        while (it.hasNext()) {
+            SharedFrame e = it.next();
+            if (e.kind == kind && (key == null || key.equals(e.key))) {
+                it.remove();
+                e.release();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 보낼 프레임 하나 꺼내기 (없으면 null), 꺼낸 쪽이 다 쓴 뒤 release 해야 함
+    SharedFrame poll() {
+        lock.lock();
+        try {
+            return entries.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 보낼 프레임이 생길 때까지 대기 (닫히면 null), 꺼낸 쪽이 다 쓴 뒤 release 해야 함
+    SharedFrame take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (entries.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return entries.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return entries.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 더 이상 받지 않음: 이미 들어온 메시지는 take()로 마저 꺼낸 뒤 null 반환
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 연결이 끊겨 더 보낼 수 없을 때: 닫고 남은 프레임의 참조를 모두 반환
+    void discard() {
+        lock.lock();
+        try {
+            closed = true;
+            SharedFrame e;
+            while ((e = entries.pollFirst()) != null) {
+                e.release();
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 현재 대기 중인 메시지 수
+    int depth() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // GAME_STATE(_DELTA) 닉네임 ... 에서 닉네임 추출
+    static String gameStateNickname(String msg) {
+        int start = msg.indexOf(' ') + 1;
+        int end = msg.indexOf(' ', start);
+        return end < 0 ? msg.substring(start) : msg.substring(start, end);
+    }
+}
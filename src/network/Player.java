@@ -1,5 +1,7 @@
 package network;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public class Player {
     private String nickname;
     private boolean ready;
@@ -10,9 +12,14 @@ public class Player {
     private int maxCombo;
     private int currentStage;
     private boolean finished; // 게임 완료 여부 (타이머 종료 또는 20 스테이지 완료)
-    private ClientHandler handler;
-
-    public Player(String nickname, ClientHandler handler) {
+    private Connection handler;
+    private volatile String roomId;   // 현재 입장한 방 (로비면 null)
+    private final AtomicReference<String> joiningRoomId = new AtomicReference<>(); // 입장 처리 중인 방
+    private volatile boolean disconnected;
+    private byte[] nicknameBytes; // 바이너리 프로토콜용 UTF-8 닉네임 (처음 사용할 때 생성)
+    private final GameStateRelay gameStateRelay = new GameStateRelay(); // 방 메일박스 안에서만 사용
+
+    public Player(String nickname, Connection handler) {
         this.nickname = nickname;
         this.handler = handler;
         this.ready = false;
@@ -96,10 +103,55 @@ public class Player {
         this.finished = finished;
     }
 
-    public ClientHandler getHandler() {
+    public Connection getHandler() {
         return handler;
     }
 
+    // 바이너리 프레임에 넣을 닉네임 바이트 (매번 인코딩하지 않도록 보관)
+    byte[] getNicknameBytes() {
+        byte[] bytes = nicknameBytes;
+        if (bytes == null) {
+            bytes = BinaryProtocol.nicknameBytes(nickname);
+            nicknameBytes = bytes;
+        }
+        return bytes;
+    }
+
+    GameStateRelay getGameStateRelay() {
+        return gameStateRelay;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    // 방 입장 요청 시작 (이미 방에 있거나 다른 입장 요청이 처리 중이면 false)
+    public boolean tryStartJoin(String targetRoomId) {
+        return roomId == null && joiningRoomId.compareAndSet(null, targetRoomId);
+    }
+
+    public void finishJoin() {
+        joiningRoomId.set(null);
+    }
+
+    // 명령을 보낼 방: 입장한 방, 없으면 입장 처리 중인 방 (같은 메일박스에서 입장 뒤에 실행되도록)
+    public String getTargetRoomId() {
+        String id = roomId;
+        return id != null ? id : joiningRoomId.get();
+    }
+
+    public boolean isDisconnected() {
+        return disconnected;
+    }
+
+    public void setDisconnected(boolean disconnected) {
+        this.disconnected = disconnected;
+    }
+
     // 플레이어 정보를 문자열로 변환 (프로토콜용)
     public String toProtocolString() {
         return nickname + "|" + ready + "|" + isHost + "|" + score + "|" + combo + "|" + maxCombo;
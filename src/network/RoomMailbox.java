@@ -0,0 +1,58 @@
+package network;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 방 하나의 작업 대기열 (액터 메일박스)
+ * 작업은 공유 스레드 풀에서 실행되지만 같은 방의 작업은 항상 한 번에 하나씩, 넣은 순서대로 실행된다
+ * 그래서 방 상태(플레이어, 점수, 게임 진행)는 락 없이 다룰 수 있고, 다른 방의 작업은 서로 막지 않는다
+ */
+final class RoomMailbox implements Executor {
+
+    // 한 번에 처리할 최대 작업 수 (바쁜 방 하나가 풀 스레드를 독점하지 않도록)
+    private static final int BATCH = 64;
+
+    private final Executor pool;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile long scheduledAt; // 풀에 올린 시각 (풀 대기 시간 측정용)
+
+    RoomMailbox(Executor pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduledAt = System.nanoTime();
+            pool.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Metrics.MAILBOX_DELAY.record(System.nanoTime() - scheduledAt);
+        int n = 0;
+        Runnable task;
+        while (n < BATCH && (task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.error("Room task failed", e);
+            }
+            n++;
+        }
+        scheduled.set(false);
+        // 남은 작업이 있으면 다시 풀에 올려서 다른 방에게도 차례를 준다
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package network;
+
+/**
+ * 서버 실행 설정
+ * 시스템 프로퍼티(-Dserver.mode=nio) 또는 main 인자(--mode=nio)로 지정
+ */
+class ServerConfig {
+
+    // 소켓 처리 방식
+    enum IoMode {
+        CLASSIC, // 연결마다 플랫폼 스레드 1개 (기존 방식)
+        VIRTUAL, // 연결마다 가상 스레드 1개 (JDK 21 이상)
+        NIO      // Selector 기반 이벤트 루프
+    }
+
+    private IoMode ioMode;
+    private int ioThreads;
+    private int roomThreads;
+    private int port;
+    private int outboundQueueCapacity;
+    private OutboundQueue.OverflowPolicy overflowPolicy;
+    private long lobbyIntervalMs;
+    private int stateRelayHz;
+    private int gameSeconds;
+    private long timeSyncMs;
+    private int maxRoomPlayers;
+    private int metricsPort;
+    private long sequenceSeed;
+
+    private ServerConfig() {
+        this.ioMode = IoMode.valueOf(System.getProperty("server.mode", "classic").toUpperCase());
+        this.ioThreads = Integer.getInteger("server.ioThreads",
+                Math.max(1, Runtime.getRuntime().availableProcessors()));
+        this.roomThreads = Integer.getInteger("server.roomThreads",
+                Math.max(1, Runtime.getRuntime().availableProcessors()));
+        this.port = Integer.getInteger("server.port", GameServer.PORT);
+        this.outboundQueueCapacity = Integer.getInteger("server.outboundQueue", 256);
+        this.overflowPolicy = parsePolicy(System.getProperty("server.overflowPolicy", "drop-stale"));
+        this.lobbyIntervalMs = Long.getLong("server.lobbyIntervalMs", 150);
+        this.stateRelayHz = Integer.getInteger("server.stateRelayHz", 20);
+        this.gameSeconds = Integer.getInteger("server.gameSeconds", 60);
+        this.timeSyncMs = Long.getLong("server.timeSyncMs", 1000);
+        this.maxRoomPlayers = Integer.getInteger("server.maxRoomPlayers", 500);
+        this.metricsPort = Integer.getInteger("server.metricsPort", 0);
+        this.sequenceSeed = Long.getLong("server.sequenceSeed", 0);
+    }
+
+    private static OutboundQueue.OverflowPolicy parsePolicy(String value) {
+        return OutboundQueue.OverflowPolicy.valueOf(value.toUpperCase().replace('-', '_'));
+    }
+
+    // 기본 설정 (시스템 프로퍼티만 반영)
+    static ServerConfig defaults() {
+        return new ServerConfig();
+    }
+
+    // main 인자 파싱: --mode=classic|virtual|nio --io-threads=N --room-threads=N --port=N
+    //               --outbound-queue=N --overflow-policy=drop-stale|coalesce|disconnect
+    //               --lobby-interval=ms (0이면 모으지 않고 바로 전송)
+    //               --state-hz=N (플레이어별 GAME_STATE 중계 최대 횟수/초, 0이면 제한 없음)
+    //               --game-seconds=N --time-sync-ms=ms --max-room-players=N
+    //               --metrics-port=N (127.0.0.1에서 텍스트 지표 제공, 0이면 JMX만)
+    //               --sequence-seed=N (모든 게임의 시퀀스 시드 고정, 0이면 게임마다 무작위)
+    static ServerConfig fromArgs(String[] args) {
+        ServerConfig config = new ServerConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "mode":
+                    config.ioMode = IoMode.valueOf(value.toUpperCase());
+                    break;
+                case "io-threads":
+                    config.ioThreads = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "room-threads":
+                    config.roomThreads = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "port":
+                    config.port = Integer.parseInt(value);
+                    break;
+                case "outbound-queue":
+                    config.outboundQueueCapacity = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "overflow-policy":
+                    config.overflowPolicy = parsePolicy(value);
+                    break;
+                case "lobby-interval":
+                    config.lobbyIntervalMs = Math.max(0, Long.parseLong(value));
+                    break;
+                case "state-hz":
+                    config.stateRelayHz = Math.max(0, Integer.parseInt(value));
+                    break;
+                case "game-seconds":
+                    config.gameSeconds = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "time-sync-ms":
+                    config.timeSyncMs = Math.max(100, Long.parseLong(value));
+                    break;
+                case "max-room-players":
+                    config.maxRoomPlayers = Math.max(2, Integer.parseInt(value));
+                    break;
+                case "metrics-port":
+                    config.metricsPort = Integer.parseInt(value);
+                    break;
+                case "sequence-seed":
+                    config.sequenceSeed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("알 수 없는 설정: " + key);
+            }
+        }
+        return config;
+    }
+
+    IoMode getIoMode() {
+        return ioMode;
+    }
+
+    int getIoThreads() {
+        return ioThreads;
+    }
+
+    // 방 메일박스를 실행하는 공유 풀의 스레드 수
+    int getRoomThreads() {
+        return roomThreads;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    OutboundQueue.OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    // 로비 방 목록 변경을 모아서 보내는 간격
+    long getLobbyIntervalMs() {
+        return lobbyIntervalMs;
+    }
+
+    // 한 플레이어의 GAME_STATE를 상대에게 중계하는 초당 최대 횟수 (0이면 제한 없음)
+    int getStateRelayHz() {
+        return stateRelayHz;
+    }
+
+    // 한 게임의 제한 시간 (서버가 시간을 재고 끝나면 직접 종료)
+    int getGameSeconds() {
+        return gameSeconds;
+    }
+
+    // 게임 중 TIME_SYNC 전송 간격
+    long getTimeSyncMs() {
+        return timeSyncMs;
+    }
+
+    // CREATE_ROOM에서 지정할 수 있는 최대 인원 (토너먼트 방)
+    int getMaxRoomPlayers() {
+        return maxRoomPlayers;
+    }
+
+    // 텍스트 지표 포트 (0이면 열지 않음)
+    int getMetricsPort() {
+        return metricsPort;
+    }
+
+    // 스테이지 시퀀스 시드 (0이면 게임마다 무작위)
+    long getSequenceSeed() {
+        return sequenceSeed;
+    }
+
+    // 연결마다 새 송신 대기열 생성
+    OutboundQueue newOutboundQueue() {
+        return new OutboundQueue(outboundQueueCapacity, overflowPolicy);
+    }
+
+    @Override
+    public String toString() {
+        return "mode=" + ioMode + ", ioThreads=" + ioThreads + ", roomThreads=" + roomThreads + ", port=" + port
+                + ", outboundQueue=" + outboundQueueCapacity + ", overflowPolicy=" + overflowPolicy + ", lobbyIntervalMs=" + lobbyIntervalMs
+                + ", stateRelayHz=" + stateRelayHz + ", gameSeconds=" + gameSeconds
+                + ", timeSyncMs=" + timeSyncMs + ", maxRoomPlayers=" + maxRoomPlayers
+                + ", metricsPort=" + metricsPort + ", sequenceSeed=" + sequenceSeed;
+    }
+}
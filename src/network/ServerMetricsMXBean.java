@@ -0,0 +1,85 @@
+package network;
+
+import java.util.Map;
+
+/**
+ * JMX로 보는 서버 지표 (jconsole 등에서 network:type=ServerMetrics)
+ * 초당 값은 1초마다 갱신되고, 지연 시간은 마이크로초 단위다
+ */
+public interface ServerMetricsMXBean {
+
+    int getActiveConnections();
+
+    int getRooms();
+
+    int getInGameRooms();
+
+    long getOutboundQueued();
+
+    long getMessagesInPerSecond();
+
+    long getBytesInPerSecond();
+
+    long getMessagesOutPerSecond();
+
+    long getBytesOutPerSecond();
+
+    long getMessagesInTotal();
+
+    long getMessagesOutTotal();
+
+    // 송신 대기열 (가장 밀린 연결의 대기 수, 서버 전체 누적 버림/합침/강제 종료/프레임 수)
+    int getOutboundMaxDepth();
+
+    long getOutboundDropped();
+
+    long getOutboundCoalesced();
+
+    long getOverflowDisconnects();
+
+    long getFramesEncoded();
+
+    long getFramesEnqueued();
+
+    // 로비 방 목록 변경분 (collapsed = 합쳐져서 따로 보내지 않은 변경 수)
+    long getLobbyChanges();
+
+    long getLobbyDeltasSent();
+
+    long getLobbyCollapsed();
+
+    long getLobbyFlushes();
+
+    long getLobbyFullListsSent();
+
+    // GAME_STATE 중계
+    long getStatesReceived();
+
+    long getStatesCoalesced();
+
+    long getStatesFullSent();
+
+    long getStatesDeltaSent();
+
+    // 공유 타이밍 휠
+    long getTimersScheduled();
+
+    long getTimersExpired();
+
+    long getTimersCancelled();
+
+    long getMailboxDelayP99Micros();
+
+    long getFanoutP99();
+
+    // 명령 종류 -> p99 처리 시간
+    Map<String, Long> getCommandP99Micros();
+
+    // 텍스트 포트와 같은 전체 지표
+    String getReport();
+
+    String getLogLevel();
+
+    // DEBUG, INFO, WARN, ERROR (실행 중 디버그 로그 켜기/끄기)
+    void setLogLevel(String level);
+}
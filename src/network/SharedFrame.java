@@ -0,0 +1,121 @@
+package network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 번 인코딩해서 여러 연결에 그대로 보내는 프레임 (길이 헤더 포함, 내용 불변)
+ * 참조 카운트로 공유한다: 만든 쪽이 1개를 가지고 시작하고, 송신 대기열에 들어갈 때마다 retain,
+ * 소켓에 다 쓰거나 버릴 때 release 한다. 마지막 release에서 작은 버퍼는 풀로 돌아가 재사용된다
+ */
+final class SharedFrame {
+
+    // 이 크기 이하의 프레임만 풀에서 꺼내고 돌려준다 (채팅, 시스템 메시지, 플레이어 목록 등)
+    private static final int POOLED_CAPACITY = 512;
+    private static final int POOL_MAX = 4096;
+    private static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    // 서버 전체 누적 통계: 인코딩 횟수, 대기열에 들어간 횟수 (둘의 비율이 프레임당 평균 수신자 수)
+    static final LongAdder ENCODED = new LongAdder();
+    static final LongAdder ENQUEUED = new LongAdder();
+
+    final OutboundQueue.Kind kind;
+    final String key; // GAME_STATE/GAME_STATE_DELTA면 대상 플레이어 닉네임
+
+    private final byte[] array;
+    private final int offset;
+    private final int length;
+    private final boolean pooled;
+    private final AtomicInteger refCnt = new AtomicInteger(1);
+
+    private SharedFrame(OutboundQueue.Kind kind, String key, byte[] array, int offset, int length, boolean pooled) {
+        this.kind = kind;
+        this.key = key;
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        this.pooled = pooled;
+    }
+
+    // 텍스트 메시지를 writeUTF 형식 프레임으로 인코딩
+    static SharedFrame encode(String msg) throws UTFDataFormatException {
+        int len = FrameCodec.checkedLength(msg);
+        int size = FrameCodec.HEADER_SIZE + len;
+        byte[] array = null;
+        if (size <= POOLED_CAPACITY) {
+            array = POOL.poll();
+            if (array != null) {
+                POOL_SIZE.decrementAndGet();
+            } else {
+                array = new byte[POOLED_CAPACITY];
+            }
+        }
+        boolean pooled = array != null;
+        if (!pooled) {
+            array = new byte[size];
+        }
+        FrameCodec.encodeTo(msg, len, array);
+        ENCODED.increment();
+
+        OutboundQueue.Kind kind = OutboundQueue.Kind.of(msg);
+        String key = kind == OutboundQueue.Kind.GAME_STATE || kind == OutboundQueue.Kind.GAME_STATE_DELTA
+                ? OutboundQueue.gameStateNickname(msg) : null;
+        return new SharedFrame(kind, key, array, 0, size, pooled);
+    }
+
+    // 이미 인코딩된 프레임(BinaryProtocol 등)을 감싸기, 풀에는 돌려주지 않는다
+    static SharedFrame wrap(OutboundQueue.Kind kind, String key, ByteBuffer frame) {
+        ENCODED.increment();
+        return new SharedFrame(kind, key, frame.array(), frame.arrayOffset() + frame.position(), frame.remaining(), false);
+    }
+
+    SharedFrame retain() {
+        if (refCnt.getAndIncrement() <= 0) {
+            throw new IllegalStateException("retain after release");
+        }
+        return this;
+    }
+
+    // 아직 해제되지 않았으면 참조를 하나 더 얻는다 (캐시에서 꺼낼 때)
+    boolean tryRetain() {
+        int n;
+        do {
+            n = refCnt.get();
+            if (n <= 0) return false;
+        } while (!refCnt.compareAndSet(n, n + 1));
+        return true;
+    }
+
+    void release() {
+        int n = refCnt.decrementAndGet();
+        if (n == 0) {
+            if (pooled && POOL_SIZE.incrementAndGet() <= POOL_MAX) {
+                POOL.offer(array);
+            } else if (pooled) {
+                POOL_SIZE.decrementAndGet();
+            }
+        } else if (n < 0) {
+            throw new IllegalStateException("released too many times");
+        }
+    }
+
+    // 연결마다 따로 위치를 가지는 읽기 전용 뷰 (NIO 부분 쓰기용)
+    ByteBuffer view() {
+        return ByteBuffer.wrap(array, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(array, offset, length);
+    }
+
+    int length() {
+        return length;
+    }
+}
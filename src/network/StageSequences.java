@@ -0,0 +1,75 @@
+package network;
+
+import java.io.UTFDataFormatException;
+import java.util.SplittableRandom;
+
+/**
+ * 한 게임의 스테이지별 화살표 시퀀스 (게임 시작 시 시드로 한 번에 생성)
+ * 같은 방의 모든 플레이어가 스테이지마다 같은 시퀀스를 받고, 시드가 같으면 같은 게임을 다시 만들 수 있다
+ * GAME_SEQUENCE 프레임(텍스트/바이너리)은 스테이지마다 처음 필요할 때 한 번 인코딩해서 게임이 끝날 때까지 재사용한다
+ * 방 메일박스 안에서만 사용
+ */
+final class StageSequences {
+
+    static final int MAX_STAGE = 20;
+
+    private final long seed;
+    private final byte[][] codes = new byte[MAX_STAGE + 1][]; // 스테이지 -> 방향 코드 (BinaryProtocol.DIRECTIONS 인덱스)
+    private final SharedFrame[] textFrames = new SharedFrame[MAX_STAGE + 1];
+    private final SharedFrame[] binaryFrames = new SharedFrame[MAX_STAGE + 1];
+
+    StageSequences(long seed) {
+        this.seed = seed;
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int stage = 1; stage <= MAX_STAGE; stage++) {
+            byte[] c = new byte[length(stage)];
+            for (int i = 0; i < c.length; i++) {
+                c[i] = (byte) random.nextInt(BinaryProtocol.DIRECTIONS.length);
+            }
+            codes[stage] = c;
+        }
+    }
+
+    // 스테이지 12부터는 난이도 고정 (화살표 14개)
+    static int length(int stage) {
+        return stage >= 12 ? 14 : (3 + stage - 1);
+    }
+
+    long seed() {
+        return seed;
+    }
+
+    /**
+     * 스테이지의 GAME_SEQUENCE 프레임 (이 객체가 참조를 가지므로 보낸 뒤 release하지 않는다)
+     * @param binary 바이너리 프로토콜 클라이언트용이면 true
+     */
+    SharedFrame frame(int stage, boolean binary) throws UTFDataFormatException {
+        int s = Math.max(1, Math.min(stage, MAX_STAGE));
+        if (binary) {
+            if (binaryFrames[s] == null) {
+                binaryFrames[s] = SharedFrame.wrap(OutboundQueue.Kind.OTHER, null,
+                        BinaryProtocol.encodeGameSequence(s, codes[s], codes[s].length));
+            }
+            return binaryFrames[s];
+        }
+        if (textFrames[s] == null) {
+            StringBuilder sb = new StringBuilder(14 + codes[s].length * 6);
+            sb.append("GAME_SEQUENCE ").append(s);
+            for (byte code : codes[s]) {
+                sb.append(' ').append(BinaryProtocol.DIRECTIONS[code]);
+            }
+            textFrames[s] = SharedFrame.encode(sb.toString());
+        }
+        return textFrames[s];
+    }
+
+    // 게임 종료: 캐시한 프레임 참조 반납
+    void release() {
+        for (int s = 1; s <= MAX_STAGE; s++) {
+            if (textFrames[s] != null) textFrames[s].release();
+            if (binaryFrames[s] != null) binaryFrames[s].release();
+            textFrames[s] = null;
+            binaryFrames[s] = null;
+        }
+    }
+}
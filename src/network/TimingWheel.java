@@ -0,0 +1,174 @@
+package network;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 모든 방이 함께 쓰는 해시 타이밍 휠 (스레드 1개)
+ * 예약은 tick 단위로 반올림되고, 슬롯 수를 넘는 지연은 바퀴 수(rounds)로 센다
+ * 예약/취소는 O(1)이고 방이 몇 개든 타이머 스레드는 하나라서, 방마다 타이머 스레드를 두지 않는다
+ *
+ * 작업은 휠 스레드에서 실행되므로 짧아야 한다 (방 상태를 건드리는 일은 room.execute로 넘길 것)
+ */
+final class TimingWheel {
+
+    static final LongAdder SCHEDULED = new LongAdder();
+    static final LongAdder EXPIRED = new LongAdder();
+    static final LongAdder CANCELLED = new LongAdder();
+
+    /** 예약 하나, cancel()로 취소 (이미 실행됐으면 아무 일 없음) */
+    static final class Timeout {
+        private static final int PENDING = 0, CANCELLED = 1, EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline; // 휠 시작 기준 nanos
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        // 취소 표시만 하고, 슬롯에서 빼는 것은 휠 스레드가 다음 tick에 한다
+        boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                TimingWheel.CANCELLED.increment();
+                return true;
+            }
+            return false;
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    // 슬롯 하나의 이중 연결 리스트 (휠 스레드만 사용)
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        Timeout remove(Timeout t) {
+            Timeout next = t.next;
+            if (t.prev != null) t.prev.next = next;
+            if (t.next != null) t.next.prev = t.prev;
+            if (t == head) head = next;
+            if (t == tail) tail = t.prev;
+            t.prev = t.next = null;
+            return next;
+        }
+
+        // 만료된 예약 실행, 아직 바퀴가 남은 것은 하나 줄인다
+        void expire(long now) {
+            Timeout t = head;
+            while (t != null) {
+                if (t.isCancelled()) {
+                    t = remove(t);
+                } else if (t.remainingRounds <= 0 && t.deadline <= now) {
+                    Timeout next = remove(t);
+                    if (t.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                        EXPIRED.increment();
+                        try {
+                            t.task.run();
+                        } catch (RuntimeException e) {
+                            Log.error("Timer task failed", e);
+                        }
+                    }
+                    t = next;
+                } else {
+                    if (t.remainingRounds > 0) t.remainingRounds--;
+                    t = t.next;
+                }
+            }
+        }
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>(); // 다른 스레드에서 들어온 예약
+    private long tick;
+
+    /**
+     * @param tickMillis 한 칸의 시간 (예약 정밀도)
+     * @param slots 칸 수 (2의 거듭제곱으로 올림)
+     */
+    TimingWheel(long tickMillis, int slots) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        int n = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.wheel = new Bucket[n];
+        for (int i = 0; i < n; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = n - 1;
+
+        Thread worker = new Thread(this::run, "timing-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        incoming.add(timeout);
+        SCHEDULED.increment();
+        return timeout;
+    }
+
+    private void run() {
+        while (true) {
+            long now = waitForNextTick();
+            transferIncoming();
+            wheel[(int) (tick & mask)].expire(now);
+            tick++;
+        }
+    }
+
+    // 다음 tick 시각까지 대기 후 현재 시각(휠 기준) 반환
+    private long waitForNextTick() {
+        long target = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTime;
+            long sleepNanos = target - now;
+            if (sleepNanos <= 0) return now;
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException ignored) {
+                // 데몬 스레드라 종료 요청은 없다, 계속 진행
+            }
+        }
+    }
+
+    // 새 예약을 만료 tick에 해당하는 칸에 넣기 (이미 지난 것은 현재 칸)
+    private void transferIncoming() {
+        Timeout t;
+        while ((t = incoming.poll()) != null) {
+            if (t.isCancelled()) continue;
+            long expireTick = Math.max(t.deadline / tickNanos, tick);
+            t.remainingRounds = (expireTick - tick) / wheel.length;
+            wheel[(int) (expireTick & mask)].add(t);
+        }
+    }
+
+    static String report() {
+        return "timersScheduled=" + SCHEDULED.sum() + " timersExpired=" + EXPIRED.sum()
+                + " timersCancelled=" + CANCELLED.sum();
+    }
+}
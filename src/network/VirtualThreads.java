@@ -0,0 +1,51 @@
+package network;
+
+import java.lang.reflect.Method;
+
+/**
+ * 가상 스레드 생성 도우미
+ * 프로젝트는 JDK 17 기준으로 컴파일되므로 Thread.ofVirtual()을 리플렉션으로 호출한다 (JDK 21 이상에서만 동작)
+ */
+final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_START;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method start = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class);
+            start = builder.getMethod("start", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            // JDK 21 미만: 가상 스레드 미지원
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_START = start;
+    }
+
+    private VirtualThreads() {}
+
+    static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    // Thread.ofVirtual().name(name).start(task)
+    static Thread start(String name, Runnable task) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("virtual threads require JDK 21+");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, name);
+            return (Thread) BUILDER_START.invoke(builder, task);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to start virtual thread", e);
+        }
+    }
+}